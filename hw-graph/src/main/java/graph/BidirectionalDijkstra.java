@@ -0,0 +1,274 @@
+package graph;
+
+import shortestPath.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * <b>BidirectionalDijkstra</b> is a point-to-point least-cost path search over the dense ids of a CsrGraph with
+ * non-negative weights that grows one search forward from the source and another backward from the target, along
+ * the edges listed by an IncomingEdges. Each keeps the cheapest path found through a node reached by both, and the
+ * search stops once the smallest keys of the two frontiers add up to at least its cost, so no cheaper path can be
+ * left. Two searches that each reach about half as far as one search from the source settle far fewer nodes.
+ *
+ * <p>Given a Heuristic, both sides run as A*, ordered by the average of the forward and backward estimates so the
+ * two keys stay consistent with each other and the same stopping rule holds. Like Dijkstra, an engine reuses its
+ * arrays across searches, and is not safe for concurrent searches.
+ */
+public final class BidirectionalDijkstra {
+
+    // AF(this) = the result of the last search from source to target: a path of cost best through edge meetEdge
+    // from meetFrom, whose path from source is kept by forward, to meetTo, whose path to target is kept by
+    // backward, or no path if meetEdge == -1 and meetFrom != target.
+
+    // Representation Invariant:
+    // graph, incoming, forward, backward != null and incoming.graph() == graph.
+    // best is the cost of the path through meetEdge if meetEdge != -1.
+
+    private final CsrGraph<?> graph;
+    private final IncomingEdges incoming;
+    private final Side forward;
+    private final Side backward;
+    private int generation;
+    private int source;
+    private int target;
+    private double best;
+    private int meetFrom;
+    private int meetEdge;
+    private int meetTo;
+
+    /**
+     * @param incoming the incoming edges of the graph to search
+     * @spec.requires incoming != null and the graph has no negative weight
+     * @spec.effects Constructs a new engine over incoming.graph() that has not searched yet
+     */
+    public BidirectionalDijkstra(IncomingEdges incoming) {
+        if (incoming == null) { throw new IllegalArgumentException("No null arguments"); }
+        this.graph = incoming.graph();
+        this.incoming = incoming;
+        forward = new Side(graph.nodeCount());
+        backward = new Side(graph.nodeCount());
+        generation = 0;
+        source = -1;
+        target = -1;
+        meetEdge = -1;
+    }
+
+    /**
+     * @param from the id of the node the path starts at
+     * @param to the id of the node the path ends at
+     * @return true if there is a path from "from" to "to". Else, false.
+     * @spec.requires 0 &lt;= from, to &lt; graph.nodeCount()
+     * @spec.effects replaces the result of the last search with a least-cost path from "from" to "to"
+     */
+    public boolean search(int from, int to) {
+        return search(from, to, null);
+    }
+
+    /**
+     * @param from the id of the node the path starts at
+     * @param to the id of the node the path ends at
+     * @param heuristic the estimates guiding both sides, or null to search by distance alone
+     * @return true if there is a path from "from" to "to". Else, false.
+     * @spec.requires 0 &lt;= from, to &lt; graph.nodeCount(), and heuristic is consistent for the graph in both
+     * directions: estimate for the forward side and estimateFrom for the backward side
+     * @spec.effects replaces the result of the last search with a least-cost path from "from" to "to"
+     */
+    public boolean search(int from, int to, Dijkstra.Heuristic heuristic) {
+        int n = graph.nodeCount();
+        if (from < 0 || from >= n || to < 0 || to >= n) { throw new IllegalArgumentException("Bad node id"); }
+        startSearch(from, to);
+        if (from == to) {
+            best = 0.0;
+            return true;
+        }
+        forward.start(from, potential(heuristic, from));
+        backward.start(to, -potential(heuristic, to));
+        while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+            if (forward.frontier.minKey() + backward.frontier.minKey() >= best) {
+                break;
+            }
+            // grow the side with the smaller frontier, which keeps the two searches balanced
+            if (forward.frontier.size() <= backward.frontier.size()) {
+                growForward(heuristic);
+            } else {
+                growBackward(heuristic);
+            }
+        }
+        return meetEdge != -1;
+    }
+
+    // clears the last result by moving to a new stamp
+    private void startSearch(int from, int to) {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // stamps wrap around only after billions of searches, and then the arrays are wiped once
+            forward.wipe();
+            backward.wipe();
+            generation = 1;
+        }
+        source = from;
+        target = to;
+        best = Double.POSITIVE_INFINITY;
+        meetFrom = -1;
+        meetEdge = -1;
+        meetTo = -1;
+    }
+
+    // the forward key offset of node v: the average of the estimate to the target and minus the estimate from the
+    // source, so the forward and backward offsets of every node add up to 0
+    private double potential(Dijkstra.Heuristic heuristic, int v) {
+        if (heuristic == null) {
+            return 0.0;
+        }
+        return (heuristic.estimate(v, target) - heuristic.estimateFrom(source, v)) / 2;
+    }
+
+    // settles the closest node of the forward frontier and relaxes the edges out of it
+    private void growForward(Dijkstra.Heuristic heuristic) {
+        int v = forward.settle();
+        double base = forward.dist[v];
+        for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+            int w = graph.target(e);
+            double d = base + graph.weight(e);
+            if (forward.improves(w, d)) {
+                forward.relax(v, e, w, d, d + potential(heuristic, w));
+            }
+            if (backward.reached[w] == generation && d + backward.dist[w] < best) {
+                best = d + backward.dist[w];
+                meetFrom = v;
+                meetEdge = e;
+                meetTo = w;
+            }
+        }
+    }
+
+    // settles the closest node of the backward frontier and relaxes the edges into it
+    private void growBackward(Dijkstra.Heuristic heuristic) {
+        int v = backward.settle();
+        double base = backward.dist[v];
+        for (int slot = incoming.first(v); slot < incoming.end(v); slot++) {
+            int e = incoming.edge(slot);
+            int u = incoming.source(slot);
+            double d = base + graph.weight(e);
+            if (backward.improves(u, d)) {
+                backward.relax(v, e, u, d, d - potential(heuristic, u));
+            }
+            if (forward.reached[u] == generation && forward.dist[u] + d < best) {
+                best = forward.dist[u] + d;
+                meetFrom = u;
+                meetEdge = e;
+                meetTo = v;
+            }
+        }
+    }
+
+    /**
+     * @return the cost of the path the last search found, or positive infinity if it found none
+     */
+    public double distance() {
+        return best;
+    }
+
+    /**
+     * @return the edge indices of the path the last search found, in order from its source to its target, an
+     * empty array if they are the same node, or null if it found no path
+     */
+    public int[] pathEdges() {
+        if (source == -1 || (meetEdge == -1 && source != target)) {
+            return null;
+        }
+        if (source == target) {
+            return new int[0];
+        }
+        int before = 0;
+        for (int v = meetFrom; forward.parentNode[v] != -1; v = forward.parentNode[v]) {
+            before++;
+        }
+        int after = 0;
+        for (int v = meetTo; backward.parentNode[v] != -1; v = backward.parentNode[v]) {
+            after++;
+        }
+        int[] edges = new int[before + 1 + after];
+        int i = before;
+        for (int v = meetFrom; forward.parentNode[v] != -1; v = forward.parentNode[v]) {
+            edges[--i] = forward.parentEdge[v];
+        }
+        edges[before] = meetEdge;
+        i = before + 1;
+        for (int v = meetTo; backward.parentNode[v] != -1; v = backward.parentNode[v]) {
+            edges[i++] = backward.parentEdge[v];
+        }
+        return edges;
+    }
+
+    /**
+     * @return the number of nodes the last search settled on both sides, a measure of the work it did
+     */
+    public int settledCount() {
+        return forward.settledCount + backward.settledCount;
+    }
+
+    /**
+     * <b>Side</b> is the state of one of the two searches. For the backward side, the parent of a node is the
+     * next node on its path to the target, and dist is the cost of that path.
+     */
+    private final class Side {
+
+        private final double[] dist;
+        private final int[] parentNode;
+        private final int[] parentEdge;
+        private final int[] reached;
+        private final int[] settled;
+        private final IndexedMinHeap frontier;
+        private int settledCount;
+
+        private Side(int n) {
+            dist = new double[n];
+            parentNode = new int[n];
+            parentEdge = new int[n];
+            reached = new int[n];
+            settled = new int[n];
+            frontier = new IndexedMinHeap(n);
+        }
+
+        // puts root on an empty frontier, with the given key
+        private void start(int root, double key) {
+            frontier.clear();
+            settledCount = 0;
+            reached[root] = generation;
+            dist[root] = 0.0;
+            parentNode[root] = -1;
+            parentEdge[root] = -1;
+            frontier.insertOrDecrease(root, key);
+        }
+
+        // removes the closest node from the frontier and returns it
+        private int settle() {
+            int v = frontier.poll();
+            settled[v] = generation;
+            settledCount++;
+            return v;
+        }
+
+        // returns true if a path of cost d to w is the first or cheapest one found by this side, before w settled
+        private boolean improves(int w, double d) {
+            return reached[w] != generation || (settled[w] != generation && d < dist[w]);
+        }
+
+        // records edge e, between v and w, as the best way found so far to reach w, at cost d
+        private void relax(int v, int e, int w, double d, double key) {
+            reached[w] = generation;
+            dist[w] = d;
+            parentNode[w] = v;
+            parentEdge[w] = e;
+            frontier.insertOrDecrease(w, key);
+        }
+
+        // forgets every stamp
+        private void wipe() {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+        }
+    }
+}
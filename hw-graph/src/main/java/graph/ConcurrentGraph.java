@@ -0,0 +1,179 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <b>ConcurrentGraph</b> is a thread-safe collection of nodes and directed edges, meant to be shared by many
+ * searching threads while edges are added or closed. Reads never block: every node maps to an immutable set of its
+ * outgoing edges, which writers replace wholesale (copy-on-write). Writers to the same node are serialized by one
+ * of a fixed number of striped locks, so writers to different nodes rarely contend.
+ *
+ * <p>Every operation is linearizable: a reader either sees all of a mutation or none of it, and once a mutation
+ * returns every later read observes it.
+ */
+public class ConcurrentGraph<N, E> implements GraphNeighbors<N, E> {
+
+    // AF(this) = a directed graph whose nodes are adjacency.keySet(), where node "n" has one outgoing edge for every
+    // element "e" of adjacency.get(n), pointing to e.getDest() and holding e.getLabel().
+
+    // Representation Invariant:
+    // adjacency, locks != null and every element of locks != null.
+    // For every node "n" in adjacency.keySet(), adjacency.get(n) is an unmodifiable set whose edges "e" all satisfy
+    // e.getSource().equals(n), adjacency.containsKey(e.getDest()) and e.getLabel() != null.
+    // adjacency.get(n) is only replaced while holding locks[stripe(n)].
+
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<N, Set<GraphNeighbors.Edge<N, E>>> adjacency;
+    private final Object[] locks;
+
+    /**
+     * @spec.effects Constructs a new empty ConcurrentGraph
+     */
+    public ConcurrentGraph() {
+        adjacency = new ConcurrentHashMap<>();
+        locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @param graph the graph to copy
+     * @spec.requires graph != null and graph is not mutated during the copy
+     * @spec.effects Constructs a new ConcurrentGraph holding the nodes and edges of graph
+     */
+    public ConcurrentGraph(Graph<N, E> graph) {
+        this();
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        for (N node : graph.allNodes()) {
+            Set<GraphNeighbors.Edge<N, E>> edges = new LinkedHashSet<>();
+            for (Graph<N, E>.Edge e : graph.outgoingEdgesFrom(node)) {
+                edges.add(new GraphNeighbors.Edge<>(e.from(), e.to(), e.getEdgeData()));
+            }
+            adjacency.put(node, Collections.unmodifiableSet(edges));
+        }
+    }
+
+    /**
+     * @param nodeData The data that will be stored in a node that gets added to the graph
+     * @return true if the node was added, false if the graph already contained it
+     * @spec.requires nodeData != null
+     * @spec.effects Inserts an additional node to the graph
+     */
+    public boolean addNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        return adjacency.putIfAbsent(nodeData, Collections.emptySet()) == null;
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param edgeData the data held within the edge
+     * @return true if the edge was added, false if the graph already contained an equal edge
+     * @throws IllegalArgumentException if the graph does not contain both nodes
+     * @spec.requires fromNode, toNode, edgeData != null
+     * @spec.effects Creates a new edge containing edgeData that connects fromNode to toNode.
+     */
+    public boolean addEdge(N fromNode, N toNode, E edgeData) {
+        if (fromNode == null || toNode == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        if (!adjacency.containsKey(toNode)) {
+            throw new IllegalArgumentException("Both nodes must be in the graph");
+        }
+        GraphNeighbors.Edge<N, E> edge = new GraphNeighbors.Edge<>(fromNode, toNode, edgeData);
+        synchronized (lockFor(fromNode)) {
+            Set<GraphNeighbors.Edge<N, E>> current = adjacency.get(fromNode);
+            if (current == null) {
+                throw new IllegalArgumentException("Both nodes must be in the graph");
+            }
+            if (current.contains(edge)) {
+                return false;
+            }
+            Set<GraphNeighbors.Edge<N, E>> next = new LinkedHashSet<>(current);
+            next.add(edge);
+            adjacency.put(fromNode, Collections.unmodifiableSet(next));
+            return true;
+        }
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param edgeData the data held within the edge
+     * @return true if the edge was removed, false if the graph did not contain it
+     * @spec.requires fromNode, toNode, edgeData != null
+     * @spec.effects Removes the edge containing edgeData that connects fromNode to toNode, if any.
+     */
+    public boolean removeEdge(N fromNode, N toNode, E edgeData) {
+        if (fromNode == null || toNode == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        GraphNeighbors.Edge<N, E> edge = new GraphNeighbors.Edge<>(fromNode, toNode, edgeData);
+        synchronized (lockFor(fromNode)) {
+            Set<GraphNeighbors.Edge<N, E>> current = adjacency.get(fromNode);
+            if (current == null || !current.contains(edge)) {
+                return false;
+            }
+            Set<GraphNeighbors.Edge<N, E>> next = new LinkedHashSet<>(current);
+            next.remove(edge);
+            adjacency.put(fromNode, Collections.unmodifiableSet(next));
+            return true;
+        }
+    }
+
+    /**
+     * @param nodeData the data held within the node
+     * @return true if the graph contains the node with nodeData in it. Else, false.
+     * @spec.requires nodeData != null
+     */
+    public boolean containsNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException(); }
+        return adjacency.containsKey(nodeData);
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param edgeData the data held within the edge
+     * @return true if the graph contains an edge storing edgeData from fromNode to toNode. Else, false.
+     * @spec.requires fromNode, toNode, edgeData != null
+     */
+    public boolean containsEdge(N fromNode, N toNode, E edgeData) {
+        if (fromNode == null || toNode == null || edgeData == null) {
+            throw new IllegalArgumentException("Non-null parameters only");
+        }
+        Set<GraphNeighbors.Edge<N, E>> edges = adjacency.get(fromNode);
+        return edges != null && edges.contains(new GraphNeighbors.Edge<>(fromNode, toNode, edgeData));
+    }
+
+    /**
+     * @return an unmodifiable, weakly consistent view of all nodes in the graph
+     */
+    public Set<N> allNodes() {
+        return Collections.unmodifiableSet(adjacency.keySet());
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return an immutable snapshot of all edges pointing outward from the parameter node, or an empty set if the
+     * graph does not contain it. Later mutations never change a returned set.
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, E>> outgoingEdges(N nodeName) {
+        if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
+        Set<GraphNeighbors.Edge<N, E>> edges = adjacency.get(nodeName);
+        return edges == null ? Collections.emptySet() : edges;
+    }
+
+    // returns the lock guarding writes to the outgoing edges of node
+    private Object lockFor(N node) {
+        int h = node.hashCode();
+        h ^= (h >>> 16);
+        return locks[h & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,149 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>Connectivity</b> is a union-find index of the weakly connected components of a graph, over its dense node ids.
+ * Two nodes are in the same component if they are linked by a chain of edges followed in either direction, so
+ * nodes in different components have no path between them in either direction. That answer takes O(log n) time
+ * and needs no search. A Graph keeps its index up to date as nodes and edges are added. A CsrGraph gets one
+ * from Connectivity.of.
+ *
+ * <p>Queries never write to the index, so once an index stops changing, as one from Connectivity.of does, any
+ * number of threads may query it at once without locking.
+ */
+public final class Connectivity {
+
+    // AF(this) = a partition of the ids "i" with parent[i] != -1 into components, where two ids are in the same
+    // component iff following parent from each reaches the same root, an id "r" with parent[r] == r.
+
+    // Representation Invariant:
+    // parent, size != null and parent.length == size.length.
+    // For every i, parent[i] == -1 or 0 <= parent[i] < parent.length, and following parent never cycles except at
+    // a root. size[r] is the number of ids in the component of root "r".
+    // components == the number of roots.
+
+    private int[] parent;
+    private int[] size;
+    private int components;
+
+    /**
+     * @param capacity the number of ids to make room for
+     * @spec.effects Constructs a new Connectivity holding no ids
+     */
+    Connectivity(int capacity) {
+        parent = new int[Math.max(capacity, 1)];
+        size = new int[parent.length];
+        Arrays.fill(parent, -1);
+        components = 0;
+    }
+
+    /**
+     * @param graph the graph to index
+     * @return the weakly connected components of graph, over the ids of graph
+     * @spec.requires graph != null
+     */
+    public static Connectivity of(CsrGraph<?> graph) {
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        Connectivity index = new Connectivity(graph.nodeCount());
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            index.add(id);
+        }
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            for (int e = graph.firstEdge(id); e < graph.endEdge(id); e++) {
+                index.union(id, graph.target(e));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param a the id of a node
+     * @param b the id of another node
+     * @return true if a and b are in the same weakly connected component. Else false, and then there is no path
+     * between them in either direction.
+     * @spec.requires a and b are ids in the index
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * @param id the id of a node
+     * @return the id of the representative of the component holding id, equal for every id in that component
+     * until the index changes
+     * @spec.requires id is an id in the index
+     */
+    public int componentOf(int id) {
+        return find(id);
+    }
+
+    /**
+     * @param id an id
+     * @return true if id is in the index. Else, false.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < parent.length && parent[id] != -1;
+    }
+
+    /**
+     * @return the number of weakly connected components
+     */
+    public int componentCount() {
+        return components;
+    }
+
+    // adds id as a component of its own
+    // spec.requires id >= 0 and !contains(id)
+    void add(int id) {
+        if (id >= parent.length) {
+            int capacity = Math.max(id + 1, parent.length * 2);
+            int old = parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            Arrays.fill(parent, old, capacity, -1);
+        }
+        parent[id] = id;
+        size[id] = 1;
+        components++;
+    }
+
+    // merges the components of a and b
+    // spec.requires contains(a) and contains(b)
+    void union(int a, int b) {
+        int rootA = compress(a);
+        int rootB = compress(b);
+        if (rootA == rootB) {
+            return;
+        }
+        // the smaller component hangs under the larger one, so paths stay logarithmic without compressing them
+        // on queries
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        components--;
+    }
+
+    // returns the root of the component of id, without writing to the index
+    private int find(int id) {
+        if (!contains(id)) { throw new IllegalArgumentException("Id is not in the index"); }
+        while (parent[id] != id) {
+            id = parent[id];
+        }
+        return id;
+    }
+
+    // returns the root of the component of id, halving the path on the way, for the writers of the index only
+    private int compress(int id) {
+        if (!contains(id)) { throw new IllegalArgumentException("Id is not in the index"); }
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+}
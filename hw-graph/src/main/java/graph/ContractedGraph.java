@@ -0,0 +1,365 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * <b>ContractedGraph</b> is a simplified view of a CsrGraph where every chain of degree-2 nodes is collapsed into one
+ * super-edge. A node is collapsed when it is not pinned and it only passes traffic through: either it has one
+ * incoming and one outgoing edge to two different neighbors, or it has exactly one edge to and one edge from each
+ * of two different neighbors. Every other node is kept, and each super-edge runs between two kept nodes, with the
+ * summed weight of the chain and the indices of the original edges it replaces. A shortest path between kept
+ * nodes in the contracted graph expands, edge by edge, into a shortest path of the original graph.
+ */
+public final class ContractedGraph<N> implements CsrGraph<N> {
+
+    // AF(this) = a directed graph whose nodes are base.nodeAt(kept[0]) ... base.nodeAt(kept[kept.length - 1]),
+    // where node "i" has one super-edge "e" to node targets[e] with weight weights[e] for every e in
+    // [offsets[i], offsets[i + 1]), standing for the chain of base edges hops[hopOffsets[e]] ...
+    // hops[hopOffsets[e + 1] - 1].
+
+    // Representation Invariant:
+    // base, kept, ids, offsets, targets, weights, hopOffsets, hops != null.
+    // ids maps base.nodeAt(kept[i]) to i for every i, and ids.size() == kept.length.
+    // offsets.length == kept.length + 1, offsets[0] == 0, offsets is non-decreasing and
+    // offsets[kept.length] == targets.length == weights.length == hopOffsets.length - 1.
+    // For every super-edge "e" from node "i", the hops of e form a path in base from kept[i] to
+    // kept[targets[e]] through collapsed nodes only, and weights[e] is the sum of their weights.
+
+    private final CsrGraph<N> base;
+    private final int[] kept;
+    private final Map<N, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] hopOffsets;
+    private final int[] hops;
+
+    private ContractedGraph(CsrGraph<N> base, int[] kept, Map<N, Integer> ids, int[] offsets, int[] targets,
+                            double[] weights, int[] hopOffsets, int[] hops) {
+        this.base = base;
+        this.kept = kept;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.hopOffsets = hopOffsets;
+        this.hops = hops;
+        checkRep();
+    }
+
+    /**
+     * @param base the graph to contract
+     * @param pinned selects the nodes that must stay in the contracted graph, such as search endpoints
+     * @param <N> the type of the nodes in the graph
+     * @return a new ContractedGraph of base, where every node that is pinned or does not only pass traffic
+     * through is kept, and every chain of the other nodes between two kept nodes is one super-edge
+     * @spec.requires base, pinned != null and every weight of base is non-negative
+     */
+    public static <N> ContractedGraph<N> of(CsrGraph<N> base, Predicate<? super N> pinned) {
+        if (base == null || pinned == null) { throw new IllegalArgumentException("No null arguments"); }
+        int nodeCount = base.nodeCount();
+
+        // incoming edges in CSR form, to find the in-neighbors of every node
+        int[] inOffsets = new int[nodeCount + 1];
+        for (int e = 0; e < base.edgeCount(); e++) {
+            inOffsets[base.target(e) + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] sources = new int[base.edgeCount()];
+        int[] next = Arrays.copyOf(inOffsets, nodeCount);
+        for (int id = 0; id < nodeCount; id++) {
+            for (int e = base.firstEdge(id); e < base.endEdge(id); e++) {
+                sources[next[base.target(e)]++] = id;
+            }
+        }
+
+        int[] newId = new int[nodeCount];
+        int keptCount = 0;
+        for (int id = 0; id < nodeCount; id++) {
+            if (pinned.test(base.nodeAt(id)) || !passesThrough(base, id, inOffsets, sources)) {
+                newId[id] = keptCount++;
+            } else {
+                newId[id] = -1;
+            }
+        }
+        int[] kept = new int[keptCount];
+        Map<N, Integer> ids = new HashMap<>();
+        for (int id = 0; id < nodeCount; id++) {
+            if (newId[id] >= 0) {
+                kept[newId[id]] = id;
+                ids.put(base.nodeAt(id), newId[id]);
+            }
+        }
+
+        // walk every chain from every outgoing edge of every kept node
+        int[] offsets = new int[keptCount + 1];
+        List<Integer> superTargets = new ArrayList<>();
+        List<Double> superWeights = new ArrayList<>();
+        List<Integer> hopOffsets = new ArrayList<>();
+        List<Integer> hops = new ArrayList<>();
+        hopOffsets.add(0);
+        for (int i = 0; i < keptCount; i++) {
+            offsets[i] = superTargets.size();
+            int from = kept[i];
+            for (int first = base.firstEdge(from); first < base.endEdge(from); first++) {
+                int chainStart = hops.size();
+                int previous = from;
+                int edge = first;
+                while (true) {
+                    hops.add(edge);
+                    int current = base.target(edge);
+                    if (newId[current] >= 0) {
+                        break;
+                    }
+                    edge = exitEdge(base, current, previous);
+                    previous = current;
+                    assert hops.size() - chainStart <= nodeCount;
+                }
+                int to = base.target(edge);
+                if (to == from && hops.size() - chainStart > 1) {
+                    // a chain that only comes back to where it started is never part of a shortest path
+                    while (hops.size() > chainStart) {
+                        hops.remove(hops.size() - 1);
+                    }
+                    continue;
+                }
+                // the hops are summed from the end with the lower id, so a chain and its mirror get the same weight
+                double weight = 0;
+                if (from <= to) {
+                    for (int h = chainStart; h < hops.size(); h++) {
+                        weight += base.weight(hops.get(h));
+                    }
+                } else {
+                    for (int h = hops.size() - 1; h >= chainStart; h--) {
+                        weight += base.weight(hops.get(h));
+                    }
+                }
+                superTargets.add(newId[to]);
+                superWeights.add(weight);
+                hopOffsets.add(hops.size());
+            }
+        }
+        offsets[keptCount] = superTargets.size();
+        return new ContractedGraph<>(base, kept, ids, offsets, toIntArray(superTargets),
+                toDoubleArray(superWeights), toIntArray(hopOffsets), toIntArray(hops));
+    }
+
+    // returns true if node id of base only passes traffic between two different neighbors
+    private static boolean passesThrough(CsrGraph<?> base, int id, int[] inOffsets, int[] sources) {
+        int outDegree = base.endEdge(id) - base.firstEdge(id);
+        int inDegree = inOffsets[id + 1] - inOffsets[id];
+        if (outDegree == 1 && inDegree == 1) {
+            int in = sources[inOffsets[id]];
+            int out = base.target(base.firstEdge(id));
+            return in != out && in != id && out != id;
+        }
+        if (outDegree == 2 && inDegree == 2) {
+            int out1 = base.target(base.firstEdge(id));
+            int out2 = base.target(base.firstEdge(id) + 1);
+            int in1 = sources[inOffsets[id]];
+            int in2 = sources[inOffsets[id] + 1];
+            return out1 != out2 && out1 != id && out2 != id
+                    && ((in1 == out1 && in2 == out2) || (in1 == out2 && in2 == out1));
+        }
+        return false;
+    }
+
+    // returns the outgoing edge of the collapsed node current that does not lead back to previous
+    private static int exitEdge(CsrGraph<?> base, int current, int previous) {
+        int first = base.firstEdge(current);
+        if (base.endEdge(current) - first == 1 || base.target(first) != previous) {
+            return first;
+        }
+        return first + 1;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static double[] toDoubleArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @return the graph this graph was contracted from
+     */
+    public CsrGraph<N> base() {
+        return base;
+    }
+
+    /**
+     * @param id the id of a node of this graph
+     * @return the id of the same node in base()
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int baseId(int id) {
+        return kept[id];
+    }
+
+    /**
+     * @param from the id of the node the super-edge starts from
+     * @param to the id of the node the super-edge points to
+     * @param weight the weight of the super-edge
+     * @return the index of a super-edge from "from" to "to" with exactly the given weight, or -1 if there is none
+     * @spec.requires 0 &lt;= from &lt; nodeCount()
+     */
+    public int findEdge(int from, int to, double weight) {
+        for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+            if (targets[e] == to && weights[e] == weight) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param edge the index of a super-edge
+     * @return the indices in base() of the original edges the super-edge stands for, in path order
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int[] baseEdges(int edge) {
+        return Arrays.copyOfRange(hops, hopOffsets[edge], hopOffsets[edge + 1]);
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    @Override
+    public int nodeCount() {
+        return kept.length;
+    }
+
+    /**
+     * @return the number of super-edges in the graph
+     */
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @param node the node to look up
+     * @return the dense id of node, or -1 if the graph does not contain it, including when it was collapsed
+     * @spec.requires node != null
+     */
+    @Override
+    public int idOf(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the node with the given id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public N nodeAt(int id) {
+        return base.nodeAt(kept[id]);
+    }
+
+    /**
+     * @param node the node to look up
+     * @return true if the graph contains node. Else, false.
+     * @spec.requires node != null
+     */
+    @Override
+    public boolean containsNode(N node) {
+        return idOf(node) >= 0;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the index of the first outgoing super-edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return one past the index of the last outgoing super-edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * @param edge the index of a super-edge
+     * @return the id of the node the super-edge points towards
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param edge the index of a super-edge
+     * @return the summed weight of the chain the super-edge stands for
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @param visitor receives the target id and weight of every super-edge pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount() and visitor != null
+     * @spec.effects walks the outgoing super-edges of the node without allocating
+     */
+    @Override
+    public void forEachNeighbor(int id, IdNeighborVisitor visitor) {
+        for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+            visitor.visit(targets[e], weights[e]);
+        }
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of all super-edges pointing outward from the parameter node, or an empty set if the graph
+     * does not contain it
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, Double>> outgoingEdges(N nodeName) {
+        int id = idOf(nodeName);
+        Set<GraphNeighbors.Edge<N, Double>> edgeSet = new HashSet<>();
+        if (id < 0) {
+            return edgeSet;
+        }
+        for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+            edgeSet.add(new GraphNeighbors.Edge<>(nodeName, nodeAt(targets[e]), weights[e]));
+        }
+        return edgeSet;
+    }
+
+    // checks whether the ContractedGraph is maintaining its representation invariant
+    private void checkRep() {
+        assert base != null && kept != null && ids != null;
+        assert ids.size() == kept.length;
+        assert offsets.length == kept.length + 1 && offsets[0] == 0;
+        assert offsets[kept.length] == targets.length;
+        assert targets.length == weights.length && hopOffsets.length == targets.length + 1;
+    }
+}
@@ -0,0 +1,706 @@
+package graph;
+
+import shortestPath.IndexedMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * <b>ContractionHierarchy</b> is a CsrGraph preprocessed for point-to-point queries that settle a few hundred nodes
+ * however large the graph is. Every node is given a rank, from least to most important, and the nodes are
+ * contracted in rank order: a node is taken out of the graph, and a shortcut edge is added between two of its
+ * neighbors wherever the path through it was the only least-cost path between them. A HierarchyQuery then only
+ * follows edges toward higher ranks, forward from the source and backward from the target, and the two searches
+ * meet at the most important node of a least-cost path.
+ *
+ * <p>The hierarchy keeps the ids and edge indices of its base graph: its edges [0, base().edgeCount()) are the
+ * edges of the base graph, and every later edge is a shortcut standing for two lower edges through a less important
+ * node, so any edge unpacks into a path of base edges.
+ *
+ * <p>Building runs on a ForkJoinPool. The importance of every node is estimated in parallel by simulating its
+ * contraction. Then, round after round, every node less important than all of its neighbors is contracted at
+ * once: those nodes are never adjacent, so their shortcuts are found in parallel, and the result does not depend
+ * on the number of threads.
+ */
+public final class ContractionHierarchy<N> {
+
+    // AF(this) = the hierarchy over base in which node "v" has rank rank[v], and edge "e" points from from[e] to
+    // to[e] with weight weight[e]. Edge e is the base edge e if e < base.edgeCount(), else a shortcut for the path
+    // made of edge first[e] followed by edge second[e].
+
+    // Representation Invariant:
+    // base, rank, from, to, weight, first, second, upOffsets, upEdges, downOffsets, downEdges != null.
+    // rank is a permutation of [0, base.nodeCount()).
+    // from, to, weight, first, second all have the same length, at least base.edgeCount().
+    // For every e < base.edgeCount(): from[e], to[e] and weight[e] are those of base edge e, and first[e] ==
+    // second[e] == -1.
+    // For every other e: 0 <= first[e], second[e] < e, from[first[e]] == from[e], to[first[e]] == from[second[e]],
+    // to[second[e]] == to[e], rank[to[first[e]]] < min(rank[from[e]], rank[to[e]]), and weight[e] ==
+    // weight[first[e]] + weight[second[e]].
+    // upEdges lists, for every node "v" in [upOffsets[v], upOffsets[v + 1]), the edges from v to a node of higher
+    // rank. downEdges lists, for every v in [downOffsets[v], downOffsets[v + 1]), the edges from a node of higher
+    // rank to v.
+
+    // witness searches give up after settling this many nodes, and then the shortcut is kept, which is always safe
+    private static final int WITNESS_LIMIT = 500;
+
+    // ranges of nodes are split across the pool until they hold about this many
+    private static final int LEAF_NODES = 64;
+
+    private final CsrGraph<N> base;
+    private final int[] rank;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+    private final int[] first;
+    private final int[] second;
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    private final int[] downOffsets;
+    private final int[] downEdges;
+
+    private ContractionHierarchy(CsrGraph<N> base, int[] rank, int[] from, int[] to, double[] weight, int[] first,
+                                 int[] second) {
+        this.base = base;
+        this.rank = rank;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.first = first;
+        this.second = second;
+        int n = base.nodeCount();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int e = 0; e < from.length; e++) {
+            if (rank[from[e]] < rank[to[e]]) {
+                upOffsets[from[e] + 1]++;
+            } else if (rank[from[e]] > rank[to[e]]) {
+                downOffsets[to[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        upEdges = new int[upOffsets[n]];
+        downEdges = new int[downOffsets[n]];
+        int[] nextUp = Arrays.copyOf(upOffsets, n);
+        int[] nextDown = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < from.length; e++) {
+            // self loops are in neither list, since they are never part of a least-cost path
+            if (rank[from[e]] < rank[to[e]]) {
+                upEdges[nextUp[from[e]]++] = e;
+            } else if (rank[from[e]] > rank[to[e]]) {
+                downEdges[nextDown[to[e]]++] = e;
+            }
+        }
+        checkRep();
+    }
+
+    /**
+     * @param base the graph to preprocess
+     * @param <N> the type of the nodes in the graph
+     * @return the contraction hierarchy of base, built on the common pool
+     * @spec.requires base != null and it has no negative weight
+     */
+    public static <N> ContractionHierarchy<N> build(CsrGraph<N> base) {
+        return build(base, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param base the graph to preprocess
+     * @param pool the pool the preprocessing runs on
+     * @param <N> the type of the nodes in the graph
+     * @return the contraction hierarchy of base, the same whatever the parallelism of pool
+     * @spec.requires base, pool != null and base has no negative weight
+     */
+    public static <N> ContractionHierarchy<N> build(CsrGraph<N> base, ForkJoinPool pool) {
+        if (base == null || pool == null) { throw new IllegalArgumentException("No null arguments"); }
+        Contraction contraction = new Contraction(base);
+        contraction.run(pool);
+        int edges = contraction.edgeCount;
+        return new ContractionHierarchy<>(base, contraction.rank, Arrays.copyOf(contraction.from, edges),
+                Arrays.copyOf(contraction.to, edges), Arrays.copyOf(contraction.weight, edges),
+                Arrays.copyOf(contraction.first, edges), Arrays.copyOf(contraction.second, edges));
+    }
+
+    /**
+     * Rebuilds a hierarchy from the ranks and shortcuts of one built over the same graph, such as one read back from
+     * a file.
+     *
+     * @param base the graph the hierarchy was built over
+     * @param rank the rank of every node, by id
+     * @param shortcutFirst the first of the two edges every shortcut stands for, in shortcut order
+     * @param shortcutSecond the second of the two edges every shortcut stands for, in shortcut order
+     * @param <N> the type of the nodes in the graph
+     * @return the hierarchy over base with the given ranks whose edge base.edgeCount() + i is shortcut "i"
+     * @throws IllegalArgumentException if the arguments do not describe a hierarchy of base
+     * @spec.requires no argument is null
+     */
+    public static <N> ContractionHierarchy<N> of(CsrGraph<N> base, int[] rank, int[] shortcutFirst,
+                                                 int[] shortcutSecond) {
+        if (base == null || rank == null || shortcutFirst == null || shortcutSecond == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        int n = base.nodeCount();
+        if (rank.length != n || shortcutFirst.length != shortcutSecond.length) {
+            throw new IllegalArgumentException("Ranks or shortcuts do not match the graph");
+        }
+        boolean[] used = new boolean[n];
+        for (int r : rank) {
+            if (r < 0 || r >= n || used[r]) { throw new IllegalArgumentException("Ranks are not a permutation"); }
+            used[r] = true;
+        }
+        int baseEdges = base.edgeCount();
+        int edges = baseEdges + shortcutFirst.length;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        double[] weight = new double[edges];
+        int[] first = new int[edges];
+        int[] second = new int[edges];
+        for (int v = 0; v < n; v++) {
+            for (int e = base.firstEdge(v); e < base.endEdge(v); e++) {
+                from[e] = v;
+                to[e] = base.target(e);
+                weight[e] = base.weight(e);
+                first[e] = -1;
+                second[e] = -1;
+            }
+        }
+        for (int e = baseEdges; e < edges; e++) {
+            int a = shortcutFirst[e - baseEdges];
+            int b = shortcutSecond[e - baseEdges];
+            if (a < 0 || a >= e || b < 0 || b >= e || to[a] != from[b]
+                    || rank[to[a]] >= Math.min(rank[from[a]], rank[to[b]])) {
+                throw new IllegalArgumentException("Shortcut " + (e - baseEdges) + " is not a valid shortcut");
+            }
+            from[e] = from[a];
+            to[e] = to[b];
+            weight[e] = weight[a] + weight[b];
+            first[e] = a;
+            second[e] = b;
+        }
+        return new ContractionHierarchy<>(base, rank.clone(), from, to, weight, first, second);
+    }
+
+    /**
+     * @return the graph the hierarchy was built over
+     */
+    public CsrGraph<N> base() {
+        return base;
+    }
+
+    /**
+     * @return the number of edges of the hierarchy, base edges and shortcuts
+     */
+    public int edgeCount() {
+        return from.length;
+    }
+
+    /**
+     * @return the number of shortcuts the hierarchy added to its base graph
+     */
+    public int shortcutCount() {
+        return from.length - base.edgeCount();
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the rank of the node, 0 for the least important node
+     * @spec.requires 0 &lt;= id &lt; base().nodeCount()
+     */
+    public int rank(int id) {
+        return rank[id];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the id of the node the edge points outward from
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int source(int edge) {
+        return from[edge];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the id of the node the edge points towards
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int target(int edge) {
+        return to[edge];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the weight of the edge, for a shortcut the sum of the weights of the edges it stands for
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public double weight(int edge) {
+        return weight[edge];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the first of the two edges the edge stands for if it is a shortcut, else -1
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int firstHalf(int edge) {
+        return first[edge];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the second of the two edges the edge stands for if it is a shortcut, else -1
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int secondHalf(int edge) {
+        return second[edge];
+    }
+
+    /**
+     * @param edge the index of an edge of the hierarchy
+     * @return the indices of the base edges the edge stands for, in path order, or just edge if it is a base edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int[] unpack(int edge) {
+        int[] out = new int[4];
+        int size = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = edge;
+        while (top > 0) {
+            int e = stack[--top];
+            if (first[e] == -1) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, size * 2);
+                }
+                out[size++] = e;
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                // the first half is on top, so it is unpacked first
+                stack[top++] = second[e];
+                stack[top++] = first[e];
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    // the edges from node v to nodes of higher rank are upEdge(s) for s in [upFirst(v), upEnd(v))
+    int upFirst(int v) {
+        return upOffsets[v];
+    }
+
+    int upEnd(int v) {
+        return upOffsets[v + 1];
+    }
+
+    int upEdge(int slot) {
+        return upEdges[slot];
+    }
+
+    // the edges from nodes of higher rank to node v are downEdge(s) for s in [downFirst(v), downEnd(v))
+    int downFirst(int v) {
+        return downOffsets[v];
+    }
+
+    int downEnd(int v) {
+        return downOffsets[v + 1];
+    }
+
+    int downEdge(int slot) {
+        return downEdges[slot];
+    }
+
+    // checks whether the ContractionHierarchy is maintaining its representation invariant
+    private void checkRep() {
+        assert base != null && rank != null;
+        assert rank.length == base.nodeCount();
+        int edges = from.length;
+        assert to.length == edges && weight.length == edges && first.length == edges && second.length == edges;
+        assert edges >= base.edgeCount();
+        for (int e = base.edgeCount(); e < edges; e++) {
+            assert first[e] >= 0 && first[e] < e && second[e] >= 0 && second[e] < e;
+            assert to[first[e]] == from[second[e]];
+        }
+        assert upOffsets[base.nodeCount()] == upEdges.length;
+        assert downOffsets[base.nodeCount()] == downEdges.length;
+    }
+
+    /**
+     * <b>Contraction</b> is the state of a hierarchy being built: the edges added so far, and the edges of every
+     * node still in the graph. The lists of a node keep the edges to contracted nodes, which are skipped.
+     */
+    private static final class Contraction {
+
+        private final CsrGraph<?> base;
+        private final int n;
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int[] first;
+        private int[] second;
+        private int edgeCount;
+        private final IntList[] out;
+        private final IntList[] in;
+        private final boolean[] contracted;
+        private final int[] rank;
+        // the number of contracted neighbors of every node, which spreads contraction evenly over the graph
+        private final int[] deleted;
+        private final int[] priority;
+        private final ThreadLocal<Witness> witness;
+
+        private Contraction(CsrGraph<?> base) {
+            this.base = base;
+            n = base.nodeCount();
+            int edges = base.edgeCount();
+            int capacity = Math.max(2 * edges, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new double[capacity];
+            first = new int[capacity];
+            second = new int[capacity];
+            out = new IntList[n];
+            in = new IntList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new IntList();
+                in[v] = new IntList();
+            }
+            for (int v = 0; v < n; v++) {
+                for (int e = base.firstEdge(v); e < base.endEdge(v); e++) {
+                    addEdge(v, base.target(e), base.weight(e), -1, -1);
+                }
+            }
+            contracted = new boolean[n];
+            rank = new int[n];
+            deleted = new int[n];
+            priority = new int[n];
+            witness = ThreadLocal.withInitial(() -> new Witness(n));
+        }
+
+        // appends an edge and lists it at both ends, unless it is a self loop, and returns its index
+        private int addEdge(int u, int w, double cost, int firstHalf, int secondHalf) {
+            if (edgeCount == from.length) {
+                int capacity = edgeCount * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+            }
+            int e = edgeCount++;
+            from[e] = u;
+            to[e] = w;
+            weight[e] = cost;
+            first[e] = firstHalf;
+            second[e] = secondHalf;
+            if (u != w) {
+                out[u].add(e);
+                in[w].add(e);
+            }
+            return e;
+        }
+
+        // contracts every node, giving each its rank
+        private void run(ForkJoinPool pool) {
+            int[] remaining = new int[n];
+            for (int v = 0; v < n; v++) {
+                remaining[v] = v;
+            }
+            int remainingCount = n;
+            forEach(pool, remaining, remainingCount, v -> priority[v] = priority(v));
+            int nextRank = 0;
+            boolean[] selected = new boolean[n];
+            int[] touchedBy = new int[n];
+            Arrays.fill(touchedBy, -1);
+            while (remainingCount > 0) {
+                forEach(pool, remaining, remainingCount, v -> selected[v] = isLocalMinimum(v));
+                int[] batch = new int[remainingCount];
+                int batchSize = 0;
+                int kept = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    int v = remaining[i];
+                    if (selected[v]) {
+                        batch[batchSize++] = v;
+                    } else {
+                        remaining[kept++] = v;
+                    }
+                }
+                remainingCount = kept;
+
+                // no two nodes of the batch are neighbors, but a witness path could still run through one of them
+                // while it is being contracted, so the whole batch leaves the graph before any shortcut is found,
+                // and every witness search runs over the nodes that stay
+                for (int i = 0; i < batchSize; i++) {
+                    contracted[batch[i]] = true;
+                }
+                List<Shortcuts> found = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    found.add(new Shortcuts());
+                }
+                int[] positions = new int[batchSize];
+                for (int i = 0; i < batchSize; i++) {
+                    positions[i] = i;
+                }
+                int[] batchNodes = batch;
+                forEach(pool, positions, batchSize, i -> shortcuts(batchNodes[i], found.get(i)));
+
+                IntList touched = new IntList();
+                for (int i = 0; i < batchSize; i++) {
+                    int v = batch[i];
+                    rank[v] = nextRank++;
+                    Shortcuts s = found.get(i);
+                    for (int k = 0; k < s.size; k++) {
+                        int a = s.firstHalf[k];
+                        int b = s.secondHalf[k];
+                        addEdge(from[a], to[b], weight[a] + weight[b], a, b);
+                    }
+                    for (IntList edges : new IntList[] {out[v], in[v]}) {
+                        for (int k = 0; k < edges.size; k++) {
+                            int e = edges.items[k];
+                            int u = from[e] == v ? to[e] : from[e];
+                            if (!contracted[u] && touchedBy[u] != v) {
+                                touchedBy[u] = v;
+                                deleted[u]++;
+                                // selected marks the neighbors already listed in touched this round
+                                if (!selected[u]) {
+                                    selected[u] = true;
+                                    touched.add(u);
+                                }
+                            }
+                        }
+                    }
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    selected[batch[i]] = false;
+                }
+                for (int k = 0; k < touched.size; k++) {
+                    selected[touched.items[k]] = false;
+                }
+                forEach(pool, touched.items, touched.size, v -> priority[v] = priority(v));
+            }
+        }
+
+        // returns true if v is less important than every neighbor still in the graph, ties broken by id
+        private boolean isLocalMinimum(int v) {
+            for (IntList edges : new IntList[] {out[v], in[v]}) {
+                for (int k = 0; k < edges.size; k++) {
+                    int e = edges.items[k];
+                    int u = from[e] == v ? to[e] : from[e];
+                    if (!contracted[u] && (priority[u] < priority[v] || (priority[u] == priority[v] && u < v))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        // estimates the importance of v: the shortcuts its contraction adds, less the edges it takes away, plus
+        // the neighbors already contracted
+        private int priority(int v) {
+            int removed = 0;
+            for (IntList edges : new IntList[] {out[v], in[v]}) {
+                for (int k = 0; k < edges.size; k++) {
+                    int e = edges.items[k];
+                    if (!contracted[from[e] == v ? to[e] : from[e]]) {
+                        removed++;
+                    }
+                }
+            }
+            return shortcuts(v, null) - removed + deleted[v];
+        }
+
+        // finds the shortcuts contracting v needs, adds them to sink unless it is null, and returns their number
+        private int shortcuts(int v, Shortcuts sink) {
+            IntList ins = cheapestEdges(in[v], true, v);
+            IntList outs = cheapestEdges(out[v], false, v);
+            if (ins.size == 0 || outs.size == 0) {
+                return 0;
+            }
+            Witness search = witness.get();
+            int count = 0;
+            for (int i = 0; i < ins.size; i++) {
+                int a = ins.items[i];
+                int u = from[a];
+                double limit = 0;
+                for (int k = 0; k < outs.size; k++) {
+                    limit = Math.max(limit, weight[a] + weight[outs.items[k]]);
+                }
+                search.run(this, u, v, limit);
+                for (int k = 0; k < outs.size; k++) {
+                    int b = outs.items[k];
+                    if (to[b] != u && search.distance(to[b]) > weight[a] + weight[b]) {
+                        count++;
+                        if (sink != null) {
+                            sink.add(a, b);
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        // returns the cheapest edge between v and every other node still in the graph, of the edges listed
+        private IntList cheapestEdges(IntList edges, boolean incoming, int v) {
+            IntList cheapest = new IntList();
+            for (int k = 0; k < edges.size; k++) {
+                int e = edges.items[k];
+                int u = incoming ? from[e] : to[e];
+                if (contracted[u]) {
+                    continue;
+                }
+                boolean replaced = false;
+                for (int j = 0; j < cheapest.size; j++) {
+                    int other = cheapest.items[j];
+                    if ((incoming ? from[other] : to[other]) == u) {
+                        if (weight[e] < weight[other]) {
+                            cheapest.items[j] = e;
+                        }
+                        replaced = true;
+                        break;
+                    }
+                }
+                if (!replaced) {
+                    cheapest.add(e);
+                }
+            }
+            return cheapest;
+        }
+
+        // runs action on every element of nodes[0, count) on the pool
+        private static void forEach(ForkJoinPool pool, int[] nodes, int count, IntConsumer action) {
+            pool.invoke(new RangeAction(nodes, 0, count, action));
+        }
+    }
+
+    /**
+     * <b>Witness</b> is a Dijkstra search over the nodes still in the graph that looks for a path between two
+     * neighbors of a node that avoids the node and costs no more than the path through it. Every thread has its own.
+     */
+    private static final class Witness {
+
+        private final double[] dist;
+        private final int[] reached;
+        private final IndexedMinHeap frontier;
+        private int generation;
+
+        private Witness(int n) {
+            dist = new double[n];
+            reached = new int[n];
+            frontier = new IndexedMinHeap(n);
+            generation = 0;
+        }
+
+        // searches from u around "avoid", until the paths found cost more than limit or enough nodes settled
+        private void run(Contraction graph, int u, int avoid, double limit) {
+            frontier.clear();
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                generation = 1;
+            }
+            reached[u] = generation;
+            dist[u] = 0.0;
+            frontier.insertOrDecrease(u, 0.0);
+            int settled = 0;
+            while (!frontier.isEmpty() && frontier.minKey() <= limit && settled < WITNESS_LIMIT) {
+                int v = frontier.poll();
+                settled++;
+                IntList edges = graph.out[v];
+                for (int k = 0; k < edges.size; k++) {
+                    int e = edges.items[k];
+                    int w = graph.to[e];
+                    if (w == avoid || graph.contracted[w]) {
+                        continue;
+                    }
+                    double d = dist[v] + graph.weight[e];
+                    if (reached[w] != generation || d < dist[w]) {
+                        reached[w] = generation;
+                        dist[w] = d;
+                        frontier.insertOrDecrease(w, d);
+                    }
+                }
+            }
+        }
+
+        // the cost of a path found to w by the last search, which avoids its node, or infinity if none was found
+        private double distance(int w) {
+            return reached[w] == generation ? dist[w] : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * <b>Shortcuts</b> is a growable list of shortcuts, each as the pair of edges it stands for.
+     */
+    private static final class Shortcuts {
+
+        private int[] firstHalf = new int[4];
+        private int[] secondHalf = new int[4];
+        private int size;
+
+        private void add(int a, int b) {
+            if (size == firstHalf.length) {
+                firstHalf = Arrays.copyOf(firstHalf, size * 2);
+                secondHalf = Arrays.copyOf(secondHalf, size * 2);
+            }
+            firstHalf[size] = a;
+            secondHalf[size] = b;
+            size++;
+        }
+    }
+
+    /**
+     * <b>IntList</b> is a growable list of primitive ints.
+     */
+    private static final class IntList {
+
+        private int[] items = new int[4];
+        private int size;
+
+        private void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+    }
+
+    /**
+     * <b>RangeAction</b> runs an action on every element of a range of an array, splitting the range in half across
+     * the pool until it is small.
+     */
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] items;
+        private final int start;
+        private final int end;
+        private final IntConsumer action;
+
+        private RangeAction(int[] items, int start, int end, IntConsumer action) {
+            this.items = items;
+            this.start = start;
+            this.end = end;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= LEAF_NODES) {
+                for (int i = start; i < end; i++) {
+                    action.accept(items[i]);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new RangeAction(items, start, middle, action), new RangeAction(items, middle, end, action));
+        }
+    }
+}
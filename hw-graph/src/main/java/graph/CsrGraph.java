@@ -0,0 +1,78 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+/**
+ * <b>CsrGraph</b> is an immutable weighted graph stored in compressed sparse row (CSR) form, whatever memory holds
+ * its arrays. Every node has a dense integer id in [0, nodeCount()), and the outgoing edges of node "id" are the
+ * edge indices in [firstEdge(id), endEdge(id)), each with a target id and a double weight. Code written against
+ * this interface runs the same over a FrozenGraph on the heap and an OffHeapGraph in direct or mapped memory.
+ */
+public interface CsrGraph<N> extends GraphNeighbors<N, Double> {
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    int nodeCount();
+
+    /**
+     * @return the number of edges in the graph
+     */
+    int edgeCount();
+
+    /**
+     * @param node the node to look up
+     * @return the dense id of node, or -1 if the graph does not contain it
+     * @spec.requires node != null
+     */
+    int idOf(N node);
+
+    /**
+     * @param id the dense id of a node
+     * @return the node with the given id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    N nodeAt(int id);
+
+    /**
+     * @param node the node to look up
+     * @return true if the graph contains node. Else, false.
+     * @spec.requires node != null
+     */
+    boolean containsNode(N node);
+
+    /**
+     * @param id the dense id of a node
+     * @return the index of the first outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    int firstEdge(int id);
+
+    /**
+     * @param id the dense id of a node
+     * @return one past the index of the last outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    int endEdge(int id);
+
+    /**
+     * @param edge the index of an edge
+     * @return the id of the node the edge points towards
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    int target(int edge);
+
+    /**
+     * @param edge the index of an edge
+     * @return the weight of the edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    double weight(int edge);
+
+    /**
+     * @param id the dense id of a node
+     * @param visitor receives the target id and weight of every edge pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount() and visitor != null
+     * @spec.effects walks the outgoing edges of the node without allocating
+     */
+    void forEachNeighbor(int id, IdNeighborVisitor visitor);
+}
@@ -0,0 +1,215 @@
+package graph;
+
+import shortestPath.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * <b>Dijkstra</b> is a least-cost path search over the dense ids of a CsrGraph with non-negative weights. Distances
+ * and parents live in primitive arrays indexed by node id, and the frontier is an IndexedMinHeap that lowers the key
+ * of a node in place instead of pushing it again. An engine is reused across searches without clearing its arrays:
+ * each search stamps the entries it writes, and entries with an older stamp read as unreached. An engine is not
+ * safe for concurrent searches, so threads each use their own.
+ *
+ * <p>Given a Heuristic, a search toward a single target runs as A*: the frontier is ordered by the distance so far
+ * plus the estimated distance left, so the search settles nodes in the direction of the target instead of in a
+ * full circle around the source.
+ */
+public final class Dijkstra {
+
+    // AF(this) = the result of the last search from source: for every id "v" with reached[v] == generation, a path
+    // from source to v of cost dist[v] whose last edge is parentEdge[v] from parentNode[v], or no edge if v ==
+    // source. It is a least-cost path if settled[v] == generation. Every other id is unreached.
+
+    // Representation Invariant:
+    // graph, dist, parentNode, parentEdge, reached, settled, frontier != null, and the arrays have length
+    // graph.nodeCount().
+    // settled[v] == generation implies reached[v] == generation, and frontier holds only reached, unsettled ids.
+
+    private final CsrGraph<?> graph;
+    private final double[] dist;
+    private final int[] parentNode;
+    private final int[] parentEdge;
+    private final int[] reached;
+    private final int[] settled;
+    private final IndexedMinHeap frontier;
+    private int generation;
+    private int source;
+    private int settledCount;
+
+    /**
+     * @param graph the graph to search
+     * @spec.requires graph != null and it has no negative weight
+     * @spec.effects Constructs a new engine over graph that has not searched yet
+     */
+    public Dijkstra(CsrGraph<?> graph) {
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        this.graph = graph;
+        int n = graph.nodeCount();
+        dist = new double[n];
+        parentNode = new int[n];
+        parentEdge = new int[n];
+        reached = new int[n];
+        settled = new int[n];
+        frontier = new IndexedMinHeap(n);
+        generation = 0;
+        source = -1;
+        settledCount = 0;
+    }
+
+    /**
+     * @param from the id of the node the search starts at
+     * @param to the id of the node the search stops at once its distance is final, or -1 to settle every node
+     * reachable from "from"
+     * @return true if "to" was reached, or if to == -1. Else, false.
+     * @spec.requires 0 &lt;= from &lt; graph.nodeCount() and -1 &lt;= to &lt; graph.nodeCount()
+     * @spec.effects replaces the result of the last search with the least-cost paths from "from" to every node
+     * settled before "to"
+     */
+    public boolean search(int from, int to) {
+        return search(from, to, null);
+    }
+
+    /**
+     * @param from the id of the node the search starts at
+     * @param to the id of the node the search stops at once its distance is final, or -1 to settle every node
+     * reachable from "from"
+     * @param heuristic the estimates guiding the search toward "to", or null to search by distance alone
+     * @return true if "to" was reached, or if to == -1. Else, false.
+     * @spec.requires 0 &lt;= from &lt; graph.nodeCount(), -1 &lt;= to &lt; graph.nodeCount(), to != -1 if heuristic
+     * != null, and heuristic is consistent for graph
+     * @spec.effects replaces the result of the last search with the least-cost paths from "from" to every node
+     * settled before "to"
+     */
+    public boolean search(int from, int to, Heuristic heuristic) {
+        int n = graph.nodeCount();
+        if (from < 0 || from >= n || to < -1 || to >= n) { throw new IllegalArgumentException("Bad node id"); }
+        if (heuristic != null && to == -1) { throw new IllegalArgumentException("A* needs a target"); }
+        startSearch(from);
+        while (!frontier.isEmpty()) {
+            int v = frontier.poll();
+            settled[v] = generation;
+            settledCount++;
+            if (v == to) {
+                return true;
+            }
+            double base = dist[v];
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                int w = graph.target(e);
+                double d = base + graph.weight(e);
+                if (reached[w] != generation || (settled[w] != generation && d < dist[w])) {
+                    reached[w] = generation;
+                    relax(v, e, w, d, heuristic == null ? d : d + heuristic.estimate(w, to));
+                }
+            }
+        }
+        return to == -1;
+    }
+
+    // clears the last result by moving to a new stamp, and puts "from" on the frontier
+    private void startSearch(int from) {
+        frontier.clear();
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // stamps wrap around only after billions of searches, and then the arrays are wiped once
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            generation = 1;
+        }
+        source = from;
+        settledCount = 0;
+        reached[from] = generation;
+        dist[from] = 0.0;
+        parentNode[from] = -1;
+        parentEdge[from] = -1;
+        frontier.insertOrDecrease(from, 0.0);
+    }
+
+    // records edge e from v as the best way found so far to reach w, at cost d, and orders w by key
+    private void relax(int v, int e, int w, double d, double key) {
+        dist[w] = d;
+        parentNode[w] = v;
+        parentEdge[w] = e;
+        frontier.insertOrDecrease(w, key);
+    }
+
+    /**
+     * @return the id the last search started at, or -1 if the engine has not searched yet
+     */
+    public int source() {
+        return source;
+    }
+
+    /**
+     * @param id the id of a node
+     * @return true if the last search found the least-cost path to id. Else, false.
+     * @spec.requires 0 &lt;= id &lt; graph.nodeCount()
+     */
+    public boolean isSettled(int id) {
+        return source != -1 && settled[id] == generation;
+    }
+
+    /**
+     * @param id the id of a node
+     * @return the cost of the least-cost path the last search found to id, or positive infinity if it did not
+     * settle id
+     * @spec.requires 0 &lt;= id &lt; graph.nodeCount()
+     */
+    public double distance(int id) {
+        return isSettled(id) ? dist[id] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param id the id of a node
+     * @return the edge indices of the least-cost path the last search found from its source to id, in order, an
+     * empty array if id is the source, or null if the last search did not settle id
+     * @spec.requires 0 &lt;= id &lt; graph.nodeCount()
+     */
+    public int[] pathEdges(int id) {
+        if (!isSettled(id)) {
+            return null;
+        }
+        int length = 0;
+        for (int v = id; parentNode[v] != -1; v = parentNode[v]) {
+            length++;
+        }
+        int[] edges = new int[length];
+        for (int v = id; parentNode[v] != -1; v = parentNode[v]) {
+            edges[--length] = parentEdge[v];
+        }
+        return edges;
+    }
+
+    /**
+     * @return the number of nodes the last search settled, a measure of the work it did
+     */
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Estimates the cost left from a node to the target of a search. A* only returns least-cost paths if the
+     * estimates are consistent: estimate(v, t) &lt;= weight(e) + estimate(w, t) for every edge e from v to w, and
+     * estimate(t, t) == 0. A consistent heuristic never overestimates the cost left.
+     */
+    public interface Heuristic {
+
+        /**
+         * @param node the id of a node
+         * @param target the id of the target of the search
+         * @return a lower bound on the cost of every path from node to target
+         */
+        double estimate(int node, int target);
+
+        /**
+         * @param source the id of the source of a search
+         * @param node the id of a node
+         * @return a lower bound on the cost of every path from source to node, for searches that run backward
+         * from their target. By default estimate(node, source), which is only a bound on such paths if every
+         * path can be walked both ways at the same cost, or if the estimates do not depend on direction.
+         */
+        default double estimateFrom(int source, int node) {
+            return estimate(node, source);
+        }
+    }
+}
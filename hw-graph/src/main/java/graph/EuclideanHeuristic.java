@@ -0,0 +1,117 @@
+package graph;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <b>EuclideanHeuristic</b> estimates the cost left in a search by the straight-line distance between the
+ * coordinates of two nodes, times a scale. The scale is checked against every edge of the graph when the heuristic
+ * is built: it is the largest factor for which no edge is cheaper than the scaled distance between its ends, which
+ * makes the estimates consistent for A*. A scale above 1 means weights are in a larger unit than coordinates, and
+ * gives tighter estimates than the plain distance. A scale of 0 means some edge breaks the bound, and then the
+ * estimates are all 0 and A* settles the same nodes as Dijkstra.
+ */
+public final class EuclideanHeuristic implements Dijkstra.Heuristic {
+
+    // AF(this) = the heuristic estimating the cost from node "v" to node "t" as
+    // scale * sqrt((xs[v] - xs[t])^2 + (ys[v] - ys[t])^2).
+
+    // Representation Invariant:
+    // xs, ys != null, xs.length == ys.length, and scale >= 0 is finite.
+
+    // shrinks the scale a little, so rounding in the distances never makes an estimate overshoot
+    private static final double SLACK = 1e-9;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double scale;
+
+    private EuclideanHeuristic(double[] xs, double[] ys, double scale) {
+        this.xs = xs;
+        this.ys = ys;
+        this.scale = scale;
+        checkRep();
+    }
+
+    /**
+     * @param graph the graph the heuristic guides searches over
+     * @param x gives the x coordinate of a node
+     * @param y gives the y coordinate of a node
+     * @param <N> the type of the nodes in the graph
+     * @return the straight-line heuristic over the ids of graph, at the largest scale consistent with every edge
+     * @spec.requires graph, x, y != null and no coordinate is NaN or infinite
+     */
+    public static <N> EuclideanHeuristic of(CsrGraph<N> graph, ToDoubleFunction<? super N> x,
+                                            ToDoubleFunction<? super N> y) {
+        if (graph == null || x == null || y == null) { throw new IllegalArgumentException("No null arguments"); }
+        int n = graph.nodeCount();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int id = 0; id < n; id++) {
+            N node = graph.nodeAt(id);
+            xs[id] = x.applyAsDouble(node);
+            ys[id] = y.applyAsDouble(node);
+        }
+        // the scale is the smallest ratio of weight to length over the edges joining two distinct points
+        double scale = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                int w = graph.target(e);
+                double length = distance(xs[v] - xs[w], ys[v] - ys[w]);
+                if (length > 0) {
+                    scale = Math.min(scale, graph.weight(e) / length);
+                }
+            }
+        }
+        if (Double.isInfinite(scale) || !(scale > 0)) {
+            // no edge bounds the scale, or some edge is free or negative: fall back to estimates of 0
+            scale = 0;
+        }
+        return new EuclideanHeuristic(xs, ys, scale * (1 - SLACK));
+    }
+
+    /**
+     * @return the factor the straight-line distance is multiplied by, 0 if the heuristic falls back to Dijkstra
+     */
+    public double scale() {
+        return scale;
+    }
+
+    /**
+     * @return true if the plain straight-line distance is a lower bound on every edge, that is scale() &gt;= 1,
+     * up to rounding. Else, false.
+     */
+    public boolean isAdmissible() {
+        return scale >= 1 - 2 * SLACK;
+    }
+
+    /**
+     * @return true if the estimates can steer a search, that is scale() &gt; 0. Else, false, and a search with
+     * this heuristic does the same work as Dijkstra.
+     */
+    public boolean isInformative() {
+        return scale > 0;
+    }
+
+    /**
+     * @param node the id of a node
+     * @param target the id of the target of the search
+     * @return scale() times the straight-line distance between node and target
+     * @spec.requires node and target are ids of the graph the heuristic was built for
+     */
+    @Override
+    public double estimate(int node, int target) {
+        return scale * distance(xs[node] - xs[target], ys[node] - ys[target]);
+    }
+
+    // returns the length of the vector (dx, dy)
+    private static double distance(double dx, double dy) {
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    // checks whether the EuclideanHeuristic is maintaining its representation invariant
+    private void checkRep() {
+        assert xs != null && ys != null;
+        assert xs.length == ys.length;
+        assert scale >= 0 && !Double.isInfinite(scale);
+    }
+}
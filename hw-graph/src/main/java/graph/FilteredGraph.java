@@ -0,0 +1,180 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * <b>FilteredGraph</b> is a read-only view of another graph that hides the nodes and edges failing a predicate,
+ * such as stairs for an accessible route or walkways closed for construction. Nothing is copied: the filters are
+ * applied lazily while the outgoing edges of a node are iterated, so any number of views can share one base
+ * graph, and they see later changes to it.
+ */
+public class FilteredGraph<N, E> implements GraphNeighbors<N, E> {
+
+    // AF(this) = the subgraph of base made of the nodes "n" with nodeFilter.test(n), and the edges "e" of base
+    // with edgeFilter.test(e) whose two endpoints are both in the subgraph.
+
+    // Representation Invariant:
+    // base, nodeFilter, edgeFilter != null
+
+    private final GraphNeighbors<N, E> base;
+    private final Predicate<? super N> nodeFilter;
+    private final Predicate<? super GraphNeighbors.Edge<N, E>> edgeFilter;
+
+    /**
+     * @param base the graph to view
+     * @param nodeFilter the nodes to keep, every other node is hidden along with its edges
+     * @param edgeFilter the edges to keep
+     * @spec.requires base, nodeFilter, edgeFilter != null
+     * @spec.effects Constructs a new view of base that only shows the nodes and edges passing the filters
+     */
+    public FilteredGraph(GraphNeighbors<N, E> base, Predicate<? super N> nodeFilter,
+                         Predicate<? super GraphNeighbors.Edge<N, E>> edgeFilter) {
+        if (base == null || nodeFilter == null || edgeFilter == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        this.base = base;
+        this.nodeFilter = nodeFilter;
+        this.edgeFilter = edgeFilter;
+    }
+
+    /**
+     * @param base the graph to view
+     * @param edgeFilter the edges to keep
+     * @param <N> the type of the nodes in the graph
+     * @param <E> the type of the edge data in the graph
+     * @return a new view of base that shows every node, and only the edges passing edgeFilter
+     * @spec.requires base, edgeFilter != null
+     */
+    public static <N, E> FilteredGraph<N, E> ofEdges(GraphNeighbors<N, E> base,
+                                                     Predicate<? super GraphNeighbors.Edge<N, E>> edgeFilter) {
+        return new FilteredGraph<>(base, node -> true, edgeFilter);
+    }
+
+    /**
+     * @param base the graph to view
+     * @param nodeFilter the nodes to keep
+     * @param <N> the type of the nodes in the graph
+     * @param <E> the type of the edge data in the graph
+     * @return a new view of base that hides the nodes failing nodeFilter and every edge touching them
+     * @spec.requires base, nodeFilter != null
+     */
+    public static <N, E> FilteredGraph<N, E> ofNodes(GraphNeighbors<N, E> base, Predicate<? super N> nodeFilter) {
+        return new FilteredGraph<>(base, nodeFilter, edge -> true);
+    }
+
+    /**
+     * @param nodes the nodes to keep
+     * @param edges the edges to keep
+     * @return a new view over the same base graph that shows what passes both the filters of this view and the
+     * given ones
+     * @spec.requires nodes, edges != null
+     */
+    public FilteredGraph<N, E> filter(Predicate<? super N> nodes, Predicate<? super GraphNeighbors.Edge<N, E>> edges) {
+        if (nodes == null || edges == null) { throw new IllegalArgumentException("No null arguments"); }
+        return new FilteredGraph<>(base, node -> nodeFilter.test(node) && nodes.test(node),
+                edge -> edgeFilter.test(edge) && edges.test(edge));
+    }
+
+    /**
+     * @return the graph this view is over
+     */
+    public GraphNeighbors<N, E> base() {
+        return base;
+    }
+
+    /**
+     * @param node the node to test
+     * @return true if the view shows node, that is node passes the node filter. Else, false.
+     * @spec.requires node != null
+     */
+    public boolean showsNode(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        return nodeFilter.test(node);
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return a live, unmodifiable view of the edges of base pointing outward from the parameter node that pass
+     * the filters, or an empty set if the node is hidden. The filters run as the set is iterated.
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, E>> outgoingEdges(N nodeName) {
+        if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
+        if (!nodeFilter.test(nodeName)) {
+            return Collections.emptySet();
+        }
+        return new FilteredEdges(base.outgoingEdges(nodeName));
+    }
+
+    // returns true if the view shows edge
+    private boolean shows(GraphNeighbors.Edge<N, E> edge) {
+        return edgeFilter.test(edge) && nodeFilter.test(edge.getDest());
+    }
+
+    /**
+     * <b>FilteredEdges</b> is the live view of the edges of a set that the filters show.
+     */
+    private final class FilteredEdges extends AbstractSet<GraphNeighbors.Edge<N, E>> {
+
+        private final Set<GraphNeighbors.Edge<N, E>> edges;
+
+        private FilteredEdges(Set<GraphNeighbors.Edge<N, E>> edges) {
+            this.edges = edges;
+        }
+
+        @Override
+        public Iterator<GraphNeighbors.Edge<N, E>> iterator() {
+            Iterator<GraphNeighbors.Edge<N, E>> all = edges.iterator();
+            return new Iterator<GraphNeighbors.Edge<N, E>>() {
+
+                // the next edge to return, or null once the edges run out
+                private GraphNeighbors.Edge<N, E> next = advance();
+
+                private GraphNeighbors.Edge<N, E> advance() {
+                    while (all.hasNext()) {
+                        GraphNeighbors.Edge<N, E> edge = all.next();
+                        if (shows(edge)) {
+                            return edge;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public GraphNeighbors.Edge<N, E> next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    GraphNeighbors.Edge<N, E> edge = next;
+                    next = advance();
+                    return edge;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (GraphNeighbors.Edge<N, E> edge : edges) {
+                if (shows(edge)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return edges.contains(o) && shows((GraphNeighbors.Edge<N, E>) o);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <b>FrozenGraph</b> is an immutable snapshot of a Graph stored in compressed sparse row (CSR) form. Every node is
+ * given a dense integer id in [0, nodeCount()), and the outgoing edges of node "id" are the edge indices in
+ * [firstEdge(id), endEdge(id)), each with a primitive target id and a primitive double weight.
+ */
+public final class FrozenGraph<N> implements CsrGraph<N> {
+
+    // AF(this) = a directed graph whose nodes are nodes.get(0) ... nodes.get(nodes.size() - 1), where node "i" has
+    // one outgoing edge to node targets[e] with weight weights[e] for every e in [offsets[i], offsets[i + 1]).
+
+    // Representation Invariant:
+    // nodes, ids, offsets, targets, weights != null and nodes contains no null or duplicate elements.
+    // ids.get(nodes.get(i)) == i for every i, and ids.size() == nodes.size().
+    // offsets.length == nodes.size() + 1, offsets[0] == 0, offsets is non-decreasing and
+    // offsets[nodes.size()] == targets.length == weights.length.
+    // 0 <= targets[e] < nodes.size() for every e.
+
+    private final List<N> nodes;
+    private final Map<N, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    /**
+     * @param nodes the nodes of the snapshot, indexed by id
+     * @param ids the id of every node in nodes
+     * @param offsets the CSR row offsets, one per node plus a final end offset
+     * @param targets the target id of every edge
+     * @param weights the weight of every edge
+     * @spec.requires the arguments satisfy the representation invariant of FrozenGraph
+     * @spec.effects Constructs a new FrozenGraph over the provided arrays without copying them
+     */
+    FrozenGraph(List<N> nodes, Map<N, Integer> ids, int[] offsets, int[] targets, double[] weights) {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        checkRep();
+    }
+
+    /**
+     * @param graph the graph to take a snapshot of
+     * @param weightOf converts the data of an edge into its weight
+     * @param <N> the type of the nodes in the graph
+     * @param <E> the type of the edge data in the graph
+     * @return a CSR snapshot holding every node and edge of graph, where ids follow the order of
+     * graph.nodeIndex() and edges keep the order of graph.outgoingEdgesFrom(node)
+     * @spec.requires graph != null and weightOf != null
+     */
+    public static <N, E> FrozenGraph<N> of(Graph<N, E> graph, ToDoubleFunction<? super E> weightOf) {
+        if (graph == null || weightOf == null) { throw new IllegalArgumentException("No null arguments"); }
+
+        // ids are the graph's own node ids with the retired ones squeezed out
+        NodeIndex<N> index = graph.nodeIndex();
+        int[] dense = new int[index.idBound()];
+        List<N> nodes = new ArrayList<>(index.size());
+        Map<N, Integer> ids = new HashMap<>();
+        int edgeCount = 0;
+        for (int id = 0; id < index.idBound(); id++) {
+            N node = index.nodeAt(id);
+            if (node != null) {
+                dense[id] = nodes.size();
+                ids.put(node, nodes.size());
+                nodes.add(node);
+                edgeCount += graph.outDegree(node);
+            }
+        }
+
+        int[] offsets = new int[nodes.size() + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int e = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            offsets[i] = e;
+            for (Graph<N, E>.Edge edge : graph.outgoingEdgesFrom(nodes.get(i))) {
+                targets[e] = dense[edge.toId()];
+                weights[e] = weightOf.applyAsDouble(edge.getEdgeData());
+                e++;
+            }
+        }
+        offsets[nodes.size()] = e;
+        return new FrozenGraph<>(nodes, ids, offsets, targets, weights);
+    }
+
+    /**
+     * @return the number of nodes in the snapshot
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of edges in the snapshot
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @param node the node to look up
+     * @return the dense id of node, or -1 if the snapshot does not contain it
+     * @spec.requires node != null
+     */
+    public int idOf(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the node with the given id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public N nodeAt(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * @param node the node to look up
+     * @return true if the snapshot contains node. Else, false.
+     * @spec.requires node != null
+     */
+    public boolean containsNode(N node) {
+        return idOf(node) >= 0;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the index of the first outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return one past the index of the last outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * @param edge the index of an edge
+     * @return the id of the node the edge points towards
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param edge the index of an edge
+     * @return the weight of the edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @param visitor receives the target id and weight of every edge pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount() and visitor != null
+     * @spec.effects walks the outgoing edges of the node without allocating
+     */
+    public void forEachNeighbor(int id, IdNeighborVisitor visitor) {
+        for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+            visitor.visit(targets[e], weights[e]);
+        }
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of all edges pointing outward from the parameter node, or an empty set if the snapshot
+     * does not contain it
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, Double>> outgoingEdges(N nodeName) {
+        int id = idOf(nodeName);
+        if (id < 0) {
+            return new HashSet<>();
+        }
+        Set<GraphNeighbors.Edge<N, Double>> edgeSet = new HashSet<>();
+        for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+            edgeSet.add(new GraphNeighbors.Edge<>(nodeName, nodes.get(targets[e]), weights[e]));
+        }
+        return edgeSet;
+    }
+
+    // checks whether the FrozenGraph is maintaining its representation invariant
+    private void checkRep() {
+        assert nodes != null && ids != null && offsets != null && targets != null && weights != null;
+        assert ids.size() == nodes.size();
+        assert offsets.length == nodes.size() + 1;
+        assert offsets[0] == 0;
+        assert offsets[nodes.size()] == targets.length;
+        assert targets.length == weights.length;
+    }
+}
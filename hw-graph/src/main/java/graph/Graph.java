@@ -2,6 +2,12 @@ package graph;
 import shortestPath.GraphNeighbors;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <b>Graph</b> is a collection of nodes and directed edges, where each edge connects two nodes. A directed edge
@@ -22,6 +28,19 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
     // then e1.getEdgeData != e2.getEdgeData. No two edges can have equal fields.
     // For every node "n" in graphMap.keySet(), they must point to a List<Edge> "lst" s.t. all Edges "e" in lst
     // must satisfy e.from() == n and e.to() != n.
+    // incomingMap.keySet() == graphMap.keySet(), and for every node "n", incomingMap.get(n) holds exactly the
+    // edges "e" of the other nodes' lists with e.to() == n.
+    // edgeIndex.keySet() == graphMap.keySet(), and for every node "n", edgeIndex.get(n) maps exactly the
+    // edges of graphMap.get(n) that are not removed to themselves.
+    // An edge "e" that is removed (a tombstone) may stay in graphMap.get(e.from()) and incomingMap.get(e.to()) until
+    // the next compaction, and then dirty contains every node whose lists hold such an edge.
+    // edgeCount == the sum of edgeIndex.get(n).size() over all nodes "n", and tombstones >= 0.
+    // nodeIndex holds exactly the nodes of graphMap.keySet(), outgoingById.size() == nodeIndex.idBound(), and
+    // outgoingById.get(i) == graphMap.get(nodeIndex.nodeAt(i)) for every live id "i", else null.
+    // Every edge "e" in the lists has e.fromId() == nodeIndex.idOf(e.from()), and e.toId() == nodeIndex.idOf(e.to())
+    // unless e is removed.
+    // components is null, or it holds exactly the live ids of nodeIndex and partitions them into the weakly
+    // connected components of the live edges.
 
 
 
@@ -30,12 +49,64 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
 
     private final Map<N, List<Edge>> graphMap;
 
+    // reverse index of graphMap, every node maps to the list of edges pointing towards it
+    private final Map<N, List<Edge>> incomingMap;
+
+    // hash index of graphMap, every node maps its live outgoing edges, which are unique by (to, data), to themselves
+    private final Map<N, Map<Edge, Edge>> edgeIndex;
+
+    // dense ids of the nodes, and the outgoing list of every node by id
+    private final NodeIndex<N> nodeIndex;
+    private final List<List<Edge>> outgoingById;
+
+    // weakly connected components by id, kept up to date as the graph grows, or null until the next query after
+    // a removal, which may split a component
+    private Connectivity components;
+
+    // nodes whose outgoing or incoming lists still hold removed edges
+    private final Set<N> dirty;
+
+    // edges removed since the last compaction, and live edges in the graph
+    private int tombstones;
+    private int edgeCount;
+
+    // lists are compacted once tombstones exceed both this and a quarter of the live edges
+    private static final int MIN_COMPACTION = 64;
+
+    // the number of changes made since construction, and who is told about them
+    private long version;
+    private final List<GraphListener<N, E>> listeners;
+
+    // how much of the representation invariant is checked after each mutation
+    private final VerificationMode verification;
+
 
     /**
-     * @spec.effects Constructs a new empty Graph
+     * @spec.effects Constructs a new empty Graph, verified according to VerificationMode.fromSystemProperty()
      */
     public Graph() {
+        this(VerificationMode.fromSystemProperty());
+    }
+
+    /**
+     * @param verification how much of the representation invariant to check after each mutation
+     * @spec.requires verification != null
+     * @spec.effects Constructs a new empty Graph
+     */
+    public Graph(VerificationMode verification) {
+        if (verification == null) { throw new IllegalArgumentException("No null arguments"); }
         graphMap = new HashMap<>();
+        incomingMap = new HashMap<>();
+        edgeIndex = new HashMap<>();
+        nodeIndex = new NodeIndex<>();
+        outgoingById = new ArrayList<>();
+        components = new Connectivity(0);
+        dirty = new HashSet<>();
+        tombstones = 0;
+        edgeCount = 0;
+        version = 0;
+        listeners = new CopyOnWriteArrayList<>();
+        this.verification = verification;
     }
 
     /**
@@ -47,73 +118,162 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
         this();
         for (N nodeData : nodes) {
             if (nodeData != null) {
-                graphMap.put(nodeData, new ArrayList<>());
+                insertNodeUnchecked(nodeData);
             }
         }
     }
 
     /**
      * @param nodeName The data stored in the node
-     * @return the Set of all edges pointing towards the parameter node
+     * @return an unmodifiable list of all edges pointing towards the parameter node, in O(1) time unless edges
+     * of the node were removed since the last compaction. The list is only valid until the next mutation.
      * @spec.requires nodeName != null
      */
     public List<Edge> incomingEdgesTo(N nodeName) {
         if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
 
-        List<Edge> edges = new ArrayList<>();
-        for (N keyNode : graphMap.keySet()) {
-            if (keyNode.equals(nodeName)) { continue; }
-
-            for (Edge edge: graphMap.get(keyNode)) {
-                if (edge.to().equals(nodeName)) {
-                    edges.add(edge);
-                }
-            }
+        List<Edge> edges = incomingMap.get(nodeName);
+        if (edges == null) {
+            return Collections.emptyList();
         }
-        checkRep();
-        return edges;
+        return liveView(nodeName, edges);
     }
 
 
     /**
      * @param nodeName The data stored in the node
-     * @return the Set of all edges pointing outward from the parameter node
+     * @return an unmodifiable list of all edges pointing outward from the parameter node. The list is only valid
+     * until the next mutation.
      * @spec.requires nodeName != null
      */
     public List<Edge> outgoingEdgesFrom(N nodeName) {
         if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
-        return Collections.unmodifiableList(graphMap.get(nodeName));
+        return liveView(nodeName, Objects.requireNonNull(graphMap.get(nodeName)));
+    }
+
+    // returns an unmodifiable view of edges, the outgoing or incoming list of node, without its removed edges
+    private List<Edge> liveView(N node, List<Edge> edges) {
+        if (!dirty.contains(node)) {
+            return Collections.unmodifiableList(edges);
+        }
+        List<Edge> live = new ArrayList<>(edges.size());
+        for (Edge e : edges) {
+            if (!e.removed) {
+                live.add(e);
+            }
+        }
+        return Collections.unmodifiableList(live);
     }
 
 
     /**
      * @param nodeName The data stored in the node
-     * @return the Set of all nodes with edges pointing from those nodes to this node containing nodeName
+     * @param action   called once with every edge pointing outward from the parameter node, in insertion order
+     * @spec.requires nodeName != null, action != null and the graph contains nodeName
+     * @spec.effects walks the outgoing edges of nodeName without allocating any iterator, set or edge wrapper
+     */
+    public void forEachOutgoing(N nodeName, Consumer<? super Edge> action) {
+        if (nodeName == null || action == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<Edge> edges = graphMap.get(nodeName);
+        if (edges == null) { throw new IllegalArgumentException("Node is not in the graph"); }
+        for (int i = 0; i < edges.size(); i++) {
+            Edge e = edges.get(i);
+            if (!e.removed) {
+                action.accept(e);
+            }
+        }
+    }
+
+    /**
+     * @param id the id of a node, from nodeIndex()
+     * @param visitor called once with the target id and data of every edge pointing outward from the node, in
+     *                insertion order
+     * @spec.requires visitor != null and nodeIndex().isLive(id)
+     * @spec.effects walks the outgoing edges of the node without hashing any node or allocating
+     */
+    public void forEachOutgoing(int id, IdEdgeVisitor<? super E> visitor) {
+        if (visitor == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<Edge> edges = nodeIndex.isLive(id) ? outgoingById.get(id) : null;
+        if (edges == null) { throw new IllegalArgumentException("Node is not in the graph"); }
+        for (int i = 0; i < edges.size(); i++) {
+            Edge e = edges.get(i);
+            if (!e.removed) {
+                visitor.visit(e.toId, e.data);
+            }
+        }
+    }
+
+    /**
+     * @return the dense ids of the nodes in this graph. The index is updated as nodes are added and removed.
+     */
+    public NodeIndex<N> nodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the number of edges pointing outward from the parameter node
+     * @spec.requires nodeName != null and the graph contains nodeName
+     */
+    public int outDegree(N nodeName) {
+        if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
+        Map<Edge, Edge> edges = edgeIndex.get(nodeName);
+        if (edges == null) { throw new IllegalArgumentException("Node is not in the graph"); }
+        return edges.size();
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of all nodes with edges pointing from those nodes to this node containing nodeName, in
+     * O(in-degree) time
      * @spec.requires nodeName != null
      */
     public Set<N> getParents(N nodeName) {
         if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
 
+        List<Edge> edges = incomingMap.get(nodeName);
+        if (edges == null) {
+            return new HashSet<>();
+        }
         Set<N> parents = new HashSet<>();
-        for (Edge e : incomingEdgesTo(nodeName)) {
-            parents.add(e.from());
+        for (Edge e : edges) {
+            if (!e.removed) {
+                parents.add(e.from());
+            }
         }
-        checkRep();
         return parents;
     }
 
 
     /**
-     * @return the Set of all edges in the graph
+     * @return the Set of all edges in the graph. This copies every edge into a new set, so walks over all edges
+     * use edges() instead.
      */
     public Set<Edge> allEdges() {
         Set<Edge> edges = new HashSet<>();
-        for (N node : graphMap.keySet()) {
-            edges.addAll(graphMap.get(node));
+        for (Map<Edge, Edge> index : edgeIndex.values()) {
+            edges.addAll(index.keySet());
         }
         return edges;
     }
 
+    /**
+     * @return a lazy stream over every edge in the graph, grouped by source node in id order. Nothing is copied:
+     * the stream reads the adjacency lists as it goes, and a parallel stream splits the work across nodes. The
+     * graph must not be mutated until the stream is consumed.
+     */
+    public Stream<Edge> edges() {
+        return StreamSupport.stream(edgeSpliterator(), false);
+    }
+
+    /**
+     * @return a lazy, splittable Spliterator over every edge in the graph, in the order of edges(). It is SIZED
+     * before its first split, and splits by ranges of node ids. The graph must not be mutated during traversal.
+     */
+    public Spliterator<Edge> edgeSpliterator() {
+        return new EdgeSpliterator(0, outgoingById.size(), 0, edgeCount, true);
+    }
+
     /**
      * @return the Set of all nodes in the graph
      */
@@ -129,9 +289,13 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
     public void addNode(N nodeData) {
         if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
         if (!this.containsNode(nodeData)) {
-            graphMap.put(nodeData, new ArrayList<>());
+            insertNodeUnchecked(nodeData);
+            version++;
+            for (GraphListener<N, E> listener : listeners) {
+                listener.nodeAdded(version, nodeData);
+            }
         }
-        checkRep();
+        checkNode(nodeData);
     }
 
 
@@ -141,18 +305,272 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
      * @param edgeData the data held within the edge
      * @spec.requires fromNode, toNode, edgeData != null and graph contains both fromNode and toNode and there cannot
      * already exist an edge from 'fromNode' to 'toNode' that has the same edgeData.
+     * @throws IllegalArgumentException if the graph does not contain fromNode or toNode, and then the graph is
+     * left unchanged
      * @spec.effects Creates a new edge containing edgeData that connects fromNode to toNode.
      */
 
     public void addEdge(N fromNode, N toNode, E edgeData) {
-        checkRep();
         if (fromNode == null || toNode == null || edgeData == null) {
             throw new NullPointerException();
         }
-        if (!containsEdge(fromNode, toNode, edgeData)) {
-            Edge e = new Edge(fromNode, toNode, edgeData);
+        if (!containsNode(fromNode) || !containsNode(toNode)) {
+            throw new IllegalArgumentException("Node is not in the graph");
+        }
+        Edge e = new Edge(fromNode, toNode, edgeData);
+        Map<Edge, Edge> index = edgeIndex.get(fromNode);
+        if (!index.containsKey(e)) {
+            e.fromId = nodeIndex.idOf(fromNode);
+            e.toId = nodeIndex.idOf(toNode);
+            index.put(e, e);
             graphMap.get(fromNode).add(e);
-            checkRep();
+            // self loops are not reported as incoming edges of their own node
+            if (!fromNode.equals(toNode)) {
+                incomingMap.get(toNode).add(e);
+            }
+            edgeCount++;
+            if (components != null) {
+                components.union(e.fromId, e.toId);
+            }
+            checkEdge(e);
+            fireEdge(e, true);
+        }
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param edgeData the data held within the edge
+     * @return true if the edge was removed, false if the graph did not contain it
+     * @spec.requires fromNode, toNode, edgeData != null
+     * @spec.effects Removes the edge containing edgeData that connects fromNode to toNode in O(1) time, by
+     * marking it as a tombstone that every query skips until the lists holding it are compacted. A removal may
+     * split a component, so the components are recomputed lazily, by the next connected or componentCount.
+     */
+    public boolean removeEdge(N fromNode, N toNode, E edgeData) {
+        if (fromNode == null || toNode == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        Map<Edge, Edge> index = edgeIndex.get(fromNode);
+        if (index == null) {
+            return false;
+        }
+        Edge e = index.remove(new Edge(fromNode, toNode, edgeData));
+        if (e == null) {
+            return false;
+        }
+        tombstone(e);
+        components = null;
+        checkRemoved(fromNode, toNode);
+        compactIfNeeded();
+        fireEdge(e, false);
+        return true;
+    }
+
+    /**
+     * @param nodeData the node to remove
+     * @return true if the node was removed, false if the graph did not contain it
+     * @spec.requires nodeData != null
+     * @spec.effects Removes nodeData and every edge pointing from or to it, in time proportional to its degree.
+     * The components are recomputed lazily, by the next connected or componentCount.
+     */
+    public boolean removeNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        Map<Edge, Edge> index = edgeIndex.get(nodeData);
+        if (index == null) {
+            return false;
+        }
+        List<Edge> removed = new ArrayList<>();
+        for (Edge e : index.keySet()) {
+            tombstone(e);
+            removed.add(e);
+        }
+        for (Edge e : incomingMap.get(nodeData)) {
+            if (!e.removed) {
+                edgeIndex.get(e.from()).remove(e);
+                tombstone(e);
+                removed.add(e);
+            }
+        }
+        outgoingById.set(nodeIndex.remove(nodeData), null);
+        graphMap.remove(nodeData);
+        incomingMap.remove(nodeData);
+        edgeIndex.remove(nodeData);
+        dirty.remove(nodeData);
+        components = null;
+        checkRemoved(null, null);
+        compactIfNeeded();
+        // the edges go first, so a listener never sees an edge whose endpoint is already gone
+        for (Edge e : removed) {
+            fireEdge(e, false);
+        }
+        version++;
+        for (GraphListener<N, E> listener : listeners) {
+            listener.nodeRemoved(version, nodeData);
+        }
+        return true;
+    }
+
+    /**
+     * @spec.effects Drops every removed edge from the lists still holding it, in time proportional to the size
+     * of those lists. This runs automatically once removed edges pile up, and can be called to do it eagerly.
+     */
+    public void compact() {
+        for (N node : dirty) {
+            graphMap.get(node).removeIf(e -> e.removed);
+            incomingMap.get(node).removeIf(e -> e.removed);
+        }
+        dirty.clear();
+        tombstones = 0;
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return the number of nodes and edges added to or removed from the graph since it was constructed, by
+     * addNode, addEdge, removeEdge and removeNode. A graph made by a GraphBuilder starts at version 0, and
+     * compaction does not change the version. Two equal versions of the same graph hold the same nodes and edges.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @param listener the listener to register
+     * @spec.requires listener != null
+     * @spec.effects listener is told about every later change to the graph, in order, after the change is
+     * complete. Registering a listener twice makes it hear every change twice.
+     */
+    public void addListener(GraphListener<N, E> listener) {
+        if (listener == null) { throw new IllegalArgumentException("No null arguments"); }
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener the listener to unregister
+     * @return true if listener was registered, false otherwise
+     * @spec.requires listener != null
+     * @spec.effects listener is no longer told about changes to the graph
+     */
+    public boolean removeListener(GraphListener<N, E> listener) {
+        if (listener == null) { throw new IllegalArgumentException("No null arguments"); }
+        return listeners.remove(listener);
+    }
+
+    /**
+     * @param a a node
+     * @param b another node
+     * @return true if the graph contains both nodes and they are in the same weakly connected component, in
+     * O(log nodes) time. Else false, and then there is no path between them in either direction. The first query
+     * after a removal recomputes the components in O(nodes + edges) time.
+     * @spec.requires a, b != null
+     */
+    public boolean connected(N a, N b) {
+        if (a == null || b == null) { throw new IllegalArgumentException("No null arguments"); }
+        int idA = nodeIndex.idOf(a);
+        int idB = nodeIndex.idOf(b);
+        return idA >= 0 && idB >= 0 && components().connected(idA, idB);
+    }
+
+    /**
+     * @return the number of weakly connected components of the graph. The first query after a removal recomputes
+     * the components in O(nodes + edges) time.
+     */
+    public int componentCount() {
+        return components().componentCount();
+    }
+
+    // returns the component index, recomputing it from the live edges if a removal made it stale
+    private Connectivity components() {
+        if (components == null) {
+            Connectivity rebuilt = new Connectivity(nodeIndex.idBound());
+            for (int id = 0; id < nodeIndex.idBound(); id++) {
+                if (nodeIndex.isLive(id)) {
+                    rebuilt.add(id);
+                }
+            }
+            for (List<Edge> edges : outgoingById) {
+                if (edges != null) {
+                    for (Edge e : edges) {
+                        if (!e.removed) {
+                            rebuilt.union(e.fromId, e.toId);
+                        }
+                    }
+                }
+            }
+            components = rebuilt;
+        }
+        return components;
+    }
+
+    // counts a change to e, then tells every listener that e was added if added is true, or removed if not
+    private void fireEdge(Edge e, boolean added) {
+        version++;
+        for (GraphListener<N, E> listener : listeners) {
+            if (added) {
+                listener.edgeAdded(version, e.from(), e.to(), e.getEdgeData());
+            } else {
+                listener.edgeRemoved(version, e.from(), e.to(), e.getEdgeData());
+            }
+        }
+    }
+
+    // marks e as removed, after it was taken out of the edge index
+    private void tombstone(Edge e) {
+        e.removed = true;
+        dirty.add(e.from());
+        dirty.add(e.to());
+        tombstones++;
+        edgeCount--;
+    }
+
+    // compacts the edge lists once tombstones are a large enough share of the graph to make it pay off
+    private void compactIfNeeded() {
+        if (tombstones > Math.max(MIN_COMPACTION, edgeCount / 4)) {
+            compact();
+        }
+    }
+
+    // inserts nodeData without checking the representation invariant, for GraphBuilder
+    // spec.requires nodeData != null and !containsNode(nodeData)
+    void insertNodeUnchecked(N nodeData) {
+        List<Edge> outgoing = new ArrayList<>();
+        graphMap.put(nodeData, outgoing);
+        int id = nodeIndex.add(nodeData);
+        outgoingById.add(outgoing);
+        if (components != null) {
+            components.add(id);
+        }
+        incomingMap.put(nodeData, new ArrayList<>());
+        edgeIndex.put(nodeData, new HashMap<>());
+    }
+
+    // inserts an edge without searching for duplicates or checking the representation invariant, for GraphBuilder
+    // spec.requires fromNode, toNode, edgeData != null, the graph contains both nodes and not the edge
+    void insertEdgeUnchecked(N fromNode, N toNode, E edgeData) {
+        Edge e = new Edge(fromNode, toNode, edgeData);
+        e.fromId = nodeIndex.idOf(fromNode);
+        e.toId = nodeIndex.idOf(toNode);
+        graphMap.get(fromNode).add(e);
+        edgeIndex.get(fromNode).put(e, e);
+        if (!fromNode.equals(toNode)) {
+            incomingMap.get(toNode).add(e);
+        }
+        edgeCount++;
+        if (components != null) {
+            components.union(e.fromId, e.toId);
+        }
+    }
+
+    // checks the whole representation invariant once unless verification is OFF, for GraphBuilder
+    void verify() {
+        if (verification != VerificationMode.OFF) {
+            checkAll();
         }
     }
 
@@ -163,15 +581,7 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
      */
     public boolean containsNode(N nodeData) {
         if (nodeData == null) { throw new IllegalArgumentException(); }
-        if (graphMap.containsKey(nodeData)) {
-            return true;
-        }
-        for (N node : graphMap.keySet()) {
-            if (node.equals(nodeData)) {
-                return true;
-            }
-        }
-        return false;
+        return graphMap.containsKey(nodeData);
     }
 
     /**
@@ -183,7 +593,6 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
      * @spec.requires fromNode, toNode, edgeData != null
      */
     public boolean containsEdge(N fromNode, N toNode, E edgeData) {
-        checkRep();
         if (edgeData == null) {
             throw new IllegalArgumentException("Non-null parameters only");
         }
@@ -192,14 +601,8 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
             return false;
         }
 
-        List<Edge> lst = graphMap.get(fromNode);
-        if (lst == null) { return false; }
-        for (Edge e : lst) {
-            if (e.getEdgeData().equals(edgeData) && e.from().equals(fromNode) && e.to().equals(toNode)) {
-                return true;
-            }
-        }
-        return false;
+        Map<Edge, Edge> index = edgeIndex.get(fromNode);
+        return index != null && index.containsKey(new Edge(fromNode, toNode, edgeData));
     }
 
 
@@ -210,35 +613,114 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
         return graphMap.isEmpty();
     }
 
-    // checks whether the Graph is maintaining its representation invariant
-    private void checkRep() {
-        // all nodes are unique AND edges in a node list point FROM it, not TO it.
-        boolean DEBUG = true;
-        if (!DEBUG) {
-            return;
+    /**
+     * @param weightOf converts the data of an edge into its weight
+     * @return an immutable compressed sparse row snapshot of the current nodes and edges of this graph
+     * @spec.requires weightOf != null
+     */
+    public FrozenGraph<N> freeze(ToDoubleFunction<? super E> weightOf) {
+        return FrozenGraph.of(this, weightOf);
+    }
+
+    /**
+     * @param nodeFilter the nodes to keep
+     * @param edgeFilter the edges to keep
+     * @return a live view of this graph that hides the nodes and edges failing the filters, without copying any
+     * of them
+     * @spec.requires nodeFilter, edgeFilter != null
+     */
+    public FilteredGraph<N, E> filter(Predicate<? super N> nodeFilter,
+                                      Predicate<? super GraphNeighbors.Edge<N, E>> edgeFilter) {
+        return new FilteredGraph<>(this, nodeFilter, edgeFilter);
+    }
+
+    /**
+     * @return how much of the representation invariant this graph checks after each mutation
+     */
+    public VerificationMode verificationMode() {
+        return verification;
+    }
+
+    // checks the representation invariant after node n was touched, as far as the verification mode asks for
+    private void checkNode(N n) {
+        if (verification == VerificationMode.FULL) {
+            checkAll();
+        } else if (verification == VerificationMode.INCREMENTAL) {
+            checkLists(n);
         }
+    }
 
+    // checks the representation invariant after edge e was added, as far as the verification mode asks for
+    private void checkEdge(Edge e) {
+        if (verification == VerificationMode.FULL) {
+            checkAll();
+        } else if (verification == VerificationMode.INCREMENTAL) {
+            checkLists(e.from());
+            checkLists(e.to());
+            assert edgeIndex.get(e.from()).get(e) == e;
+        }
+    }
+
+    // checks the representation invariant after an edge between the given nodes, or a node if they are null, was
+    // removed, as far as the verification mode asks for
+    private void checkRemoved(N from, N to) {
+        if (verification == VerificationMode.FULL) {
+            checkAll();
+        } else if (verification == VerificationMode.INCREMENTAL && from != null) {
+            checkLists(from);
+            checkLists(to);
+        }
+    }
+
+    // checks that the outgoing and incoming edge lists of node n agree with the representation invariant
+    private void checkLists(N n) {
+        assert graphMap.get(n) != null;
+        assert incomingMap.get(n) != null;
+        assert edgeIndex.get(n) != null;
+        assert outgoingById.get(nodeIndex.idOf(n)) == graphMap.get(n);
+        // every live edge is in the hash index, which has as many elements, so there are no duplicates
+        int live = 0;
+        for (Edge e : graphMap.get(n)) {
+            assert e.from().equals(n);
+            assert e.fromId == nodeIndex.idOf(n);
+            if (e.removed) {
+                assert dirty.contains(n);
+            } else {
+                assert edgeIndex.get(n).get(e) == e;
+                assert e.toId == nodeIndex.idOf(e.to());
+                live++;
+            }
+        }
+        assert live == edgeIndex.get(n).size();
+        for (Edge e : incomingMap.get(n)) {
+            assert e.to().equals(n) && !e.from().equals(n);
+            assert !e.removed || dirty.contains(n);
+        }
+    }
+
+    // checks whether the whole Graph is maintaining its representation invariant
+    private void checkAll() {
+        // all nodes are unique AND edges in a node list point FROM it, not TO it.
         Set<N> nodeNames = new HashSet<>();
+        int live = 0;
         for (N n : allNodes()){
             assert !nodeNames.contains(n);
-            assert graphMap.get(n) != null;
-            for (Edge e : graphMap.get(n)) {
-                assert e.from().equals(n);
-            }
+            checkLists(n);
+            live += edgeIndex.get(n).size();
             nodeNames.add(n);
         }
-        // duplicate edge checks
-        Set<Edge> edges = new HashSet<>();
-        for (Edge e : allEdges()) {
-            assert !edges.contains(e);
-            edges.add(e);
-        }
+        assert live == edgeCount;
+        assert tombstones >= 0;
+        assert nodeIndex.size() == graphMap.size();
+        assert outgoingById.size() == nodeIndex.idBound();
+        assert components == null || components.componentCount() <= nodeIndex.size();
     }
 
 
     /**
      * @param nodeName The data stored in the node
-     * @return the Set of all edges pointing outward from the parameter node
+     * @return the Set of all edges pointing outward from the parameter node. This builds a new set and wrapper
+     * edges on every call, so walks that should not allocate use forEachOutgoing instead.
      * @spec.requires nodeName != null
      */
     @Override
@@ -247,7 +729,7 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
 
         if (nodeName != null) {
             Set<GraphNeighbors.Edge<N, E>> edgeSet = new HashSet<>();
-            for (Edge e : graphMap.get(nodeName)) {
+            for (Edge e : edgeIndex.get(nodeName).keySet()) {
                 GraphNeighbors.Edge<N, E> edge = new GraphNeighbors.Edge<>(e.from(), e.to(), e.getEdgeData());
                 edgeSet.add(edge);
             }
@@ -258,6 +740,104 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
 
 
 
+    /**
+     * <b>EdgeSpliterator</b> walks the outgoing lists of the node ids in [id, end), starting at position pos of the
+     * list of id, and skips removed edges.
+     */
+    private final class EdgeSpliterator implements Spliterator<Edge> {
+
+        private int id;
+        private final int end;
+        private int pos;
+        // the number of edges left when exact, else an estimate of it
+        private long remaining;
+        private boolean exact;
+
+        private EdgeSpliterator(int id, int end, int pos, long remaining, boolean exact) {
+            this.id = id;
+            this.end = end;
+            this.pos = pos;
+            this.remaining = remaining;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Edge> action) {
+            if (action == null) { throw new NullPointerException(); }
+            while (id < end) {
+                List<Edge> edges = outgoingById.get(id);
+                while (edges != null && pos < edges.size()) {
+                    Edge e = edges.get(pos++);
+                    if (!e.removed) {
+                        remaining--;
+                        action.accept(e);
+                        return true;
+                    }
+                }
+                id++;
+                pos = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Edge> action) {
+            if (action == null) { throw new NullPointerException(); }
+            for (; id < end; id++, pos = 0) {
+                List<Edge> edges = outgoingById.get(id);
+                if (edges == null) {
+                    continue;
+                }
+                for (; pos < edges.size(); pos++) {
+                    Edge e = edges.get(pos);
+                    if (!e.removed) {
+                        action.accept(e);
+                    }
+                }
+            }
+            remaining = 0;
+        }
+
+        @Override
+        public Spliterator<Edge> trySplit() {
+            int middle = (id + end) >>> 1;
+            if (middle <= id) {
+                return null;
+            }
+            // the prefix takes the ids before middle, and both halves guess half of the edges left
+            long half = Math.max(remaining, 0) >>> 1;
+            EdgeSpliterator prefix = new EdgeSpliterator(id, middle, pos, half, false);
+            id = middle;
+            pos = 0;
+            remaining -= half;
+            exact = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(remaining, 0);
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.ORDERED | Spliterator.DISTINCT
+                    | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Receives the outgoing edges of a node by id, without any edge object.
+     */
+    public interface IdEdgeVisitor<E> {
+
+        /**
+         * @param to   the id of the node the edge points towards
+         * @param data the data held within the edge
+         */
+        void visit(int to, E data);
+    }
+
     /** * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      * <b>Edge</b> will represent a connection between two Nodes and holds data in a String
      */
@@ -265,7 +845,14 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
 
         private final N from;
         private final N to;
-        private E data;
+        private final E data;
+
+        // set once the edge is removed from its graph, after which it is a tombstone that queries skip
+        private boolean removed;
+
+        // ids of the endpoints in the node index, set when the edge is added to the graph
+        private int fromId = -1;
+        private int toId = -1;
 
         // Abstraction Function:
         // Edge e represents both ends of the connection s.t. e.from is the node where the edge points out from
@@ -309,16 +896,50 @@ public class Graph<N, E> implements GraphNeighbors<N, E> {
             return data;
         }
 
+        /**
+         * @return the id of the Node that the edge is pointing outward from, or -1 if the edge was never added to
+         * the graph
+         */
+        public int fromId() {
+            return fromId;
+        }
+
+        /**
+         * @return the id of the Node that the edge is directly pointed towards, or -1 if the edge was never added
+         * to the graph
+         */
+        public int toId() {
+            return toId;
+        }
+
+
+        /**
+         * @param obj, representing the edge being checked with if equal
+         * @return true if obj is an Edge and the edgeData, to Node node-data and from Node node-data between both
+         * edges are equals. Else, false.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Graph.Edge)) {
+                return false;
+            }
+            Graph<?, ?>.Edge otherEdge = (Graph<?, ?>.Edge) obj;
+            return this.data.equals(otherEdge.data) && this.to.equals(otherEdge.to) &&
+                    this.from.equals(otherEdge.from);
+        }
 
         /**
-         * @param otherEdge, representing the edge being checked with if equal
-         * @spec.requires otherEdge != null
-         * @return true if the edgeData, to Node node-data and from Node node-data between both edges are
-         * equals. Else, false.
+         * @return the hashcode of the edge, consistent with equals
          */
-        public boolean equals(Edge otherEdge) {
-            return this.data == otherEdge.data && this.to == otherEdge.to &&
-                    this.from == otherEdge.from;
+        @Override
+        public int hashCode() {
+            int result = from.hashCode();
+            result = (31 * result) + to.hashCode();
+            result = (31 * result) + data.hashCode();
+            return result;
         }
 
         // checks representation invariant by ensuring that from and to != null and that from and to aren't pointing at
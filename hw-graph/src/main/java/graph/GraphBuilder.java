@@ -0,0 +1,247 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <b>GraphBuilder</b> collects nodes and edges in bulk and turns them into a Graph in a single pass. Duplicate
+ * nodes and edges are dropped through hash lookups while they are added, and the representation invariant of the
+ * resulting Graph is checked once in build() instead of after every insertion, so loading N edges costs O(N).
+ */
+public class GraphBuilder<N, E> {
+
+    // AF(this) = the Graph that build() would return, whose nodes are the elements of nodes in insertion order,
+    // and whose edges are the elements of edges in insertion order.
+
+    // Representation Invariant:
+    // nodes, edges != null, and they contain no null elements.
+    // For every EdgeKey k in edges, nodes contains k.from and k.to.
+
+    private final Set<N> nodes;
+    private final Set<EdgeKey<N, E>> edges;
+    private final VerificationMode verification;
+
+    /**
+     * @spec.effects Constructs a new GraphBuilder with no nodes and no edges, whose graphs are verified according
+     * to VerificationMode.fromSystemProperty()
+     */
+    public GraphBuilder() {
+        this(VerificationMode.fromSystemProperty());
+    }
+
+    /**
+     * @param verification the verification mode of the graphs built
+     * @spec.requires verification != null
+     * @spec.effects Constructs a new GraphBuilder with no nodes and no edges
+     */
+    public GraphBuilder(VerificationMode verification) {
+        if (verification == null) { throw new IllegalArgumentException("No null arguments"); }
+        nodes = new LinkedHashSet<>();
+        edges = new LinkedHashSet<>();
+        this.verification = verification;
+    }
+
+    /**
+     * @param nodeData the data of the node to add
+     * @return this builder
+     * @spec.requires nodeData != null
+     * @spec.effects adds nodeData to the graph being built if it is not there already
+     */
+    public GraphBuilder<N, E> addNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        nodes.add(nodeData);
+        return this;
+    }
+
+    /**
+     * @param nodeData the data of the nodes to add
+     * @return this builder
+     * @spec.requires nodeData != null and it contains no null elements
+     * @spec.effects adds every element of nodeData to the graph being built if it is not there already
+     */
+    public GraphBuilder<N, E> addNodes(Collection<? extends N> nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        for (N node : nodeData) {
+            addNode(node);
+        }
+        return this;
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param edgeData the data held within the edge
+     * @return this builder
+     * @spec.requires fromNode, toNode, edgeData != null
+     * @spec.effects adds both nodes if they are missing, then adds an edge containing edgeData from fromNode to
+     * toNode if the builder does not hold an equal edge already
+     */
+    public GraphBuilder<N, E> addEdge(N fromNode, N toNode, E edgeData) {
+        if (fromNode == null || toNode == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        nodes.add(fromNode);
+        nodes.add(toNode);
+        edges.add(new EdgeKey<>(fromNode, toNode, edgeData));
+        return this;
+    }
+
+    /**
+     * @param rows the records to turn into edges
+     * @param fromNode extracts the node an edge starts from out of a record
+     * @param toNode extracts the node an edge points to out of a record
+     * @param edgeData extracts the data held within an edge out of a record
+     * @param <T> the type of the records
+     * @return this builder
+     * @spec.requires no argument is null, and no extractor returns null
+     * @spec.effects calls addEdge once for every record in rows, in iteration order
+     */
+    public <T> GraphBuilder<N, E> addEdges(Iterable<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                                           Function<? super T, ? extends N> toNode,
+                                           Function<? super T, ? extends E> edgeData) {
+        if (rows == null || fromNode == null || toNode == null || edgeData == null) {
+            throw new IllegalArgumentException("Non-null parameters only");
+        }
+        for (T row : rows) {
+            addEdge(fromNode.apply(row), toNode.apply(row), edgeData.apply(row));
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of distinct nodes added so far
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of distinct edges added so far
+     */
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * @return a new Graph holding every node and edge added to this builder, with the representation invariant
+     * checked once unless the verification mode is OFF
+     */
+    public Graph<N, E> build() {
+        Graph<N, E> graph = new Graph<>(verification);
+        for (N node : nodes) {
+            graph.insertNodeUnchecked(node);
+        }
+        for (EdgeKey<N, E> edge : edges) {
+            graph.insertEdgeUnchecked(edge.from, edge.to, edge.data);
+        }
+        graph.verify();
+        return graph;
+    }
+
+    /**
+     * @param weightOf converts the data of an edge into its weight
+     * @return an immutable compressed sparse row snapshot of every node and edge added to this builder, built
+     * straight from them without a Graph in between, whose ids follow the order the nodes were added and whose
+     * edges out of each node follow the order they were added
+     * @spec.requires weightOf != null
+     */
+    public FrozenGraph<N> freeze(ToDoubleFunction<? super E> weightOf) {
+        if (weightOf == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<N> nodeList = new ArrayList<>(nodes);
+        Map<N, Integer> ids = new HashMap<>();
+        for (N node : nodeList) {
+            ids.put(node, ids.size());
+        }
+        int[] offsets = new int[nodeList.size() + 1];
+        for (EdgeKey<N, E> edge : edges) {
+            offsets[ids.get(edge.from) + 1]++;
+        }
+        for (int i = 0; i < nodeList.size(); i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edges.size()];
+        double[] weights = new double[edges.size()];
+        int[] next = Arrays.copyOf(offsets, nodeList.size());
+        for (EdgeKey<N, E> edge : edges) {
+            int e = next[ids.get(edge.from)]++;
+            targets[e] = ids.get(edge.to);
+            weights[e] = weightOf.applyAsDouble(edge.data);
+        }
+        return new FrozenGraph<>(nodeList, ids, offsets, targets, weights);
+    }
+
+    /**
+     * @return true if every edge added has a mirror, an edge pointing the other way that holds equal data, so the
+     * edges can be folded into an UndirectedGraph without losing a direction. Else, false.
+     */
+    public boolean isSymmetric() {
+        for (EdgeKey<N, E> edge : edges) {
+            if (!edges.contains(new EdgeKey<>(edge.to, edge.from, edge.data))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a new UndirectedGraph holding every node added to this builder, and one edge for every pair of
+     * mirror edges, in the order the first edge of each pair was added
+     * @throws IllegalStateException if !isSymmetric()
+     */
+    public UndirectedGraph<N, E> buildUndirected() {
+        if (!isSymmetric()) { throw new IllegalStateException("Some edge has no mirror edge"); }
+        UndirectedGraph<N, E> graph = new UndirectedGraph<>();
+        for (N node : nodes) {
+            graph.insertNodeUnchecked(node);
+        }
+        Set<EdgeKey<N, E>> folded = new HashSet<>();
+        for (EdgeKey<N, E> edge : edges) {
+            // the mirror of an edge already inserted is the same undirected edge
+            if (!folded.contains(edge)) {
+                folded.add(new EdgeKey<>(edge.to, edge.from, edge.data));
+                graph.insertEdgeUnchecked(edge.from, edge.to, edge.data);
+            }
+        }
+        if (verification != VerificationMode.OFF) {
+            graph.verify();
+        }
+        return graph;
+    }
+
+    /**
+     * <b>EdgeKey</b> is the hashable value identity of an edge: its two endpoints and its data.
+     */
+    static final class EdgeKey<N, E> {
+
+        final N from;
+        final N to;
+        final E data;
+
+        EdgeKey(N from, N to, E data) {
+            this.from = from;
+            this.to = to;
+            this.data = data;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EdgeKey)) {
+                return false;
+            }
+            EdgeKey<?, ?> other = (EdgeKey<?, ?>) obj;
+            return from.equals(other.from) && to.equals(other.to) && data.equals(other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = from.hashCode();
+            result = (31 * result) + to.hashCode();
+            result = (31 * result) + data.hashCode();
+            return result;
+        }
+    }
+}
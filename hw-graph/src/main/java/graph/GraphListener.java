@@ -0,0 +1,45 @@
+package graph;
+
+/**
+ * A <b>GraphListener</b> is told about every change made to a Graph it is registered with, after the change is
+ * complete. Every change carries the version the graph reached with it, one more than the version before, so
+ * layers built over a graph (route caches, distance tables, spatial indexes) can drop only the entries touching
+ * the changed nodes and edges, and can tell whether they have missed a change. Every method does nothing unless
+ * overridden.
+ */
+public interface GraphListener<N, E> {
+
+    /**
+     * @param version the version of the graph after the change
+     * @param node the node that was added
+     */
+    default void nodeAdded(long version, N node) {
+    }
+
+    /**
+     * Called after the edges of the node are reported removed.
+     *
+     * @param version the version of the graph after the change
+     * @param node the node that was removed
+     */
+    default void nodeRemoved(long version, N node) {
+    }
+
+    /**
+     * @param version the version of the graph after the change
+     * @param from the node the edge starts from
+     * @param to the node the edge points to
+     * @param data the data held within the edge
+     */
+    default void edgeAdded(long version, N from, N to, E data) {
+    }
+
+    /**
+     * @param version the version of the graph after the change
+     * @param from the node the edge started from
+     * @param to the node the edge pointed to
+     * @param data the data held within the edge
+     */
+    default void edgeRemoved(long version, N from, N to, E data) {
+    }
+}
@@ -0,0 +1,184 @@
+package graph;
+
+import shortestPath.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * <b>HierarchyQuery</b> is a point-to-point least-cost path search over a ContractionHierarchy. It grows one search
+ * forward from the source along edges to more important nodes, and another backward from the target along edges
+ * from more important nodes. Every least-cost path of the base graph has a path of the same cost in the hierarchy
+ * that climbs to its most important node and then descends, so the cheapest node settled by both searches gives the
+ * answer. Each side stops once its smallest key reaches the cost of the best path found, and the path found is
+ * unpacked into the base edges its shortcuts stand for.
+ *
+ * <p>Like Dijkstra, a query engine reuses its arrays across searches, and is not safe for concurrent searches. The
+ * hierarchy itself is never written to, so threads can each search it with their own engine.
+ */
+public final class HierarchyQuery {
+
+    // AF(this) = the result of the last search from source to target: a path of cost best through node meet,
+    // whose upward path from source is kept by dist and parentEdge of side 0, and whose upward path from target,
+    // walked backward, is kept by those of side 1, or no path if meet == -1.
+
+    // Representation Invariant:
+    // hierarchy != null, and dist, parentEdge, reached, frontier each have two entries, one per side, of length
+    // hierarchy.base().nodeCount().
+    // best is the cost of the path through meet if meet != -1.
+
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+
+    private final ContractionHierarchy<?> hierarchy;
+    private final double[][] dist;
+    private final int[][] parentEdge;
+    private final int[][] reached;
+    private final IndexedMinHeap[] frontier;
+    private int generation;
+    private int source;
+    private double best;
+    private int meet;
+    private int settledCount;
+
+    /**
+     * @param hierarchy the hierarchy to search
+     * @spec.requires hierarchy != null
+     * @spec.effects Constructs a new engine over hierarchy that has not searched yet
+     */
+    public HierarchyQuery(ContractionHierarchy<?> hierarchy) {
+        if (hierarchy == null) { throw new IllegalArgumentException("No null arguments"); }
+        this.hierarchy = hierarchy;
+        int n = hierarchy.base().nodeCount();
+        dist = new double[][] {new double[n], new double[n]};
+        parentEdge = new int[][] {new int[n], new int[n]};
+        reached = new int[][] {new int[n], new int[n]};
+        frontier = new IndexedMinHeap[] {new IndexedMinHeap(n), new IndexedMinHeap(n)};
+        generation = 0;
+        source = -1;
+        meet = -1;
+    }
+
+    /**
+     * @param from the id of the node the path starts at
+     * @param to the id of the node the path ends at
+     * @return true if there is a path from "from" to "to". Else, false.
+     * @spec.requires 0 &lt;= from, to &lt; hierarchy.base().nodeCount()
+     * @spec.effects replaces the result of the last search with a least-cost path from "from" to "to"
+     */
+    public boolean search(int from, int to) {
+        int n = hierarchy.base().nodeCount();
+        if (from < 0 || from >= n || to < 0 || to >= n) { throw new IllegalArgumentException("Bad node id"); }
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // stamps wrap around only after billions of searches, and then the arrays are wiped once
+            Arrays.fill(reached[FORWARD], 0);
+            Arrays.fill(reached[BACKWARD], 0);
+            generation = 1;
+        }
+        source = from;
+        best = Double.POSITIVE_INFINITY;
+        meet = -1;
+        settledCount = 0;
+        start(FORWARD, from);
+        start(BACKWARD, to);
+        while (isActive(FORWARD) || isActive(BACKWARD)) {
+            int side;
+            if (!isActive(BACKWARD)) {
+                side = FORWARD;
+            } else if (!isActive(FORWARD)) {
+                side = BACKWARD;
+            } else {
+                side = frontier[FORWARD].minKey() <= frontier[BACKWARD].minKey() ? FORWARD : BACKWARD;
+            }
+            grow(side);
+        }
+        return meet != -1;
+    }
+
+    // puts root alone on the frontier of side
+    private void start(int side, int root) {
+        frontier[side].clear();
+        reached[side][root] = generation;
+        dist[side][root] = 0.0;
+        parentEdge[side][root] = -1;
+        frontier[side].insertOrDecrease(root, 0.0);
+    }
+
+    // returns true if side may still settle a node on a path cheaper than the best found
+    private boolean isActive(int side) {
+        return !frontier[side].isEmpty() && frontier[side].minKey() < best;
+    }
+
+    // settles the closest node of side, checks it as a meeting point, and relaxes its edges up the hierarchy
+    private void grow(int side) {
+        int other = 1 - side;
+        int v = frontier[side].poll();
+        settledCount++;
+        double base = dist[side][v];
+        if (reached[other][v] == generation && base + dist[other][v] < best) {
+            best = base + dist[other][v];
+            meet = v;
+        }
+        int first = side == FORWARD ? hierarchy.upFirst(v) : hierarchy.downFirst(v);
+        int end = side == FORWARD ? hierarchy.upEnd(v) : hierarchy.downEnd(v);
+        for (int slot = first; slot < end; slot++) {
+            int e = side == FORWARD ? hierarchy.upEdge(slot) : hierarchy.downEdge(slot);
+            int w = side == FORWARD ? hierarchy.target(e) : hierarchy.source(e);
+            double d = base + hierarchy.weight(e);
+            if (reached[side][w] != generation || d < dist[side][w]) {
+                reached[side][w] = generation;
+                dist[side][w] = d;
+                parentEdge[side][w] = e;
+                frontier[side].insertOrDecrease(w, d);
+            }
+        }
+    }
+
+    /**
+     * @return the cost of the path the last search found, or positive infinity if it found none
+     */
+    public double distance() {
+        return best;
+    }
+
+    /**
+     * @return the indices of the base edges of the path the last search found, in order from its source to its
+     * target, an empty array if they are the same node, or null if it found no path
+     */
+    public int[] pathEdges() {
+        if (source == -1 || meet == -1) {
+            return null;
+        }
+        int length = 0;
+        for (int v = meet; parentEdge[FORWARD][v] != -1; v = hierarchy.source(parentEdge[FORWARD][v])) {
+            length++;
+        }
+        int[] edges = new int[length];
+        for (int v = meet; parentEdge[FORWARD][v] != -1; v = hierarchy.source(parentEdge[FORWARD][v])) {
+            edges[--length] = parentEdge[FORWARD][v];
+        }
+        int upward = edges.length;
+        for (int v = meet; parentEdge[BACKWARD][v] != -1; v = hierarchy.target(parentEdge[BACKWARD][v])) {
+            length++;
+        }
+        edges = Arrays.copyOf(edges, upward + length);
+        for (int v = meet; parentEdge[BACKWARD][v] != -1; v = hierarchy.target(parentEdge[BACKWARD][v])) {
+            edges[upward++] = parentEdge[BACKWARD][v];
+        }
+        int[] path = new int[0];
+        for (int e : edges) {
+            int[] unpacked = hierarchy.unpack(e);
+            int at = path.length;
+            path = Arrays.copyOf(path, at + unpacked.length);
+            System.arraycopy(unpacked, 0, path, at, unpacked.length);
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of nodes the last search settled on both sides, a measure of the work it did
+     */
+    public int settledCount() {
+        return settledCount;
+    }
+}
@@ -0,0 +1,13 @@
+package graph;
+
+/**
+ * <b>IdNeighborVisitor</b> is a callback receiving the neighbors of a node one at a time, by dense id. CsrGraph
+ * and WeightedGraph both walk their outgoing edges through it, so a search can visit a row without allocating.
+ */
+public interface IdNeighborVisitor {
+    /**
+     * @param to the id of the node the edge points towards
+     * @param weight the weight of the edge
+     */
+    void visit(int to, double weight);
+}
@@ -0,0 +1,156 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>IncomingEdges</b> lists the edges pointing towards every node of a CsrGraph, by the indices the edges have in
+ * the graph, so a search can run backward from a target. If every edge of the graph has a mirror, an edge back
+ * with equal weight, as when every campus path is listed both ways, the edges into a node are the mirrors of the
+ * edges out of it: the index then walks the graph itself and only stores the mirror of each edge. Otherwise it
+ * stores a reversed copy of the graph.
+ */
+public final class IncomingEdges {
+
+    // AF(this) = for every node "v" of graph, the edges edge(s) for s in [first(v), end(v)), each pointing from
+    // source(s) towards v.
+
+    // Representation Invariant:
+    // graph != null, and exactly one of mirror and offsets is null.
+    // If mirror != null: mirror.length == graph.edgeCount(), and for every edge "e" from v to w, mirror[e] is an
+    // edge from w to v with the same weight.
+    // Else: offsets.length == graph.nodeCount() + 1, offsets is non-decreasing from 0 to graph.edgeCount(),
+    // edges.length == sources.length == graph.edgeCount(), and for every s in [offsets[v], offsets[v + 1]),
+    // edges[s] is an edge from sources[s] towards v.
+
+    private final CsrGraph<?> graph;
+    private final int[] mirror;
+    private final int[] offsets;
+    private final int[] edges;
+    private final int[] sources;
+
+    private IncomingEdges(CsrGraph<?> graph, int[] mirror, int[] offsets, int[] edges, int[] sources) {
+        this.graph = graph;
+        this.mirror = mirror;
+        this.offsets = offsets;
+        this.edges = edges;
+        this.sources = sources;
+        checkRep();
+    }
+
+    /**
+     * @param graph the graph to index
+     * @return the edges pointing towards every node of graph, over the graph itself if every edge has a mirror
+     * @spec.requires graph != null
+     */
+    public static IncomingEdges of(CsrGraph<?> graph) {
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        int[] mirror = mirrors(graph);
+        if (mirror != null) {
+            return new IncomingEdges(graph, mirror, null, null, null);
+        }
+        int n = graph.nodeCount();
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            offsets[graph.target(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] edges = new int[graph.edgeCount()];
+        int[] sources = new int[graph.edgeCount()];
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                int slot = next[graph.target(e)]++;
+                edges[slot] = e;
+                sources[slot] = v;
+            }
+        }
+        return new IncomingEdges(graph, null, offsets, edges, sources);
+    }
+
+    // returns the mirror of every edge of graph, or null if some edge has none
+    private static int[] mirrors(CsrGraph<?> graph) {
+        int[] mirror = new int[graph.edgeCount()];
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                int w = graph.target(e);
+                mirror[e] = -1;
+                for (int back = graph.firstEdge(w); back < graph.endEdge(w); back++) {
+                    if (graph.target(back) == v && graph.weight(back) == graph.weight(e)) {
+                        mirror[e] = back;
+                        break;
+                    }
+                }
+                if (mirror[e] == -1) {
+                    return null;
+                }
+            }
+        }
+        return mirror;
+    }
+
+    /**
+     * @return the graph whose incoming edges are listed
+     */
+    public CsrGraph<?> graph() {
+        return graph;
+    }
+
+    /**
+     * @return true if every edge of the graph has a mirror, and the index walks the outgoing edges of the graph.
+     * Else, false.
+     */
+    public boolean isMirrored() {
+        return mirror != null;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the first slot of the edges pointing towards the node
+     * @spec.requires 0 &lt;= id &lt; graph().nodeCount()
+     */
+    public int first(int id) {
+        return mirror != null ? graph.firstEdge(id) : offsets[id];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return one past the last slot of the edges pointing towards the node
+     * @spec.requires 0 &lt;= id &lt; graph().nodeCount()
+     */
+    public int end(int id) {
+        return mirror != null ? graph.endEdge(id) : offsets[id + 1];
+    }
+
+    /**
+     * @param slot a slot of the edges pointing towards some node
+     * @return the index in graph() of the edge in the slot
+     * @spec.requires 0 &lt;= slot &lt; graph().edgeCount()
+     */
+    public int edge(int slot) {
+        return mirror != null ? mirror[slot] : edges[slot];
+    }
+
+    /**
+     * @param slot a slot of the edges pointing towards some node
+     * @return the id of the node the edge in the slot points outward from
+     * @spec.requires 0 &lt;= slot &lt; graph().edgeCount()
+     */
+    public int source(int slot) {
+        return mirror != null ? graph.target(slot) : sources[slot];
+    }
+
+    // checks whether the IncomingEdges is maintaining its representation invariant
+    private void checkRep() {
+        assert graph != null;
+        assert (mirror == null) != (offsets == null);
+        if (mirror != null) {
+            assert mirror.length == graph.edgeCount();
+        } else {
+            assert offsets.length == graph.nodeCount() + 1;
+            assert offsets[graph.nodeCount()] == graph.edgeCount();
+            assert edges.length == graph.edgeCount() && sources.length == graph.edgeCount();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package graph;
+
+import shortestPath.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <b>Landmarks</b> estimates the cost left in a search by the triangle inequality over a few landmark nodes, the
+ * ALT heuristic. For every landmark "L" the distances from L to every node and from every node to L are computed
+ * once, and then d(L, t) - d(L, v) and d(v, L) - d(t, L) are both lower bounds on d(v, t). Unlike the straight line,
+ * the bounds follow the walkways, so they stay tight where paths wind around buildings.
+ *
+ * <p>Landmarks are picked farthest first: each is the node farthest from those already picked, and a node no
+ * landmark reaches counts as farthest, so every part of the graph gets one. The distances are kept in float tables,
+ * half the size of doubles, with every node's entries side by side. Each entry is rounded down as it is computed, so
+ * a table never claims an edge is shorter than it is, and the estimates stay consistent for A*. After the picks,
+ * which each need the distances of the last one, the distances to the landmarks are computed in parallel.
+ */
+public final class Landmarks implements Dijkstra.Heuristic {
+
+    // AF(this) = the ALT heuristic over landmarks[0, landmarks.length), where fromLandmark[v * count + i] is the
+    // distance from landmark i to node v, and toLandmark[v * count + i] the distance from v to landmark i, or
+    // positive infinity if there is no path. Estimates are capped at cap, so they stay finite.
+
+    // Representation Invariant:
+    // landmarks, fromLandmark, toLandmark != null, fromLandmark.length == toLandmark.length ==
+    // nodeCount * landmarks.length, and the landmarks are distinct ids in [0, nodeCount).
+    // For every edge from v to w of weight c and every i: fromLandmark[w * count + i] <= fromLandmark[v * count + i]
+    // + c, and toLandmark[v * count + i] <= toLandmark[w * count + i] + c, with both entries 0 at landmark i itself.
+    // cap is the largest finite entry of either table.
+
+    private final int[] landmarks;
+    private final float[] fromLandmark;
+    private final float[] toLandmark;
+    private final double cap;
+
+    private Landmarks(int[] landmarks, float[] fromLandmark, float[] toLandmark) {
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        float largest = 0f;
+        for (int i = 0; i < fromLandmark.length; i++) {
+            if (fromLandmark[i] != Float.POSITIVE_INFINITY) {
+                largest = Math.max(largest, fromLandmark[i]);
+            }
+            if (toLandmark[i] != Float.POSITIVE_INFINITY) {
+                largest = Math.max(largest, toLandmark[i]);
+            }
+        }
+        cap = largest;
+        checkRep();
+    }
+
+    /**
+     * @param incoming the incoming edges of the graph the heuristic guides searches over
+     * @param count the number of landmarks to pick
+     * @return the ALT heuristic over count landmarks of incoming.graph(), or over every node if it has fewer,
+     * preprocessed on the common pool
+     * @spec.requires incoming != null, count &gt; 0, and the graph has no negative weight
+     */
+    public static Landmarks of(IncomingEdges incoming, int count) {
+        return of(incoming, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param incoming the incoming edges of the graph the heuristic guides searches over
+     * @param count the number of landmarks to pick
+     * @param pool the pool the preprocessing runs on
+     * @return the ALT heuristic over count landmarks of incoming.graph(), or over every node if it has fewer
+     * @spec.requires incoming, pool != null, count &gt; 0, and the graph has no negative weight
+     */
+    public static Landmarks of(IncomingEdges incoming, int count, ForkJoinPool pool) {
+        if (incoming == null || pool == null) { throw new IllegalArgumentException("No null arguments"); }
+        if (count <= 0) { throw new IllegalArgumentException("Need at least one landmark"); }
+        CsrGraph<?> graph = incoming.graph();
+        int n = graph.nodeCount();
+        int k = Math.min(count, n);
+        float[] fromLandmark = new float[n * k];
+        float[] toLandmark = new float[n * k];
+        int[] landmarks = new int[k];
+
+        // the distance from the landmarks picked so far to every node, starting from node 0 as a stand-in
+        double[] nearest = new double[n];
+        if (n > 0) {
+            float[] scratch = new float[n];
+            distances(incoming, 0, true, scratch, 0, 1, new IndexedMinHeap(n));
+            for (int v = 0; v < n; v++) {
+                nearest[v] = scratch[v];
+            }
+        }
+        IndexedMinHeap frontier = new IndexedMinHeap(Math.max(n, 1));
+        for (int i = 0; i < k; i++) {
+            int farthest = 0;
+            for (int v = 1; v < n; v++) {
+                if (nearest[v] > nearest[farthest]) {
+                    farthest = v;
+                }
+            }
+            landmarks[i] = farthest;
+            distances(incoming, farthest, true, fromLandmark, i, k, frontier);
+            if (i == 0) {
+                Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+            }
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], fromLandmark[v * k + i]);
+            }
+            // a landmark is never picked twice, even when every node is reached at distance 0
+            for (int j = 0; j <= i; j++) {
+                nearest[landmarks[j]] = -1;
+            }
+        }
+        pool.invoke(new TableAction(incoming, landmarks, toLandmark, 0, k));
+        return new Landmarks(landmarks, fromLandmark, toLandmark);
+    }
+
+    // writes into column "column" of a table with "width" columns the distances from root to every node if forward,
+    // else from every node to root, each rounded down so the table stays consistent with every edge
+    private static void distances(IncomingEdges incoming, int root, boolean forward, float[] table, int column,
+                                  int width, IndexedMinHeap frontier) {
+        CsrGraph<?> graph = incoming.graph();
+        int n = graph.nodeCount();
+        for (int v = 0; v < n; v++) {
+            table[v * width + column] = Float.POSITIVE_INFINITY;
+        }
+        boolean[] settled = new boolean[n];
+        frontier.clear();
+        table[root * width + column] = 0f;
+        frontier.insertOrDecrease(root, 0.0);
+        while (!frontier.isEmpty()) {
+            int v = frontier.poll();
+            settled[v] = true;
+            float base = table[v * width + column];
+            int first = forward ? graph.firstEdge(v) : incoming.first(v);
+            int end = forward ? graph.endEdge(v) : incoming.end(v);
+            for (int slot = first; slot < end; slot++) {
+                int w = forward ? graph.target(slot) : incoming.source(slot);
+                float d = roundedSum(base, graph.weight(forward ? slot : incoming.edge(slot)));
+                if (!settled[w] && d < table[w * width + column]) {
+                    table[w * width + column] = d;
+                    frontier.insertOrDecrease(w, d);
+                }
+            }
+        }
+    }
+
+    // returns the largest float that is no more than base + weight and no less than base
+    private static float roundedSum(float base, double weight) {
+        double exact = base + weight;
+        float sum = (float) exact;
+        if (sum > exact) {
+            sum = Math.nextDown(sum);
+        }
+        return Math.max(sum, base);
+    }
+
+    /**
+     * @return the number of landmarks
+     */
+    public int count() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param i the index of a landmark
+     * @return the id of landmark i
+     * @spec.requires 0 &lt;= i &lt; count()
+     */
+    public int landmark(int i) {
+        return landmarks[i];
+    }
+
+    /**
+     * @param node the id of a node
+     * @param target the id of the target of the search
+     * @return the largest lower bound on the cost from node to target given by a landmark, at most the largest
+     * distance in the tables, or 0 if no landmark gives one
+     * @spec.requires node and target are ids of the graph the landmarks were picked in
+     */
+    @Override
+    public double estimate(int node, int target) {
+        return bound(node, target);
+    }
+
+    /**
+     * @param source the id of the source of a search
+     * @param node the id of a node
+     * @return the largest lower bound on the cost from source to node given by a landmark, at most the largest
+     * distance in the tables, or 0 if no landmark gives one
+     * @spec.requires source and node are ids of the graph the landmarks were picked in
+     */
+    @Override
+    public double estimateFrom(int source, int node) {
+        return bound(source, node);
+    }
+
+    // returns the largest landmark lower bound on the cost from v to t. An infinite table entry gives an infinite
+    // bound if it shows t cannot be reached from v, which is then capped, and none if both entries are infinite.
+    private double bound(int v, int t) {
+        int k = landmarks.length;
+        double best = 0.0;
+        for (int i = 0; i < k; i++) {
+            // a NaN difference compares false, so it is skipped
+            double ahead = (double) fromLandmark[t * k + i] - fromLandmark[v * k + i];
+            if (ahead > best) {
+                best = ahead;
+            }
+            double behind = (double) toLandmark[v * k + i] - toLandmark[t * k + i];
+            if (behind > best) {
+                best = behind;
+            }
+        }
+        return Math.min(best, cap);
+    }
+
+    // checks whether the Landmarks is maintaining its representation invariant
+    private void checkRep() {
+        assert landmarks != null && fromLandmark != null && toLandmark != null;
+        assert cap >= 0 && !Double.isInfinite(cap);
+        assert fromLandmark.length == toLandmark.length;
+        assert landmarks.length == 0 || fromLandmark.length % landmarks.length == 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            assert fromLandmark[landmarks[i] * landmarks.length + i] == 0f;
+            assert toLandmark[landmarks[i] * landmarks.length + i] == 0f;
+        }
+    }
+
+    /**
+     * <b>TableAction</b> fills the columns [start, end) of the table of distances to the landmarks, splitting them
+     * in half across the pool until one is left.
+     */
+    private static final class TableAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IncomingEdges incoming;
+        private final int[] landmarks;
+        private final float[] table;
+        private final int start;
+        private final int end;
+
+        private TableAction(IncomingEdges incoming, int[] landmarks, float[] table, int start, int end) {
+            this.incoming = incoming;
+            this.landmarks = landmarks;
+            this.table = table;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                for (int i = start; i < end; i++) {
+                    distances(incoming, landmarks[i], false, table, i, landmarks.length,
+                            new IndexedMinHeap(Math.max(incoming.graph().nodeCount(), 1)));
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new TableAction(incoming, landmarks, table, start, middle),
+                    new TableAction(incoming, landmarks, table, middle, end));
+        }
+    }
+}
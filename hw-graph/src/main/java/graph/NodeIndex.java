@@ -0,0 +1,100 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>NodeIndex</b> gives every node of a Graph a dense integer id, assigned in the order the nodes are added. Ids
+ * translate to nodes and back in O(1) time, so search code can keep its per-node state in plain arrays indexed by
+ * id instead of maps keyed by node. An id is never reused: when a node is removed its id is retired, and a node
+ * added again later gets a new id.
+ *
+ * <p>A NodeIndex is owned and updated by its Graph; callers can only read it.
+ */
+public final class NodeIndex<N> {
+
+    // AF(this) = a numbering of nodes where node "n" has id ids.get(n), for every key of ids. The retired ids are
+    // the ids "i" in [0, nodes.size()) with nodes.get(i) == null.
+
+    // Representation Invariant:
+    // ids, nodes != null.
+    // For every key "n" of ids, nodes.get(ids.get(n)) == n, and every non-null element of nodes is a key of ids.
+
+    private final Map<N, Integer> ids;
+    private final List<N> nodes;
+
+    /**
+     * @spec.effects Constructs a new empty NodeIndex
+     */
+    NodeIndex() {
+        ids = new HashMap<>();
+        nodes = new ArrayList<>();
+    }
+
+    /**
+     * @param node the node to look up
+     * @return the id of node, or -1 if node is not in the index
+     * @spec.requires node != null
+     */
+    public int idOf(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the id to look up
+     * @return the node with the given id, or null if the id is retired or was never assigned
+     */
+    public N nodeAt(int id) {
+        if (id < 0 || id >= nodes.size()) {
+            return null;
+        }
+        return nodes.get(id);
+    }
+
+    /**
+     * @param id the id to look up
+     * @return true if id belongs to a node currently in the index. Else, false.
+     */
+    public boolean isLive(int id) {
+        return nodeAt(id) != null;
+    }
+
+    /**
+     * @return one more than the largest id ever assigned, so arrays of this length can be indexed by every id
+     */
+    public int idBound() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of nodes currently in the index
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    // assigns the next id to node
+    // spec.requires node != null and idOf(node) == -1
+    int add(N node) {
+        int id = nodes.size();
+        nodes.add(node);
+        ids.put(node, id);
+        checkRep(node);
+        return id;
+    }
+
+    // retires the id of node and returns it
+    // spec.requires idOf(node) != -1
+    int remove(N node) {
+        int id = ids.remove(node);
+        nodes.set(id, null);
+        return id;
+    }
+
+    // checks the representation invariant for node
+    private void checkRep(N node) {
+        assert ids.size() <= nodes.size();
+        assert nodes.get(ids.get(node)) == node;
+    }
+}
@@ -0,0 +1,245 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * <b>OffHeapGraph</b> is an immutable compressed sparse row (CSR) graph whose adjacency lives outside the Java heap,
+ * in direct or memory-mapped ByteBuffers. Only the node table is kept on the heap, so a network with tens of
+ * millions of edges costs a few hundred bytes of heap per node instead of several objects per edge, and the
+ * garbage collector never scans the edges. It has the same id-based accessors as FrozenGraph.
+ */
+public final class OffHeapGraph<N> implements CsrGraph<N> {
+
+    // AF(this) = a directed graph whose nodes are nodes.get(0) ... nodes.get(nodes.size() - 1), where node "i" has
+    // one outgoing edge to node targets.get(e) with weight weights.get(e) for every e in
+    // [offsets.get(i), offsets.get(i + 1)).
+
+    // Representation Invariant:
+    // nodes, ids, offsets, targets, weights != null and nodes contains no null or duplicate elements.
+    // ids.get(nodes.get(i)) == i for every i, and ids.size() == nodes.size().
+    // offsets.limit() == nodes.size() + 1, offsets.get(0) == 0, offsets is non-decreasing and
+    // offsets.get(nodes.size()) == targets.limit() == weights.limit().
+    // 0 <= targets.get(e) < nodes.size() for every e.
+    // Only absolute reads are made on the buffers, so their positions never change.
+
+    private final List<N> nodes;
+    private final Map<N, Integer> ids;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+
+    private OffHeapGraph(List<N> nodes, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.nodes = nodes;
+        this.ids = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (ids.put(nodes.get(i), i) != null) {
+                throw new IllegalArgumentException("Node " + nodes.get(i) + " is listed twice");
+            }
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        checkRep();
+    }
+
+    /**
+     * @param graph the snapshot to copy off the heap
+     * @param <N> the type of the nodes in the graph
+     * @return a new OffHeapGraph holding the nodes, ids and edges of graph, with its offsets, targets and weights
+     * copied into direct buffers
+     * @spec.requires graph != null
+     */
+    public static <N> OffHeapGraph<N> of(FrozenGraph<N> graph) {
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        int nodeCount = graph.nodeCount();
+        int edgeCount = graph.edgeCount();
+        List<N> nodes = new ArrayList<>(nodeCount);
+        IntBuffer offsets = allocate(nodeCount + 1, Integer.BYTES).asIntBuffer();
+        IntBuffer targets = allocate(edgeCount, Integer.BYTES).asIntBuffer();
+        DoubleBuffer weights = allocate(edgeCount, Double.BYTES).asDoubleBuffer();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(graph.nodeAt(i));
+            offsets.put(i, graph.firstEdge(i));
+        }
+        offsets.put(nodeCount, edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            targets.put(e, graph.target(e));
+            weights.put(e, graph.weight(e));
+        }
+        return new OffHeapGraph<>(nodes, offsets, targets, weights);
+    }
+
+    /**
+     * @param nodes the nodes of the graph, indexed by id
+     * @param offsets holds nodes.size() + 1 ints, the CSR row offsets
+     * @param targets holds one int per edge, the target id of the edge
+     * @param weights holds one double per edge, the weight of the edge
+     * @param <N> the type of the nodes in the graph
+     * @return a new OffHeapGraph reading its adjacency straight from the remaining bytes of the buffers, without
+     * copying them. The byte order of each buffer must already be set by the caller.
+     * @throws IllegalArgumentException if the sizes of the buffers do not match nodes and each other, an offset is
+     * less than the one before it, a target is not the id of a node, or nodes has a duplicate element
+     * @spec.requires no argument is null, nodes has no null elements, and the buffers are not modified afterwards
+     */
+    public static <N> OffHeapGraph<N> wrap(List<N> nodes, ByteBuffer offsets, ByteBuffer targets,
+                                           ByteBuffer weights) {
+        if (nodes == null || offsets == null || targets == null || weights == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        IntBuffer offsetInts = offsets.slice().order(offsets.order()).asIntBuffer();
+        IntBuffer targetInts = targets.slice().order(targets.order()).asIntBuffer();
+        DoubleBuffer weightDoubles = weights.slice().order(weights.order()).asDoubleBuffer();
+        if (offsetInts.limit() != nodes.size() + 1 || offsetInts.get(0) != 0
+                || offsetInts.get(nodes.size()) != targetInts.limit() || targetInts.limit() != weightDoubles.limit()) {
+            throw new IllegalArgumentException("Buffer sizes do not match the node table");
+        }
+        // the buffers usually come from a file, so every edge range and target is checked before it is searched
+        for (int i = 0; i < nodes.size(); i++) {
+            if (offsetInts.get(i) > offsetInts.get(i + 1)) {
+                throw new IllegalArgumentException("Offsets decrease at node " + i);
+            }
+        }
+        for (int e = 0; e < targetInts.limit(); e++) {
+            int target = targetInts.get(e);
+            if (target < 0 || target >= nodes.size()) {
+                throw new IllegalArgumentException("Edge " + e + " targets no node: " + target);
+            }
+        }
+        return new OffHeapGraph<>(new ArrayList<>(nodes), offsetInts, targetInts, weightDoubles);
+    }
+
+    // allocates a zeroed, native-order direct buffer of count elements of the given size
+    private static ByteBuffer allocate(int count, int bytes) {
+        if ((long) count * bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph is too large for a single buffer");
+        }
+        return ByteBuffer.allocateDirect(count * bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return targets.limit();
+    }
+
+    /**
+     * @param node the node to look up
+     * @return the dense id of node, or -1 if the graph does not contain it
+     * @spec.requires node != null
+     */
+    public int idOf(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the node with the given id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public N nodeAt(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * @param node the node to look up
+     * @return true if the graph contains node. Else, false.
+     * @spec.requires node != null
+     */
+    public boolean containsNode(N node) {
+        return idOf(node) >= 0;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the index of the first outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int firstEdge(int id) {
+        return offsets.get(id);
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return one past the index of the last outgoing edge of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int endEdge(int id) {
+        return offsets.get(id + 1);
+    }
+
+    /**
+     * @param edge the index of an edge
+     * @return the id of the node the edge points towards
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    /**
+     * @param edge the index of an edge
+     * @return the weight of the edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public double weight(int edge) {
+        return weights.get(edge);
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @param visitor receives the target id and weight of every edge pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount() and visitor != null
+     * @spec.effects walks the outgoing edges of the node without allocating
+     */
+    public void forEachNeighbor(int id, IdNeighborVisitor visitor) {
+        int end = offsets.get(id + 1);
+        for (int e = offsets.get(id); e < end; e++) {
+            visitor.visit(targets.get(e), weights.get(e));
+        }
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of all edges pointing outward from the parameter node, or an empty set if the graph does
+     * not contain it
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, Double>> outgoingEdges(N nodeName) {
+        int id = idOf(nodeName);
+        Set<GraphNeighbors.Edge<N, Double>> edgeSet = new HashSet<>();
+        if (id < 0) {
+            return edgeSet;
+        }
+        int end = offsets.get(id + 1);
+        for (int e = offsets.get(id); e < end; e++) {
+            edgeSet.add(new GraphNeighbors.Edge<>(nodeName, nodes.get(targets.get(e)), weights.get(e)));
+        }
+        return edgeSet;
+    }
+
+    // checks whether the OffHeapGraph is maintaining its representation invariant
+    private void checkRep() {
+        assert nodes != null && ids != null && offsets != null && targets != null && weights != null;
+        assert ids.size() == nodes.size();
+        assert offsets.limit() == nodes.size() + 1;
+        assert offsets.get(0) == 0;
+        assert offsets.get(nodes.size()) == targets.limit();
+        assert targets.limit() == weights.limit();
+    }
+}
@@ -0,0 +1,322 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * <b>ParallelGraphBuilder</b> builds a Graph or a FrozenGraph from a stream of records on a ForkJoinPool. The result
+ * is exactly the one a sequential GraphBuilder.addEdges over the same records in encounter order would give: the
+ * same nodes and edges, the same node ids and the same order of every edge list.
+ *
+ * <p>The build runs in three parallel phases. First the input is split into encounter-ordered chunks, and every
+ * chunk extracts its edges and drops its own duplicates. Then every node and edge is ranked by its first global
+ * position in a shared concurrent map. Last, every chunk keeps only the nodes and edges it saw first. Only the
+ * final insertion into a Graph is sequential, because Graph is not thread-safe. A FrozenGraph is assembled straight
+ * from the chunks.
+ */
+public class ParallelGraphBuilder<N, E> {
+
+    // AF(this) = a recipe for building graphs with the given verification mode on the given pool.
+
+    // Representation Invariant:
+    // verification, pool != null
+
+    // inputs are split until chunks hold about this many records
+    private static final int LEAF_ROWS = 1 << 12;
+
+    private final VerificationMode verification;
+    private final ForkJoinPool pool;
+
+    /**
+     * @spec.effects Constructs a new ParallelGraphBuilder running on the common pool, whose graphs are verified
+     * according to VerificationMode.fromSystemProperty()
+     */
+    public ParallelGraphBuilder() {
+        this(VerificationMode.fromSystemProperty(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param verification the verification mode of the graphs built
+     * @param pool the pool every phase of a build runs on
+     * @spec.requires verification, pool != null
+     * @spec.effects Constructs a new ParallelGraphBuilder
+     */
+    public ParallelGraphBuilder(VerificationMode verification, ForkJoinPool pool) {
+        if (verification == null || pool == null) { throw new IllegalArgumentException("No null arguments"); }
+        this.verification = verification;
+        this.pool = pool;
+    }
+
+    /**
+     * @param rows the records to turn into edges
+     * @param fromNode extracts the node an edge starts from out of a record
+     * @param toNode extracts the node an edge points to out of a record
+     * @param edgeData extracts the data held within an edge out of a record
+     * @param <T> the type of the records
+     * @return a new Graph equal to new GraphBuilder&lt;N, E&gt;(verification).addEdges(rows, fromNode, toNode,
+     * edgeData).build() over the encounter order of rows
+     * @spec.requires no argument is null, no extractor returns null, the extractors are thread-safe, and rows is
+     * ordered if its encounter order should decide node ids and edge order
+     */
+    public <T> Graph<N, E> build(Stream<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                                 Function<? super T, ? extends N> toNode,
+                                 Function<? super T, ? extends E> edgeData) {
+        if (rows == null) { throw new IllegalArgumentException("No null arguments"); }
+        return build(rows.spliterator(), fromNode, toNode, edgeData);
+    }
+
+    /**
+     * @param rows the records to turn into edges
+     * @param fromNode extracts the node an edge starts from out of a record
+     * @param toNode extracts the node an edge points to out of a record
+     * @param edgeData extracts the data held within an edge out of a record
+     * @param <T> the type of the records
+     * @return a new Graph equal to the sequential build over the encounter order of rows
+     * @spec.requires the same as build(Stream, Function, Function, Function)
+     */
+    public <T> Graph<N, E> build(Spliterator<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                                 Function<? super T, ? extends N> toNode,
+                                 Function<? super T, ? extends E> edgeData) {
+        List<Chunk<N, E>> chunks = collect(rows, fromNode, toNode, edgeData);
+        Graph<N, E> graph = new Graph<>(verification);
+        for (Chunk<N, E> chunk : chunks) {
+            for (N node : chunk.nodes) {
+                graph.insertNodeUnchecked(node);
+            }
+        }
+        for (Chunk<N, E> chunk : chunks) {
+            for (GraphBuilder.EdgeKey<N, E> edge : chunk.edges) {
+                graph.insertEdgeUnchecked(edge.from, edge.to, edge.data);
+            }
+        }
+        graph.verify();
+        return graph;
+    }
+
+    /**
+     * @param rows the records to turn into edges
+     * @param fromNode extracts the node an edge starts from out of a record
+     * @param toNode extracts the node an edge points to out of a record
+     * @param edgeData extracts the data held within an edge out of a record
+     * @param weightOf converts the data of an edge into its weight
+     * @param <T> the type of the records
+     * @return a new FrozenGraph equal to build(rows, fromNode, toNode, edgeData).freeze(weightOf), assembled
+     * without building the Graph
+     * @spec.requires the same as build(Stream, Function, Function, Function), and weightOf != null and thread-safe
+     */
+    public <T> FrozenGraph<N> freeze(Stream<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                                     Function<? super T, ? extends N> toNode,
+                                     Function<? super T, ? extends E> edgeData,
+                                     ToDoubleFunction<? super E> weightOf) {
+        if (rows == null || weightOf == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<Chunk<N, E>> chunks = collect(rows.spliterator(), fromNode, toNode, edgeData);
+
+        // offsets of the surviving nodes and edges of every chunk in the global order
+        int[] nodeBase = new int[chunks.size() + 1];
+        int[] edgeBase = new int[chunks.size() + 1];
+        for (int c = 0; c < chunks.size(); c++) {
+            nodeBase[c + 1] = nodeBase[c] + chunks.get(c).nodes.size();
+            edgeBase[c + 1] = edgeBase[c] + chunks.get(c).edges.size();
+        }
+        int nodeCount = nodeBase[chunks.size()];
+        int edgeCount = edgeBase[chunks.size()];
+
+        List<N> nodes = new ArrayList<>(nodeCount);
+        for (Chunk<N, E> chunk : chunks) {
+            nodes.addAll(chunk.nodes);
+        }
+        Map<N, Integer> ids = new ConcurrentHashMap<>(nodeCount);
+        forEachChunk(chunks.size(), c -> {
+            List<N> chunkNodes = chunks.get(c).nodes;
+            for (int i = 0; i < chunkNodes.size(); i++) {
+                ids.put(chunkNodes.get(i), nodeBase[c] + i);
+            }
+        });
+        int[] sources = new int[edgeCount];
+        int[] targetsInOrder = new int[edgeCount];
+        double[] weightsInOrder = new double[edgeCount];
+        forEachChunk(chunks.size(), c -> {
+            List<GraphBuilder.EdgeKey<N, E>> chunkEdges = chunks.get(c).edges;
+            for (int i = 0; i < chunkEdges.size(); i++) {
+                GraphBuilder.EdgeKey<N, E> edge = chunkEdges.get(i);
+                sources[edgeBase[c] + i] = ids.get(edge.from);
+                targetsInOrder[edgeBase[c] + i] = ids.get(edge.to);
+                weightsInOrder[edgeBase[c] + i] = weightOf.applyAsDouble(edge.data);
+            }
+        });
+
+        // a stable counting sort by source keeps every row in global order, as Graph keeps its edge lists
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[sources[e]]++;
+            targets[slot] = targetsInOrder[e];
+            weights[slot] = weightsInOrder[e];
+        }
+        return new FrozenGraph<>(nodes, ids, offsets, targets, weights);
+    }
+
+    // splits rows into ordered chunks and leaves every chunk with the nodes and edges that first appear in it
+    private <T> List<Chunk<N, E>> collect(Spliterator<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                                          Function<? super T, ? extends N> toNode,
+                                          Function<? super T, ? extends E> edgeData) {
+        if (rows == null || fromNode == null || toNode == null || edgeData == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        List<Chunk<N, E>> chunks = pool.invoke(new SplitTask<T, N, E>(rows, fromNode, toNode, edgeData));
+
+        // ranks are (chunk, position in chunk) packed into a long, so the smallest rank is the first appearance
+        ConcurrentHashMap<N, Long> nodeRanks = new ConcurrentHashMap<>();
+        ConcurrentHashMap<GraphBuilder.EdgeKey<N, E>, Long> edgeRanks = new ConcurrentHashMap<>();
+        forEachChunk(chunks.size(), c -> {
+            Chunk<N, E> chunk = chunks.get(c);
+            for (int i = 0; i < chunk.nodes.size(); i++) {
+                nodeRanks.merge(chunk.nodes.get(i), rank(c, i), Math::min);
+            }
+            for (int i = 0; i < chunk.edges.size(); i++) {
+                edgeRanks.merge(chunk.edges.get(i), rank(c, i), Math::min);
+            }
+        });
+        forEachChunk(chunks.size(), c -> {
+            Chunk<N, E> chunk = chunks.get(c);
+            chunk.nodes = firstSeen(chunk.nodes, nodeRanks, c);
+            chunk.edges = firstSeen(chunk.edges, edgeRanks, c);
+        });
+        return chunks;
+    }
+
+    // returns the elements of items whose first appearance is in chunk c, in order
+    private static <K> List<K> firstSeen(List<K> items, Map<K, Long> ranks, int c) {
+        List<K> kept = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (ranks.get(items.get(i)) == rank(c, i)) {
+                kept.add(items.get(i));
+            }
+        }
+        return kept;
+    }
+
+    // packs a chunk number and a position inside the chunk into one comparable rank
+    private static long rank(int chunk, int position) {
+        return ((long) chunk << 32) | position;
+    }
+
+    // runs action once for every chunk number in [0, chunkCount) on the pool
+    private void forEachChunk(int chunkCount, IntConsumer action) {
+        pool.invoke(new ChunkAction(0, chunkCount, action));
+    }
+
+    /**
+     * <b>Chunk</b> holds the nodes and edges of a contiguous run of records, in first appearance order and without
+     * duplicates inside the run.
+     */
+    private static final class Chunk<N, E> {
+
+        private List<N> nodes;
+        private List<GraphBuilder.EdgeKey<N, E>> edges;
+
+        private Chunk(List<N> nodes, List<GraphBuilder.EdgeKey<N, E>> edges) {
+            this.nodes = nodes;
+            this.edges = edges;
+        }
+    }
+
+    /**
+     * <b>SplitTask</b> splits a spliterator into prefix and suffix halves until they are small, and turns every
+     * piece into a Chunk, returning the chunks in encounter order.
+     */
+    private static final class SplitTask<T, N, E> extends RecursiveTask<List<Chunk<N, E>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<? extends T> rows;
+        private final Function<? super T, ? extends N> fromNode;
+        private final Function<? super T, ? extends N> toNode;
+        private final Function<? super T, ? extends E> edgeData;
+
+        private SplitTask(Spliterator<? extends T> rows, Function<? super T, ? extends N> fromNode,
+                          Function<? super T, ? extends N> toNode, Function<? super T, ? extends E> edgeData) {
+            this.rows = rows;
+            this.fromNode = fromNode;
+            this.toNode = toNode;
+            this.edgeData = edgeData;
+        }
+
+        @Override
+        protected List<Chunk<N, E>> compute() {
+            if (rows.estimateSize() > LEAF_ROWS) {
+                Spliterator<? extends T> prefix = rows.trySplit();
+                if (prefix != null) {
+                    SplitTask<T, N, E> left = new SplitTask<T, N, E>(prefix, fromNode, toNode, edgeData);
+                    left.fork();
+                    List<Chunk<N, E>> right = new SplitTask<T, N, E>(rows, fromNode, toNode, edgeData).compute();
+                    List<Chunk<N, E>> chunks = left.join();
+                    chunks.addAll(right);
+                    return chunks;
+                }
+            }
+            Set<N> nodes = new LinkedHashSet<>();
+            Set<GraphBuilder.EdgeKey<N, E>> edges = new LinkedHashSet<>();
+            rows.forEachRemaining(row -> {
+                N from = fromNode.apply(row);
+                N to = toNode.apply(row);
+                E data = edgeData.apply(row);
+                if (from == null || to == null || data == null) {
+                    throw new NullPointerException();
+                }
+                nodes.add(from);
+                nodes.add(to);
+                edges.add(new GraphBuilder.EdgeKey<>(from, to, data));
+            });
+            List<Chunk<N, E>> chunks = new ArrayList<>();
+            chunks.add(new Chunk<>(new ArrayList<>(nodes), new ArrayList<>(edges)));
+            return chunks;
+        }
+    }
+
+    /**
+     * <b>ChunkAction</b> runs an action on every chunk number in a range, splitting the range in half across the
+     * pool.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final IntConsumer action;
+
+        private ChunkAction(int start, int end, IntConsumer action) {
+            this.start = start;
+            this.end = end;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                if (start < end) {
+                    action.accept(start);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ChunkAction(start, middle, action), new ChunkAction(middle, end, action));
+        }
+    }
+}
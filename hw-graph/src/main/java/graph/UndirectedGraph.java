@@ -0,0 +1,373 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <b>UndirectedGraph</b> is a collection of nodes and undirected edges, where each edge connects two nodes both
+ * ways. It stores a symmetric pair of directed edges, such as a walkway listed once in each direction, as a single
+ * Edge object shared by the lists of both endpoints, and reports it in both directions through outgoingEdges and
+ * incomingEdgesTo. That takes half the edge objects and edge data of a Graph holding both directions.
+ */
+public class UndirectedGraph<N, E> implements GraphNeighbors<N, E> {
+
+    // AF(this) = the directed graph whose nodes are adjacency.keySet(), with an edge from e.either() to
+    // e.other(e.either()) and an edge back for every Edge "e" in edges, each holding e.getEdgeData().
+
+    // Representation Invariant:
+    // adjacency, edges != null, and no key, list or element of them is null.
+    // For every Edge "e" in edges, adjacency contains both endpoints of e, and e appears exactly once in the list
+    // of each endpoint, so once in total if it is a self loop.
+    // Every Edge in the lists of adjacency is in edges.
+
+    private final Map<N, List<Edge>> adjacency;
+    private final Set<Edge> edges;
+
+    /**
+     * @spec.effects Constructs a new empty UndirectedGraph
+     */
+    public UndirectedGraph() {
+        adjacency = new LinkedHashMap<>();
+        edges = new HashSet<>();
+        checkRep();
+    }
+
+    /**
+     * @param nodeData The data that will be stored in a node that gets added to the graph
+     * @spec.requires nodeData != null
+     * @spec.effects Inserts an additional node to the graph if it does not contain it already
+     */
+    public void addNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        if (!adjacency.containsKey(nodeData)) {
+            insertNodeUnchecked(nodeData);
+        }
+        checkNode(nodeData);
+    }
+
+    /**
+     * @param a        one end of the edge
+     * @param b        the other end of the edge
+     * @param edgeData the data held within the edge
+     * @spec.requires a, b, edgeData != null and graph contains both a and b
+     * @spec.effects Creates a new edge containing edgeData that connects a and b both ways, unless the graph
+     * already holds an equal edge, in either orientation
+     */
+    public void addEdge(N a, N b, E edgeData) {
+        if (a == null || b == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        if (!adjacency.containsKey(a) || !adjacency.containsKey(b)) {
+            throw new IllegalArgumentException("Both nodes must be in the graph");
+        }
+        Edge e = new Edge(a, b, edgeData);
+        if (!edges.contains(e)) {
+            insertEdgeUnchecked(e);
+        }
+        checkNode(a);
+        checkNode(b);
+    }
+
+    /**
+     * @param a        one end of the edge
+     * @param b        the other end of the edge
+     * @param edgeData the data held within the edge
+     * @return true if the edge was removed, false if the graph did not contain it
+     * @spec.requires a, b, edgeData != null
+     * @spec.effects Removes the edge containing edgeData that connects a and b, in both directions, in time
+     * proportional to the degrees of a and b
+     */
+    public boolean removeEdge(N a, N b, E edgeData) {
+        if (a == null || b == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        Edge e = new Edge(a, b, edgeData);
+        if (!edges.remove(e)) {
+            return false;
+        }
+        adjacency.get(a).remove(e);
+        if (!a.equals(b)) {
+            adjacency.get(b).remove(e);
+        }
+        checkNode(a);
+        checkNode(b);
+        return true;
+    }
+
+    /**
+     * @param nodeData the node to remove
+     * @return true if the node was removed, false if the graph did not contain it
+     * @spec.requires nodeData != null
+     * @spec.effects Removes nodeData and every edge touching it
+     */
+    public boolean removeNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        List<Edge> incident = adjacency.remove(nodeData);
+        if (incident == null) {
+            return false;
+        }
+        for (Edge e : incident) {
+            edges.remove(e);
+            N other = e.other(nodeData);
+            if (!other.equals(nodeData)) {
+                adjacency.get(other).remove(e);
+                checkNode(other);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param nodeData the data held within the node
+     * @return true if the graph contains the node. Else, false.
+     * @spec.requires nodeData != null
+     */
+    public boolean containsNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        return adjacency.containsKey(nodeData);
+    }
+
+    /**
+     * @param a        one end of the edge
+     * @param b        the other end of the edge
+     * @param edgeData the data held within the edge
+     * @return true if the graph contains an edge holding edgeData between a and b, in either orientation. Else,
+     * false.
+     * @spec.requires a, b, edgeData != null
+     */
+    public boolean containsEdge(N a, N b, E edgeData) {
+        if (a == null || b == null || edgeData == null) {
+            throw new NullPointerException();
+        }
+        return edges.contains(new Edge(a, b, edgeData));
+    }
+
+    /**
+     * @return an unmodifiable view of the nodes of the graph, in the order they were added
+     */
+    public Set<N> allNodes() {
+        return Collections.unmodifiableSet(adjacency.keySet());
+    }
+
+    /**
+     * @return the number of undirected edges in the graph, each counted once
+     */
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the number of edges touching nodeName, a self loop counted once
+     * @spec.requires nodeName != null and graph contains nodeName
+     */
+    public int degree(N nodeName) {
+        return edgesAt(nodeName).size();
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return an unmodifiable view of the edges touching nodeName, shared with the list of their other end
+     * without copying. It is only valid until the next mutation.
+     * @spec.requires nodeName != null and graph contains nodeName
+     */
+    public List<Edge> edgesAt(N nodeName) {
+        if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<Edge> incident = adjacency.get(nodeName);
+        if (incident == null) { throw new IllegalArgumentException("Node is not in the graph"); }
+        return Collections.unmodifiableList(incident);
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the edges touching nodeName, each reported as pointing towards nodeName
+     * @spec.requires nodeName != null and graph contains nodeName
+     */
+    public List<GraphNeighbors.Edge<N, E>> incomingEdgesTo(N nodeName) {
+        List<GraphNeighbors.Edge<N, E>> incoming = new ArrayList<>();
+        for (Edge e : edgesAt(nodeName)) {
+            incoming.add(new GraphNeighbors.Edge<>(e.other(nodeName), nodeName, e.getEdgeData()));
+        }
+        return incoming;
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of the edges touching nodeName, each reported as pointing outward from nodeName. This
+     * builds a new set and wrapper edges on every call, so walks that should not allocate use edgesAt instead.
+     * @spec.requires nodeName != null and graph contains nodeName
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, E>> outgoingEdges(N nodeName) {
+        Set<GraphNeighbors.Edge<N, E>> outgoing = new HashSet<>();
+        for (Edge e : edgesAt(nodeName)) {
+            outgoing.add(new GraphNeighbors.Edge<>(nodeName, e.other(nodeName), e.getEdgeData()));
+        }
+        return outgoing;
+    }
+
+    /**
+     * @param weightOf converts the data of an edge into its weight
+     * @return an immutable compressed sparse row snapshot of this graph, whose ids follow the order the nodes were
+     * added, holding every edge in both directions except self loops, which are held once
+     * @spec.requires weightOf != null
+     */
+    public FrozenGraph<N> freeze(ToDoubleFunction<? super E> weightOf) {
+        if (weightOf == null) { throw new IllegalArgumentException("No null arguments"); }
+        List<N> nodes = new ArrayList<>(adjacency.keySet());
+        Map<N, Integer> ids = new HashMap<>();
+        int slots = 0;
+        for (N node : nodes) {
+            ids.put(node, ids.size());
+            slots += adjacency.get(node).size();
+        }
+        int[] offsets = new int[nodes.size() + 1];
+        int[] targets = new int[slots];
+        double[] weights = new double[slots];
+        int e = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            offsets[i] = e;
+            N node = nodes.get(i);
+            for (Edge edge : adjacency.get(node)) {
+                targets[e] = ids.get(edge.other(node));
+                weights[e] = weightOf.applyAsDouble(edge.getEdgeData());
+                e++;
+            }
+        }
+        offsets[nodes.size()] = e;
+        return new FrozenGraph<>(nodes, ids, offsets, targets, weights);
+    }
+
+    // inserts nodeData without checking for a duplicate or the representation invariant
+    // spec.requires nodeData != null and !containsNode(nodeData)
+    void insertNodeUnchecked(N nodeData) {
+        adjacency.put(nodeData, new ArrayList<>());
+    }
+
+    // inserts an edge between a and b holding edgeData, without checking for a duplicate or the representation
+    // invariant
+    // spec.requires a, b, edgeData != null, containsNode(a), containsNode(b) and !containsEdge(a, b, edgeData)
+    void insertEdgeUnchecked(N a, N b, E edgeData) {
+        insertEdgeUnchecked(new Edge(a, b, edgeData));
+    }
+
+    private void insertEdgeUnchecked(Edge e) {
+        edges.add(e);
+        adjacency.get(e.a).add(e);
+        if (!e.a.equals(e.b)) {
+            adjacency.get(e.b).add(e);
+        }
+    }
+
+    // checks the whole representation invariant, once, for graphs built in bulk
+    void verify() {
+        checkRep();
+    }
+
+    // checks the part of the representation invariant about the list of node n, in time proportional to its degree
+    private void checkNode(N n) {
+        assert adjacency.get(n) != null;
+        for (Edge e : adjacency.get(n)) {
+            assert edges.contains(e);
+            assert e.a.equals(n) || e.b.equals(n);
+        }
+    }
+
+    // checks whether the UndirectedGraph is maintaining its whole representation invariant
+    private void checkRep() {
+        assert adjacency != null;
+        assert edges != null;
+        int slots = 0;
+        for (Map.Entry<N, List<Edge>> entry : adjacency.entrySet()) {
+            assert entry.getKey() != null;
+            for (Edge e : entry.getValue()) {
+                assert edges.contains(e);
+                slots++;
+            }
+        }
+        int expected = 0;
+        for (Edge e : edges) {
+            assert adjacency.containsKey(e.a) && adjacency.containsKey(e.b);
+            expected += e.a.equals(e.b) ? 1 : 2;
+        }
+        assert slots == expected;
+    }
+
+    /** * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     * <b>Edge</b> is an undirected connection between two nodes that holds data
+     */
+    public class Edge {
+
+        private final N a;
+        private final N b;
+        private final E data;
+
+        // Abstraction Function:
+        // Edge e represents the connection between e.a and e.b, in both directions, holding e.data.
+
+        // Representation Invariant:
+        // For some Edge e, e.a, e.b, e.data != null
+
+        private Edge(N a, N b, E data) {
+            this.a = a;
+            this.b = b;
+            this.data = data;
+        }
+
+        /**
+         * @return one end of the edge, the one it was added from
+         */
+        public N either() {
+            return a;
+        }
+
+        /**
+         * @param node one end of the edge
+         * @return the other end of the edge, or node itself if the edge is a self loop
+         * @spec.requires node is an end of the edge
+         */
+        public N other(N node) {
+            if (a.equals(node)) {
+                return b;
+            }
+            if (b.equals(node)) {
+                return a;
+            }
+            throw new IllegalArgumentException("Node is not an end of the edge");
+        }
+
+        /**
+         * @return the edge data stored in the Edge
+         */
+        public E getEdgeData() {
+            return data;
+        }
+
+        /**
+         * @param obj, representing the edge being checked with if equal
+         * @return true if obj is an Edge holding equal data between the same two nodes, in either orientation.
+         * Else, false.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof UndirectedGraph.Edge)) {
+                return false;
+            }
+            UndirectedGraph<?, ?>.Edge other = (UndirectedGraph<?, ?>.Edge) obj;
+            return data.equals(other.data) && ((a.equals(other.a) && b.equals(other.b))
+                    || (a.equals(other.b) && b.equals(other.a)));
+        }
+
+        /**
+         * @return a hash code that does not depend on the orientation of the edge
+         */
+        @Override
+        public int hashCode() {
+            return (a.hashCode() + b.hashCode()) * 31 + data.hashCode();
+        }
+    }
+}
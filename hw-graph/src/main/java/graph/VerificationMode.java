@@ -0,0 +1,47 @@
+package graph;
+
+import java.util.Locale;
+
+/**
+ * <b>VerificationMode</b> controls how much of its representation invariant a Graph checks after a mutation.
+ * Checks are made with assert statements, so none of them run unless assertions are enabled.
+ */
+public enum VerificationMode {
+
+    /**
+     * No representation invariant checks.
+     */
+    OFF,
+
+    /**
+     * Only the node and the edge lists touched by a mutation are checked, in time proportional to their size.
+     */
+    INCREMENTAL,
+
+    /**
+     * The whole graph is checked after every mutation, in O(V + E) time.
+     */
+    FULL;
+
+    /**
+     * The system property read by {@link #fromSystemProperty()}.
+     */
+    public static final String PROPERTY = "graph.verification";
+
+    /**
+     * @return the mode named by the {@value #PROPERTY} system property, ignoring case, or INCREMENTAL if the
+     * property is not set
+     * @throws IllegalArgumentException if the property names no mode
+     */
+    public static VerificationMode fromSystemProperty() {
+        String name = System.getProperty(PROPERTY);
+        if (name == null || name.isBlank()) {
+            return INCREMENTAL;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + PROPERTY + ": " + name, e);
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <b>VersionedGraph</b> is a multi-version directed graph for long-running searches that must see one consistent
+ * graph while the network is being edited. Writers stage mutations in a Batch and commit it, which atomically
+ * publishes a new immutable Epoch. Readers pin the current Epoch, search it through the GraphNeighbors interface, and
+ * close it when done; an old Epoch is reclaimed as soon as it has been superseded and no reader pins it.
+ *
+ * <p>The node table of an Epoch is an immutable hash trie. Committing copies only the path of the trie down to every
+ * node the batch changes, and the edge sets of those nodes, so a commit costs O(log V) per node it changes and every
+ * Epoch shares the rest of the table and the edge sets of untouched nodes with its predecessor.
+ */
+public class VersionedGraph<N, E> {
+
+    // AF(this) = the graph current.table, at version current.version. Every Snapshot "sn" in live is a past or
+    // present version of the graph still pinned by at least one reader.
+
+    // Representation Invariant:
+    // current != null, live != null and live.get(current.version) == current.
+    // Versions in live are distinct and no greater than current.version.
+    // current is only replaced while holding writeLock.
+
+    private final Object writeLock;
+    private final Map<Long, Snapshot> live;
+    private volatile Snapshot current;
+
+    /**
+     * @spec.effects Constructs a new VersionedGraph whose first epoch, version 0, is empty
+     */
+    public VersionedGraph() {
+        writeLock = new Object();
+        live = new ConcurrentHashMap<>();
+        current = new Snapshot(0, NodeTable.empty());
+        live.put(0L, current);
+    }
+
+    /**
+     * @param graph the graph to start from
+     * @spec.requires graph != null
+     * @spec.effects Constructs a new VersionedGraph whose first epoch, version 0, holds the nodes and edges of graph
+     */
+    public VersionedGraph(Graph<N, E> graph) {
+        if (graph == null) { throw new IllegalArgumentException("No null arguments"); }
+        NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table = NodeTable.empty();
+        for (N node : graph.allNodes()) {
+            Set<GraphNeighbors.Edge<N, E>> edges = new LinkedHashSet<>();
+            for (Graph<N, E>.Edge e : graph.outgoingEdgesFrom(node)) {
+                edges.add(new GraphNeighbors.Edge<>(e.from(), e.to(), e.getEdgeData()));
+            }
+            table = table.with(node, Collections.unmodifiableSet(edges));
+        }
+        writeLock = new Object();
+        live = new ConcurrentHashMap<>();
+        current = new Snapshot(0, table);
+        live.put(0L, current);
+    }
+
+    /**
+     * @return the version of the latest published epoch
+     */
+    public long version() {
+        return current.version;
+    }
+
+    /**
+     * @return a new epoch pinning the latest published version for the caller, who must close it when done with it
+     */
+    public Epoch pin() {
+        while (true) {
+            Snapshot snapshot = current;
+            if (snapshot.tryPin()) {
+                return new Epoch(snapshot);
+            }
+            // the snapshot was superseded and reclaimed between the read and the pin, so retry on the newer one
+        }
+    }
+
+    /**
+     * @return a new, empty batch of mutations that will apply to whichever epoch is current when it commits
+     */
+    public Batch begin() {
+        return new Batch();
+    }
+
+    /**
+     * @return the number of epochs not yet reclaimed, including the current one
+     */
+    public int liveEpochs() {
+        return live.size();
+    }
+
+    // publishes the mutations of batch on top of the current epoch as a new epoch
+    private Snapshot publish(Batch batch) {
+        synchronized (writeLock) {
+            Snapshot base = current;
+            Draft<N, E> draft = new Draft<>(base.table);
+            for (Mutation<N, E> m : batch.mutations) {
+                m.applyTo(draft);
+            }
+            NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table = draft.table;
+            for (Map.Entry<N, Set<GraphNeighbors.Edge<N, E>>> entry : draft.copied.entrySet()) {
+                table = table.with(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+            }
+            Snapshot next = new Snapshot(base.version + 1, table);
+            live.put(next.version, next);
+            current = next;
+            base.unpin();
+            return next;
+        }
+    }
+
+    /**
+     * One staged change to the graph.
+     */
+    private interface Mutation<N, E> {
+        /**
+         * @param draft the epoch being built
+         * @throws IllegalArgumentException if the mutation cannot apply to draft
+         */
+        void applyTo(Draft<N, E> draft);
+    }
+
+    /**
+     * <b>Draft</b> is the node table of an epoch being committed: the table of the epoch it starts from, with nodes
+     * added by the batch so far, and writable copies of the edge sets the batch has changed so far.
+     */
+    private static final class Draft<N, E> {
+
+        private NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table;
+        private final Map<N, Set<GraphNeighbors.Edge<N, E>>> copied;
+
+        private Draft(NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table) {
+            this.table = table;
+            this.copied = new HashMap<>();
+        }
+
+        // returns the edge set of node as the batch has left it so far, or null if there is no such node
+        private Set<GraphNeighbors.Edge<N, E>> edges(N node) {
+            Set<GraphNeighbors.Edge<N, E>> edges = copied.get(node);
+            return edges != null ? edges : table.get(node);
+        }
+
+        // returns a writable copy of the edge set of node, making the copy on first use within a commit
+        private Set<GraphNeighbors.Edge<N, E>> writable(N node) {
+            Set<GraphNeighbors.Edge<N, E>> edges = copied.get(node);
+            if (edges == null) {
+                Set<GraphNeighbors.Edge<N, E>> base = table.get(node);
+                if (base == null) {
+                    throw new IllegalArgumentException("Node is not in the graph: " + node);
+                }
+                edges = new LinkedHashSet<>(base);
+                copied.put(node, edges);
+            }
+            return edges;
+        }
+    }
+
+    /**
+     * <b>NodeTable</b> is an immutable hash trie from nodes to values. Each level of the trie picks one of 32
+     * slots by the next 5 bits of the hash of a key, and with() copies only the slots on the path to the key, so
+     * every version of the table shares the rest with the one it was made from.
+     */
+    private static final class NodeTable<K, V> {
+
+        // Representation Invariant:
+        // slots.length == WIDTH, and every slot is null, a NodeTable one level down, or a non-empty chain of
+        // Entries with distinct keys. Above the last level, the entries of a chain all have the same hash.
+        // size is the number of entries in this table and every table below it.
+
+        private static final int BITS = 5;
+        private static final int WIDTH = 1 << BITS;
+        private static final NodeTable<?, ?> EMPTY = new NodeTable<>(new Object[WIDTH], 0);
+
+        private final Object[] slots;
+        private final int size;
+
+        private NodeTable(Object[] slots, int size) {
+            this.slots = slots;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> NodeTable<K, V> empty() {
+            return (NodeTable<K, V>) EMPTY;
+        }
+
+        // returns the value of key, or null if it has none
+        @SuppressWarnings("unchecked")
+        private V get(K key) {
+            int hash = key.hashCode();
+            NodeTable<K, V> level = this;
+            for (int shift = 0; ; shift += BITS) {
+                Object slot = level.slots[(hash >>> shift) & (WIDTH - 1)];
+                if (slot instanceof NodeTable) {
+                    level = (NodeTable<K, V>) slot;
+                } else {
+                    for (Entry<K, V> e = (Entry<K, V>) slot; e != null; e = e.next) {
+                        if (e.hash == hash && e.key.equals(key)) {
+                            return e.value;
+                        }
+                    }
+                    return null;
+                }
+            }
+        }
+
+        // returns a table with the entries of this one, and value as the value of key
+        private NodeTable<K, V> with(K key, V value) {
+            return with(key, key.hashCode(), value, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private NodeTable<K, V> with(K key, int hash, V value, int shift) {
+            int i = (hash >>> shift) & (WIDTH - 1);
+            Object[] copy = slots.clone();
+            Object slot = slots[i];
+            if (slot instanceof NodeTable) {
+                NodeTable<K, V> child = (NodeTable<K, V>) slot;
+                NodeTable<K, V> updated = child.with(key, hash, value, shift + BITS);
+                copy[i] = updated;
+                return new NodeTable<>(copy, size + updated.size - child.size);
+            }
+            Entry<K, V> chain = (Entry<K, V>) slot;
+            if (chain == null) {
+                copy[i] = new Entry<>(key, hash, value, null);
+                return new NodeTable<>(copy, size + 1);
+            }
+            if (chain.hash != hash && shift + BITS < Integer.SIZE) {
+                // the chain and key part ways further down, so the slot becomes a table one level down
+                NodeTable<K, V> child = empty();
+                for (Entry<K, V> e = chain; e != null; e = e.next) {
+                    child = child.with(e.key, e.hash, e.value, shift + BITS);
+                }
+                child = child.with(key, hash, value, shift + BITS);
+                copy[i] = child;
+                return new NodeTable<>(copy, size + child.size - chain.length());
+            }
+            Entry<K, V> replaced = null;
+            boolean found = false;
+            for (Entry<K, V> e = chain; e != null; e = e.next) {
+                if (e.hash == hash && e.key.equals(key)) {
+                    found = true;
+                } else {
+                    replaced = new Entry<>(e.key, e.hash, e.value, replaced);
+                }
+            }
+            copy[i] = new Entry<>(key, hash, value, replaced);
+            return new NodeTable<>(copy, found ? size : size + 1);
+        }
+
+        // returns the keys of the table, as a set view
+        private Set<K> keySet() {
+            return new AbstractSet<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public boolean contains(Object o) {
+                    return o != null && get((K) o) != null;
+                }
+
+                @Override
+                public Iterator<K> iterator() {
+                    List<K> keys = new ArrayList<>(size);
+                    collectKeys(keys);
+                    return Collections.unmodifiableList(keys).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private void collectKeys(List<K> keys) {
+            for (Object slot : slots) {
+                if (slot instanceof NodeTable) {
+                    ((NodeTable<K, V>) slot).collectKeys(keys);
+                } else {
+                    for (Entry<K, V> e = (Entry<K, V>) slot; e != null; e = e.next) {
+                        keys.add(e.key);
+                    }
+                }
+            }
+        }
+
+        /**
+         * <b>Entry</b> is one key and its value, in an immutable chain of keys that share a slot.
+         */
+        private static final class Entry<K, V> {
+
+            private final K key;
+            private final int hash;
+            private final V value;
+            private final Entry<K, V> next;
+
+            private Entry(K key, int hash, V value, Entry<K, V> next) {
+                this.key = key;
+                this.hash = hash;
+                this.value = value;
+                this.next = next;
+            }
+
+            // returns the number of entries in the chain starting here
+            private int length() {
+                int length = 0;
+                for (Entry<K, V> e = this; e != null; e = e.next) {
+                    length++;
+                }
+                return length;
+            }
+        }
+    }
+
+    /**
+     * <b>Snapshot</b> is one immutable, published version of the graph, shared by every Epoch that pins it. It stays
+     * readable until it is superseded and every Epoch pinning it is closed.
+     */
+    private final class Snapshot {
+
+        // Abstraction Function:
+        // Snapshot sn represents the graph sn.table as it was at version sn.version.
+
+        // Representation Invariant:
+        // pins >= 0, and table != null while pins > 0. Every set in table is unmodifiable.
+        // pins is the number of open Epochs pinning the snapshot, plus one while it is current.
+
+        private final long version;
+        private volatile NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table;
+        private final AtomicInteger pins;
+
+        private Snapshot(long version, NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table) {
+            this.version = version;
+            this.table = table;
+            this.pins = new AtomicInteger(1);
+        }
+
+        // adds a pin unless the snapshot has already been reclaimed, returning whether it succeeded
+        private boolean tryPin() {
+            while (true) {
+                int n = pins.get();
+                if (n == 0) {
+                    return false;
+                }
+                if (pins.compareAndSet(n, n + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        // removes a pin, reclaiming the snapshot when the last one goes away
+        // spec.requires the caller holds a pin it has not removed yet
+        private void unpin() {
+            if (pins.decrementAndGet() == 0) {
+                live.remove(version);
+                table = null;
+            }
+        }
+    }
+
+    /** * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     * <b>Epoch</b> is one reader's pin on an immutable, published version of the graph. Every call to pin()
+     * returns a new Epoch, which reads its version until it is closed.
+     */
+    public class Epoch implements GraphNeighbors<N, E>, AutoCloseable {
+
+        // Abstraction Function:
+        // Epoch ep represents the graph ep.snapshot.table as it was at version ep.snapshot.version, while
+        // ep.closed is false.
+
+        // Representation Invariant:
+        // snapshot != null, and the Epoch holds one pin on snapshot while closed is false.
+
+        private final Snapshot snapshot;
+        private final AtomicBoolean closed;
+
+        private Epoch(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.closed = new AtomicBoolean(false);
+        }
+
+        /**
+         * @return the version of the graph this epoch shows
+         */
+        public long version() {
+            return snapshot.version;
+        }
+
+        /**
+         * @param nodeData the data held within the node
+         * @return true if this epoch contains the node. Else, false.
+         * @throws IllegalStateException if the epoch was already closed
+         * @spec.requires nodeData != null
+         */
+        public boolean containsNode(N nodeData) {
+            if (nodeData == null) { throw new IllegalArgumentException(); }
+            return table().get(nodeData) != null;
+        }
+
+        /**
+         * @param fromNode the node where the edge starts from
+         * @param toNode   the node where the edge points to
+         * @param edgeData the data held within the edge
+         * @return true if this epoch contains an edge storing edgeData from fromNode to toNode. Else, false.
+         * @throws IllegalStateException if the epoch was already closed
+         * @spec.requires fromNode, toNode, edgeData != null
+         */
+        public boolean containsEdge(N fromNode, N toNode, E edgeData) {
+            if (fromNode == null || toNode == null || edgeData == null) {
+                throw new IllegalArgumentException("Non-null parameters only");
+            }
+            Set<GraphNeighbors.Edge<N, E>> edges = table().get(fromNode);
+            return edges != null && edges.contains(new GraphNeighbors.Edge<>(fromNode, toNode, edgeData));
+        }
+
+        /**
+         * @return an unmodifiable view of all nodes in this epoch
+         * @throws IllegalStateException if the epoch was already closed
+         */
+        public Set<N> allNodes() {
+            return table().keySet();
+        }
+
+        /**
+         * @param nodeName The data stored in the node
+         * @return the immutable set of all edges pointing outward from the parameter node in this epoch, or an
+         * empty set if the epoch does not contain it
+         * @throws IllegalStateException if the epoch was already closed
+         * @spec.requires nodeName != null
+         */
+        @Override
+        public Set<GraphNeighbors.Edge<N, E>> outgoingEdges(N nodeName) {
+            if (nodeName == null) { throw new IllegalArgumentException("No null arguments"); }
+            Set<GraphNeighbors.Edge<N, E>> edges = table().get(nodeName);
+            return edges == null ? Collections.emptySet() : edges;
+        }
+
+        /**
+         * @spec.effects releases this epoch's pin on its version, reclaiming the version if it is no longer
+         * current and no other epoch pins it. Closing an epoch again has no further effect.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                snapshot.unpin();
+            }
+        }
+
+        // returns the node table, failing if the epoch was closed
+        private NodeTable<N, Set<GraphNeighbors.Edge<N, E>>> table() {
+            if (closed.get()) {
+                throw new IllegalStateException("Epoch " + snapshot.version + " was already closed");
+            }
+            return snapshot.table;
+        }
+    }
+
+    /** * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     * <b>Batch</b> stages mutations without making them visible to any reader until commit() publishes all of
+     * them at once. A batch is meant to be used by a single thread.
+     */
+    public class Batch {
+
+        private final List<Mutation<N, E>> mutations;
+        private boolean committed;
+
+        private Batch() {
+            mutations = new ArrayList<>();
+            committed = false;
+        }
+
+        /**
+         * @param nodeData the node to add
+         * @return this batch
+         * @spec.requires nodeData != null
+         * @spec.effects stages adding nodeData, which does nothing if the graph contains it at commit time
+         */
+        public Batch addNode(N nodeData) {
+            if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+            stage(draft -> {
+                if (draft.edges(nodeData) == null) {
+                    draft.table = draft.table.with(nodeData, Collections.emptySet());
+                }
+            });
+            return this;
+        }
+
+        /**
+         * @param fromNode the node where the edge starts from
+         * @param toNode   the node where the edge points to
+         * @param edgeData the data held within the edge
+         * @return this batch
+         * @spec.requires fromNode, toNode, edgeData != null
+         * @spec.effects stages adding the edge, which does nothing if the graph contains it at commit time and
+         * makes the commit fail if either node is missing then
+         */
+        public Batch addEdge(N fromNode, N toNode, E edgeData) {
+            if (fromNode == null || toNode == null || edgeData == null) { throw new NullPointerException(); }
+            stage(draft -> {
+                if (draft.edges(toNode) == null) {
+                    throw new IllegalArgumentException("Node is not in the graph: " + toNode);
+                }
+                GraphNeighbors.Edge<N, E> edge = new GraphNeighbors.Edge<>(fromNode, toNode, edgeData);
+                Set<GraphNeighbors.Edge<N, E>> edges = draft.edges(fromNode);
+                if (edges == null || !edges.contains(edge)) {
+                    draft.writable(fromNode).add(edge);
+                }
+            });
+            return this;
+        }
+
+        /**
+         * @param fromNode the node where the edge starts from
+         * @param toNode   the node where the edge points to
+         * @param edgeData the data held within the edge
+         * @return this batch
+         * @spec.requires fromNode, toNode, edgeData != null
+         * @spec.effects stages removing the edge, which does nothing if the graph does not contain it at commit time
+         */
+        public Batch removeEdge(N fromNode, N toNode, E edgeData) {
+            if (fromNode == null || toNode == null || edgeData == null) { throw new NullPointerException(); }
+            stage(draft -> {
+                GraphNeighbors.Edge<N, E> edge = new GraphNeighbors.Edge<>(fromNode, toNode, edgeData);
+                Set<GraphNeighbors.Edge<N, E>> edges = draft.edges(fromNode);
+                // an absent edge leaves the set of fromNode shared with the previous epoch
+                if (edges != null && edges.contains(edge)) {
+                    draft.writable(fromNode).remove(edge);
+                }
+            });
+            return this;
+        }
+
+        /**
+         * @return the number of staged mutations
+         */
+        public int size() {
+            return mutations.size();
+        }
+
+        /**
+         * @return the version of the epoch published by this commit
+         * @throws IllegalArgumentException if a staged mutation cannot apply, in which case nothing is published and
+         * the batch is not committed
+         * @throws IllegalStateException if the batch was already committed
+         * @spec.effects atomically publishes every staged mutation, in staging order, as a new epoch
+         */
+        public long commit() {
+            if (committed) { throw new IllegalStateException("Batch was already committed"); }
+            long version = publish(this).version;
+            committed = true;
+            return version;
+        }
+
+        // adds a mutation to the batch
+        private void stage(Mutation<N, E> mutation) {
+            if (committed) { throw new IllegalStateException("Batch was already committed"); }
+            mutations.add(mutation);
+        }
+    }
+}
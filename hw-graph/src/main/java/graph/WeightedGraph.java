@@ -0,0 +1,264 @@
+package graph;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+
+/**
+ * <b>WeightedGraph</b> is a collection of nodes and directed edges, where every edge carries a primitive double
+ * weight instead of boxed edge data. It is the specialization of Graph&lt;N, Double&gt; for weighted searches:
+ * each node is given a dense integer id when it is added, and neighbors can be visited by id or by node without
+ * boxing a weight or allocating an edge object per visit.
+ */
+public class WeightedGraph<N> implements GraphNeighbors<N, Double> {
+
+    // AF(this) = a directed graph whose nodes are nodes.get(0) ... nodes.get(nodes.size() - 1), where node "i" has
+    // one outgoing edge to node targets[i][k] with weight weights[i][k] for every k in [0, degree[i]).
+
+    // Representation Invariant:
+    // nodes, ids, targets, weights, degree != null and nodes contains no null or duplicate elements.
+    // ids.get(nodes.get(i)) == i for every i, and ids.size() == nodes.size().
+    // For every i < nodes.size(): targets[i].length == weights[i].length >= degree[i] and
+    // 0 <= targets[i][k] < nodes.size() for every k < degree[i].
+    // No two edges of a node have both the same target and the same weight.
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final List<N> nodes;
+    private final Map<N, Integer> ids;
+    private int[][] targets;
+    private double[][] weights;
+    private int[] degree;
+    private int edgeCount;
+
+    /**
+     * A callback receiving the neighbors of a node one at a time.
+     */
+    public interface NeighborVisitor<N> {
+        /**
+         * @param to the node the edge points towards
+         * @param weight the weight of the edge
+         */
+        void visit(N to, double weight);
+    }
+
+    /**
+     * @spec.effects Constructs a new empty WeightedGraph
+     */
+    public WeightedGraph() {
+        nodes = new ArrayList<>();
+        ids = new HashMap<>();
+        targets = new int[INITIAL_CAPACITY][];
+        weights = new double[INITIAL_CAPACITY][];
+        degree = new int[INITIAL_CAPACITY];
+        edgeCount = 0;
+    }
+
+    /**
+     * @param nodeData The data that will be stored in a node that gets added to the graph
+     * @return the dense id of the node
+     * @spec.requires nodeData != null
+     * @spec.effects Inserts an additional node to the graph if it does not contain it already
+     */
+    public int addNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException("Non-null parameters only"); }
+        Integer id = ids.get(nodeData);
+        if (id != null) {
+            return id;
+        }
+        int newId = nodes.size();
+        if (newId == degree.length) {
+            int capacity = degree.length * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+        }
+        nodes.add(nodeData);
+        ids.put(nodeData, newId);
+        targets[newId] = new int[0];
+        weights[newId] = new double[0];
+        return newId;
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param weight   the weight of the edge
+     * @spec.requires fromNode, toNode != null and graph contains both fromNode and toNode
+     * @spec.effects Creates a new edge of the given weight from fromNode to toNode, unless an edge with the same
+     * weight already connects them
+     */
+    public void addEdge(N fromNode, N toNode, double weight) {
+        if (fromNode == null || toNode == null) { throw new NullPointerException(); }
+        addEdge(idOf(fromNode), idOf(toNode), weight);
+    }
+
+    /**
+     * @param from the id of the node where the edge starts from
+     * @param to   the id of the node where the edge points to
+     * @param weight the weight of the edge
+     * @spec.requires 0 &lt;= from, to &lt; nodeCount()
+     * @spec.effects Creates a new edge of the given weight from node "from" to node "to", unless an edge with the
+     * same weight already connects them
+     */
+    public void addEdge(int from, int to, double weight) {
+        if (from < 0 || from >= nodes.size() || to < 0 || to >= nodes.size()) {
+            throw new IllegalArgumentException("Both nodes must be in the graph");
+        }
+        if (containsEdge(from, to, weight)) {
+            return;
+        }
+        int d = degree[from];
+        if (d == targets[from].length) {
+            int capacity = Math.max(INITIAL_CAPACITY, d * 2);
+            targets[from] = Arrays.copyOf(targets[from], capacity);
+            weights[from] = Arrays.copyOf(weights[from], capacity);
+        }
+        targets[from][d] = to;
+        weights[from][d] = weight;
+        degree[from] = d + 1;
+        edgeCount++;
+    }
+
+    /**
+     * @param nodeData the node to look up
+     * @return true if the graph contains the node. Else, false.
+     * @spec.requires nodeData != null
+     */
+    public boolean containsNode(N nodeData) {
+        if (nodeData == null) { throw new IllegalArgumentException(); }
+        return ids.containsKey(nodeData);
+    }
+
+    /**
+     * @param fromNode the node where the edge starts from
+     * @param toNode   the node where the edge points to
+     * @param weight   the weight of the edge
+     * @return true if the graph contains an edge of the given weight from fromNode to toNode. Else, false.
+     * @spec.requires fromNode, toNode != null
+     */
+    public boolean containsEdge(N fromNode, N toNode, double weight) {
+        Integer from = ids.get(fromNode);
+        Integer to = ids.get(toNode);
+        return from != null && to != null && containsEdge(from, to, weight);
+    }
+
+    // returns true if node "from" already has an edge of the given weight towards node "to"
+    private boolean containsEdge(int from, int to, double weight) {
+        int[] row = targets[from];
+        double[] rowWeights = weights[from];
+        for (int k = 0; k < degree[from]; k++) {
+            if (row[k] == to && Double.compare(rowWeights[k], weight) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param node the node to look up
+     * @return the dense id of node, or -1 if the graph does not contain it
+     * @spec.requires node != null
+     */
+    public int idOf(N node) {
+        if (node == null) { throw new IllegalArgumentException("No null arguments"); }
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the node with the given id
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public N nodeAt(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @return the number of edges pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int outDegree(int id) {
+        return degree[id];
+    }
+
+    /**
+     * @param id the dense id of a node
+     * @param visitor receives the target id and weight of every edge pointing outward from the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount() and visitor != null
+     */
+    public void forEachNeighbor(int id, IdNeighborVisitor visitor) {
+        int[] row = targets[id];
+        double[] rowWeights = weights[id];
+        for (int k = 0; k < degree[id]; k++) {
+            visitor.visit(row[k], rowWeights[k]);
+        }
+    }
+
+    /**
+     * @param node the node whose neighbors are visited
+     * @param visitor receives the target node and weight of every edge pointing outward from node
+     * @spec.requires node != null, visitor != null and the graph contains node
+     */
+    public void forEachNeighbor(N node, NeighborVisitor<? super N> visitor) {
+        int id = idOf(node);
+        if (id < 0) { throw new IllegalArgumentException("Node is not in the graph"); }
+        int[] row = targets[id];
+        double[] rowWeights = weights[id];
+        for (int k = 0; k < degree[id]; k++) {
+            visitor.visit(nodes.get(row[k]), rowWeights[k]);
+        }
+    }
+
+    /**
+     * @param nodeName The data stored in the node
+     * @return the Set of all edges pointing outward from the parameter node, or an empty set if the graph does
+     * not contain it
+     * @spec.requires nodeName != null
+     */
+    @Override
+    public Set<GraphNeighbors.Edge<N, Double>> outgoingEdges(N nodeName) {
+        int id = idOf(nodeName);
+        Set<GraphNeighbors.Edge<N, Double>> edgeSet = new HashSet<>();
+        if (id < 0) {
+            return edgeSet;
+        }
+        for (int k = 0; k < degree[id]; k++) {
+            edgeSet.add(new GraphNeighbors.Edge<>(nodeName, nodes.get(targets[id][k]), weights[id][k]));
+        }
+        return edgeSet;
+    }
+
+    /**
+     * @return an immutable compressed sparse row snapshot of this graph that keeps the ids of this graph
+     */
+    public FrozenGraph<N> freeze() {
+        int[] offsets = new int[nodes.size() + 1];
+        int[] csrTargets = new int[edgeCount];
+        double[] csrWeights = new double[edgeCount];
+        int e = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            offsets[i] = e;
+            System.arraycopy(targets[i], 0, csrTargets, e, degree[i]);
+            System.arraycopy(weights[i], 0, csrWeights, e, degree[i]);
+            e += degree[i];
+        }
+        offsets[nodes.size()] = e;
+        return new FrozenGraph<>(new ArrayList<>(nodes), new HashMap<>(ids), offsets, csrTargets, csrWeights);
+    }
+}
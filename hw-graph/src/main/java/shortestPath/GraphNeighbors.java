@@ -0,0 +1,103 @@
+package shortestPath;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A <b>GraphNeighbors</b> is any directed graph that can list the edges pointing outward from a node. It is all
+ * that Paths needs to search a graph, so every graph in the graph package implements it.
+ */
+public interface GraphNeighbors<N, E> {
+
+    /**
+     * @param node the node whose edges are listed
+     * @return the edges pointing outward from node, each with node as its source
+     * @spec.requires node != null and the graph contains node
+     */
+    Set<Edge<N, E>> outgoingEdges(N node);
+
+    /** * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     * <b>Edge</b> is an immutable directed edge from a source node to a destination node, holding a label.
+     */
+    final class Edge<N, E> {
+
+        // Abstraction Function:
+        // Edge e represents the edge pointing from e.source towards e.dest, labeled with e.label.
+
+        // Representation Invariant:
+        // For some Edge e, e.source, e.dest, e.label != null
+
+        private final N source;
+        private final N dest;
+        private final E label;
+
+        /**
+         * @param source the node the edge points outward from
+         * @param dest the node the edge points towards
+         * @param label the label of the edge
+         * @spec.requires source, dest, label != null
+         * @spec.effects creates a new Edge pointing from source to dest, labeled with label
+         */
+        public Edge(N source, N dest, E label) {
+            if (source == null || dest == null || label == null) {
+                throw new IllegalArgumentException("No null arguments");
+            }
+            this.source = source;
+            this.dest = dest;
+            this.label = label;
+        }
+
+        /**
+         * @return the node the edge points outward from
+         */
+        public N getSource() {
+            return source;
+        }
+
+        /**
+         * @return the node the edge points towards
+         */
+        public N getDest() {
+            return dest;
+        }
+
+        /**
+         * @return the label of the edge
+         */
+        public E getLabel() {
+            return label;
+        }
+
+        /**
+         * @param obj the object being checked with if equal
+         * @return true if obj is an Edge with equal source, destination and label. Else, false.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Edge)) {
+                return false;
+            }
+            Edge<?, ?> other = (Edge<?, ?>) obj;
+            return source.equals(other.source) && dest.equals(other.dest) && label.equals(other.label);
+        }
+
+        /**
+         * @return a hash code of the source, destination and label of the edge
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, dest, label);
+        }
+
+        /**
+         * @return the edge as "source -&gt; dest (label)"
+         */
+        @Override
+        public String toString() {
+            return source + " -> " + dest + " (" + label + ")";
+        }
+    }
+}
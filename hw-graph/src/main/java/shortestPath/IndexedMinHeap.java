@@ -0,0 +1,219 @@
+package shortestPath;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <b>IndexedMinHeap</b> is a d-ary min-heap of int ids keyed by primitive doubles, with a position index so the key
+ * of an id already in the heap can be lowered in place. A Dijkstra search over it pushes every node at most once and
+ * decreases its key instead of pushing stale copies, so the heap never holds more entries than there are nodes, and
+ * nothing is boxed. A wider heap is shallower, which makes decrease-key, the most frequent operation of a search,
+ * cheaper at the cost of more comparisons per poll.
+ */
+public final class IndexedMinHeap {
+
+    // AF(this) = the set of pairs (heap[i], keys[i]) for i in [0, size), where keys[i] is the key of id heap[i].
+
+    // Representation Invariant:
+    // heap, keys, position != null, heap.length == keys.length, arity >= 2 and 0 <= size <= heap.length.
+    // position[heap[i]] == i for every i < size, and position[id] == -1 for every other id.
+    // keys[(i - 1) / arity] <= keys[i] for every 0 < i < size.
+
+    /**
+     * The arity searches use unless they choose one, a good balance between the depth of the heap and the width of
+     * a node for sparse graphs.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private int[] heap;
+    private double[] keys;
+    private int[] position;
+    private int size;
+
+    /**
+     * @param capacity the number of ids to make room for, ids [0, capacity)
+     * @spec.requires capacity &gt;= 0
+     * @spec.effects Constructs a new empty 4-ary heap
+     */
+    public IndexedMinHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * @param capacity the number of ids to make room for, ids [0, capacity)
+     * @param arity the number of children of every entry
+     * @spec.requires capacity &gt;= 0 and arity &gt;= 2
+     * @spec.effects Constructs a new empty heap of the given arity
+     */
+    public IndexedMinHeap(int capacity, int arity) {
+        if (capacity < 0 || arity < 2) { throw new IllegalArgumentException("Bad capacity or arity"); }
+        this.arity = arity;
+        heap = new int[Math.max(capacity, 1)];
+        keys = new double[heap.length];
+        position = new int[heap.length];
+        Arrays.fill(position, -1);
+        size = 0;
+    }
+
+    /**
+     * @return true if the heap holds no id. Else, false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of ids in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id an id
+     * @return true if id is in the heap. Else, false.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < position.length && position[id] != -1;
+    }
+
+    /**
+     * @param id an id in the heap
+     * @return the key of id
+     * @spec.requires contains(id)
+     */
+    public double keyOf(int id) {
+        if (!contains(id)) { throw new NoSuchElementException("Id is not in the heap"); }
+        return keys[position[id]];
+    }
+
+    /**
+     * @param id the id to push or lower
+     * @param key the new key of id
+     * @return true if the heap changed, that is id was missing or its key was greater than key. Else, false.
+     * @spec.requires id &gt;= 0
+     * @spec.effects adds id with the given key if it is not in the heap, or lowers its key to the given one if
+     * that is smaller, in O(log n / log arity) time. Ids past the capacity grow the heap.
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        if (id < 0) { throw new IllegalArgumentException("Ids are not negative"); }
+        if (id >= position.length) {
+            grow(id + 1);
+        }
+        int at = position[id];
+        if (at == -1) {
+            if (size == heap.length) {
+                grow(size + 1);
+            }
+            at = size++;
+            heap[at] = id;
+            position[id] = at;
+        } else if (keys[at] <= key) {
+            return false;
+        }
+        keys[at] = key;
+        siftUp(at);
+        return true;
+    }
+
+    /**
+     * @return the smallest key in the heap
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double minKey() {
+        if (size == 0) { throw new NoSuchElementException(); }
+        return keys[0];
+    }
+
+    /**
+     * @return the id with the smallest key, ties broken arbitrarily
+     * @throws NoSuchElementException if the heap is empty
+     * @spec.effects removes the id from the heap
+     */
+    public int poll() {
+        if (size == 0) { throw new NoSuchElementException(); }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            keys[0] = keys[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * @spec.effects removes every id from the heap, in time proportional to the number of ids it held
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    // moves the entry at index i up until its parent has a key no greater than its own
+    private void siftUp(int i) {
+        int id = heap[i];
+        double key = keys[i];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            keys[i] = keys[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        keys[i] = key;
+        position[id] = i;
+    }
+
+    // moves the entry at index i down until none of its children has a smaller key
+    private void siftDown(int i) {
+        int id = heap[i];
+        double key = keys[i];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int end = Math.min(first + arity, size);
+            int least = first;
+            for (int child = first + 1; child < end; child++) {
+                if (keys[child] < keys[least]) {
+                    least = child;
+                }
+            }
+            if (keys[least] >= key) {
+                break;
+            }
+            heap[i] = heap[least];
+            keys[i] = keys[least];
+            position[heap[i]] = i;
+            i = least;
+        }
+        heap[i] = id;
+        keys[i] = key;
+        position[id] = i;
+    }
+
+    // makes room for at least the given number of ids and entries
+    private void grow(int needed) {
+        int capacity = Math.max(needed, heap.length * 2);
+        if (capacity > position.length) {
+            int old = position.length;
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, old, capacity, -1);
+        }
+        if (capacity > heap.length) {
+            heap = Arrays.copyOf(heap, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package shortestPath;
+
+import java.util.*;
+
+/**
+ * <b>Paths</b> finds least-cost paths in any GraphNeighbors with non-negative Double labels, using Dijkstra's
+ * algorithm. Nodes are numbered in the order the search reaches them, so the distances and parents live in
+ * primitive arrays and the frontier is an IndexedMinHeap with a true decrease-key. Graphs that already number
+ * their nodes, like the CsrGraphs of the graph package, are searched faster by graph.Dijkstra, which needs no
+ * hashing at all.
+ */
+public final class Paths {
+
+    private Paths() {
+        // only static methods
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param start the node the path starts at
+     * @param end the node the path ends at
+     * @param <N> the type of the nodes in the graph
+     * @return the edges of a least-cost path from start to end in order, an empty list if start equals end, or
+     * null if end cannot be reached from start
+     * @spec.requires graph, start, end != null, graph contains start, and no label is negative
+     */
+    public static <N> List<GraphNeighbors.Edge<N, Double>> shortestWeightedPath(GraphNeighbors<N, Double> graph,
+                                                                              N start, N end) {
+        if (graph == null || start == null || end == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        // ids in the order nodes are reached, with the distance and the last edge of the best path to each
+        Map<N, Integer> ids = new HashMap<>();
+        List<N> nodes = new ArrayList<>();
+        List<GraphNeighbors.Edge<N, Double>> parent = new ArrayList<>();
+        double[] dist = new double[16];
+        boolean[] settled = new boolean[16];
+        IndexedMinHeap frontier = new IndexedMinHeap(16);
+
+        ids.put(start, 0);
+        nodes.add(start);
+        parent.add(null);
+        dist[0] = 0.0;
+        frontier.insertOrDecrease(0, 0.0);
+        int endId = -1;
+        while (!frontier.isEmpty()) {
+            int id = frontier.poll();
+            settled[id] = true;
+            N node = nodes.get(id);
+            if (node.equals(end)) {
+                endId = id;
+                break;
+            }
+            for (GraphNeighbors.Edge<N, Double> edge : graph.outgoingEdges(node)) {
+                double d = dist[id] + edge.getLabel();
+                Integer to = ids.get(edge.getDest());
+                if (to == null) {
+                    to = nodes.size();
+                    ids.put(edge.getDest(), to);
+                    nodes.add(edge.getDest());
+                    parent.add(edge);
+                    if (to == dist.length) {
+                        dist = Arrays.copyOf(dist, to * 2);
+                        settled = Arrays.copyOf(settled, to * 2);
+                    }
+                    dist[to] = d;
+                    frontier.insertOrDecrease(to, d);
+                } else if (!settled[to] && d < dist[to]) {
+                    dist[to] = d;
+                    parent.set(to, edge);
+                    frontier.insertOrDecrease(to, d);
+                }
+            }
+        }
+        if (endId == -1) {
+            return null;
+        }
+        LinkedList<GraphNeighbors.Edge<N, Double>> path = new LinkedList<>();
+        for (GraphNeighbors.Edge<N, Double> edge = parent.get(endId); edge != null;
+             edge = parent.get(ids.get(edge.getSource()))) {
+            path.addFirst(edge);
+        }
+        return path;
+    }
+}
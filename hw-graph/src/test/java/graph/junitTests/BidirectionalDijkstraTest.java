@@ -0,0 +1,123 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import static graph.junitTests.GraphFixtures.*;
+import static org.junit.Assert.*;
+
+public class BidirectionalDijkstraTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final int SIDE = 30;
+
+    public FrozenGraph<Integer> gridGraph() {
+        // node i sits at (i % SIDE, i / SIDE), linked both ways to its right and lower neighbors
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            if (i % SIDE < SIDE - 1) {
+                g.addEdge(i, i + 1, 1 + (i % 7) / 10.0);
+                g.addEdge(i + 1, i, 1 + (i % 7) / 10.0);
+            }
+            if (i + SIDE < SIDE * SIDE) {
+                g.addEdge(i, i + SIDE, 1 + (i % 5) / 10.0);
+                g.addEdge(i + SIDE, i, 1 + (i % 5) / 10.0);
+            }
+        }
+        return g.freeze();
+    }
+
+    @Test
+    public void incomingEdgesCheck() {
+        FrozenGraph<Integer> directed = randomGraph(50, 200, false, 1);
+        FrozenGraph<Integer> mirrored = randomGraph(50, 200, true, 1);
+        assertFalse(IncomingEdges.of(directed).isMirrored());
+        assertTrue(IncomingEdges.of(mirrored).isMirrored());
+        for (FrozenGraph<Integer> g : List.of(directed, mirrored)) {
+            IncomingEdges incoming = IncomingEdges.of(g);
+            int listed = 0;
+            for (int v = 0; v < g.nodeCount(); v++) {
+                for (int slot = incoming.first(v); slot < incoming.end(v); slot++) {
+                    int e = incoming.edge(slot);
+                    assertEquals(v, g.target(e));
+                    int u = incoming.source(slot);
+                    assertTrue(e >= g.firstEdge(u) && e < g.endEdge(u));
+                    listed++;
+                }
+            }
+            assertEquals(g.edgeCount(), listed);
+        }
+    }
+
+    @Test
+    public void matchesDijkstraCheck() {
+        for (boolean mirrored : new boolean[] {false, true}) {
+            FrozenGraph<Integer> g = randomGraph(300, 900, mirrored, 331);
+            Dijkstra oneWay = new Dijkstra(g);
+            BidirectionalDijkstra bothWays = new BidirectionalDijkstra(IncomingEdges.of(g));
+            for (int from = 0; from < 300; from += 23) {
+                for (int to = 0; to < 300; to += 7) {
+                    boolean found = oneWay.search(from, to);
+                    assertEquals(found, bothWays.search(from, to));
+                    if (found) {
+                        assertEquals(oneWay.distance(to), bothWays.distance(), 1e-9);
+                        assertPath(g, bothWays.pathEdges(), from, to, bothWays.distance());
+                    } else {
+                        assertNull(bothWays.pathEdges());
+                        assertEquals(Double.POSITIVE_INFINITY, bothWays.distance(), 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void settlesFewerNodesCheck() {
+        FrozenGraph<Integer> g = gridGraph();
+        EuclideanHeuristic h = EuclideanHeuristic.of(g, i -> i % SIDE, i -> i / SIDE);
+        Dijkstra oneWay = new Dijkstra(g);
+        BidirectionalDijkstra bothWays = new BidirectionalDijkstra(IncomingEdges.of(g));
+        long plain = 0;
+        long twoSided = 0;
+        long guided = 0;
+        long twoSidedGuided = 0;
+        for (int from = 0; from < SIDE * SIDE; from += 61) {
+            for (int to = 0; to < SIDE * SIDE; to += 53) {
+                oneWay.search(from, to);
+                plain += oneWay.settledCount();
+                double expected = oneWay.distance(to);
+                oneWay.search(from, to, h);
+                guided += oneWay.settledCount();
+                assertTrue(bothWays.search(from, to));
+                twoSided += bothWays.settledCount();
+                assertEquals(expected, bothWays.distance(), 1e-9);
+                assertTrue(bothWays.search(from, to, h));
+                twoSidedGuided += bothWays.settledCount();
+                assertEquals(expected, bothWays.distance(), 1e-9);
+                assertPath(g, bothWays.pathEdges(), from, to, expected);
+            }
+        }
+        assertTrue(twoSided < plain);
+        assertTrue(twoSidedGuided < guided);
+    }
+
+    @Test
+    public void sameNodeCheck() {
+        BidirectionalDijkstra search = new BidirectionalDijkstra(IncomingEdges.of(gridGraph()));
+        assertTrue(search.search(5, 5));
+        assertEquals(0.0, search.distance(), 0.0);
+        assertEquals(0, search.pathEdges().length);
+    }
+
+    @Test
+    public void noSearchYetCheck() {
+        assertNull(new BidirectionalDijkstra(IncomingEdges.of(gridGraph())).pathEdges());
+    }
+}
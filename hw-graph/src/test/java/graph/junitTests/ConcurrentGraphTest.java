@@ -0,0 +1,186 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class ConcurrentGraphTest {
+
+    private static final int THREADS = 8;
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public ConcurrentGraph<Integer, Integer> nodesGraph(int count) {
+        ConcurrentGraph<Integer, Integer> g = new ConcurrentGraph<>();
+        for (int i = 0; i < count; i++) {
+            g.addNode(i);
+        }
+        return g;
+    }
+
+    // runs task on THREADS threads that start at the same time, and rethrows the first failure
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<Void> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void basicOperationsCheck() {
+        ConcurrentGraph<Integer, Integer> g = nodesGraph(2);
+        assertFalse(g.addNode(0));
+        assertTrue(g.addEdge(0, 1, 5));
+        assertFalse(g.addEdge(0, 1, 5));
+        assertTrue(g.containsEdge(0, 1, 5));
+        assertEquals(1, g.outgoingEdges(0).size());
+        assertTrue(g.removeEdge(0, 1, 5));
+        assertFalse(g.removeEdge(0, 1, 5));
+        assertFalse(g.containsEdge(0, 1, 5));
+        assertTrue(g.outgoingEdges(7).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addEdgeMissingNodeCheck() {
+        nodesGraph(1).addEdge(0, 1, 1);
+    }
+
+    @Test
+    public void copyFromGraphCheck() {
+        Graph<Integer, Integer> base = new GraphBuilder<Integer, Integer>()
+                .addEdge(0, 1, 1).addEdge(1, 2, 2).addEdge(2, 0, 3).build();
+        ConcurrentGraph<Integer, Integer> g = new ConcurrentGraph<>(base);
+        for (Integer node : base.allNodes()) {
+            assertEquals(base.outgoingEdges(node), g.outgoingEdges(node));
+        }
+    }
+
+    @Test
+    public void snapshotsAreImmutableCheck() {
+        ConcurrentGraph<Integer, Integer> g = nodesGraph(3);
+        g.addEdge(0, 1, 1);
+        Set<GraphNeighbors.Edge<Integer, Integer>> before = g.outgoingEdges(0);
+        g.addEdge(0, 2, 2);
+        assertEquals(1, before.size());
+        assertEquals(2, g.outgoingEdges(0).size());
+    }
+
+    @Test
+    public void racingAddsSucceedOnceCheck() throws Exception {
+        ConcurrentGraph<Integer, Integer> g = nodesGraph(50);
+        AtomicInteger successes = new AtomicInteger();
+        runConcurrently(() -> {
+            for (int from = 0; from < 50; from++) {
+                for (int to = 0; to < 50; to++) {
+                    if (g.addEdge(from, to, from * to)) {
+                        successes.incrementAndGet();
+                    }
+                }
+            }
+            return null;
+        });
+        assertEquals(2500, successes.get());
+        for (int from = 0; from < 50; from++) {
+            assertEquals(50, g.outgoingEdges(from).size());
+        }
+    }
+
+    @Test
+    public void addRemoveBalanceCheck() throws Exception {
+        ConcurrentGraph<Integer, Integer> g = nodesGraph(4);
+        AtomicInteger adds = new AtomicInteger();
+        AtomicInteger removes = new AtomicInteger();
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20000; i++) {
+                int from = random.nextInt(4);
+                int to = random.nextInt(4);
+                int data = random.nextInt(3);
+                if (random.nextBoolean()) {
+                    if (g.addEdge(from, to, data)) {
+                        adds.incrementAndGet();
+                    }
+                } else if (g.removeEdge(from, to, data)) {
+                    removes.incrementAndGet();
+                }
+            }
+            return null;
+        });
+        int present = 0;
+        for (int from = 0; from < 4; from++) {
+            present += g.outgoingEdges(from).size();
+        }
+        // every successful removal matches exactly one earlier successful add
+        assertEquals(adds.get() - removes.get(), present);
+    }
+
+    @Test
+    public void readersSeeWritesInOrderCheck() throws Exception {
+        // one writer per source node adds edges 0, 1, 2, ... in order, so a linearizable reader that sees edge k
+        // from a node must also see every earlier edge from it, and never sees an edge disappear
+        int edges = 2000;
+        ConcurrentGraph<Integer, Integer> g = nodesGraph(THREADS + 1);
+        AtomicInteger nextWriter = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        List<Future<Void>> readResults = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readResults.add(readers.submit(() -> {
+                int[] lastSeen = new int[THREADS];
+                while (!done.get()) {
+                    for (int from = 0; from < THREADS; from++) {
+                        Set<GraphNeighbors.Edge<Integer, Integer>> out = g.outgoingEdges(from);
+                        assertTrue(out.size() >= lastSeen[from]);
+                        for (GraphNeighbors.Edge<Integer, Integer> e : out) {
+                            assertTrue(e.getLabel() < out.size());
+                        }
+                        if (out.size() > 0) {
+                            assertTrue(g.containsEdge(from, THREADS, out.size() - 1));
+                        }
+                        lastSeen[from] = out.size();
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            runConcurrently(() -> {
+                int from = nextWriter.getAndIncrement();
+                for (int k = 0; k < edges; k++) {
+                    assertTrue(g.addEdge(from, THREADS, k));
+                }
+                return null;
+            });
+        } finally {
+            done.set(true);
+            readers.shutdown();
+        }
+        for (Future<Void> f : readResults) {
+            f.get();
+        }
+        for (int from = 0; from < THREADS; from++) {
+            assertEquals(edges, g.outgoingEdges(from).size());
+        }
+    }
+}
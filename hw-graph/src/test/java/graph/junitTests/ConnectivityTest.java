@@ -0,0 +1,118 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+
+public class ConnectivityTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public Graph<String, Integer> twoIslandsGraph() {
+        // A -> B <- C and D -> E, with F alone
+        return new GraphBuilder<String, Integer>()
+                .addEdge("A", "B", 1).addEdge("C", "B", 2).addEdge("D", "E", 3).addNode("F").build();
+    }
+
+    @Test
+    public void frozenComponentsCheck() {
+        FrozenGraph<String> f = twoIslandsGraph().freeze(Integer::doubleValue);
+        Connectivity c = Connectivity.of(f);
+        assertEquals(3, c.componentCount());
+        assertTrue(c.connected(f.idOf("A"), f.idOf("C")));
+        assertTrue(c.connected(f.idOf("E"), f.idOf("D")));
+        assertFalse(c.connected(f.idOf("A"), f.idOf("D")));
+        assertFalse(c.connected(f.idOf("F"), f.idOf("B")));
+        assertEquals(c.componentOf(f.idOf("A")), c.componentOf(f.idOf("B")));
+    }
+
+    @Test
+    public void graphGrowsComponentsCheck() {
+        Graph<String, Integer> g = twoIslandsGraph();
+        assertEquals(3, g.componentCount());
+        assertFalse(g.connected("A", "E"));
+        g.addEdge("E", "C", 4);
+        assertTrue(g.connected("A", "E"));
+        g.addNode("G");
+        assertEquals(3, g.componentCount());
+        assertFalse(g.connected("A", "Z"));
+    }
+
+    @Test
+    public void removalsSplitComponentsCheck() {
+        Graph<String, Integer> g = twoIslandsGraph();
+        g.addEdge("B", "D", 5);
+        assertTrue(g.connected("A", "E"));
+        g.removeEdge("B", "D", 5);
+        assertFalse(g.connected("A", "E"));
+        assertEquals(3, g.componentCount());
+        g.removeNode("B");
+        assertFalse(g.connected("A", "C"));
+        assertFalse(g.connected("A", "B"));
+        assertEquals(4, g.componentCount());
+        g.addEdge("A", "C", 6);
+        assertTrue(g.connected("C", "A"));
+    }
+
+    @Test
+    public void growthWhileStaleCheck() {
+        // edges and nodes added after a removal, before any query, are part of the lazily rebuilt components
+        Graph<String, Integer> g = twoIslandsGraph();
+        assertEquals(3, g.componentCount());
+        g.removeEdge("A", "B", 1);
+        g.addEdge("F", "D", 7);
+        g.addNode("G");
+        g.addEdge("G", "A", 8);
+        assertTrue(g.connected("F", "E"));
+        assertTrue(g.connected("A", "G"));
+        assertFalse(g.connected("A", "B"));
+        assertEquals(3, g.componentCount());
+        // after the rebuild, additions update the components again without another removal
+        g.addEdge("B", "G", 9);
+        assertTrue(g.connected("A", "C"));
+        assertEquals(2, g.componentCount());
+    }
+
+    @Test
+    public void queriesDoNotWriteCheck() throws Exception {
+        // a long chain, queried from many threads at once, answers the same as it did alone
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < 2000; i++) {
+            g.addNode(i);
+            if (i > 0) {
+                g.addEdge(i, i - 1, 1.0);
+            }
+        }
+        g.addNode(2000);
+        Connectivity c = Connectivity.of(g.freeze());
+        int root = c.componentOf(0);
+        List<Thread> threads = new ArrayList<>();
+        AtomicBoolean wrong = new AtomicBoolean();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    if (c.componentOf(i) != root || c.connected(i, 2000)) {
+                        wrong.set(true);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(wrong.get());
+        assertEquals(2, c.componentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIdCheck() {
+        Connectivity.of(twoIslandsGraph().freeze(Integer::doubleValue)).connected(0, 6);
+    }
+}
@@ -0,0 +1,142 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+import shortestPath.Paths;
+
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.*;
+
+public class ContractedGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public FrozenGraph<String> chainGraph() {
+        // A <-> w1 <-> w2 <-> B, a hub B <-> C, B <-> D, and a one-way chain D -> x1 -> x2 -> A
+        WeightedGraph<String> g = new WeightedGraph<>();
+        String[][] twoWay = {{"A", "w1"}, {"w1", "w2"}, {"w2", "B"}, {"B", "C"}, {"B", "D"}};
+        double weight = 1;
+        for (String[] pair : twoWay) {
+            g.addNode(pair[0]);
+            g.addNode(pair[1]);
+            g.addEdge(pair[0], pair[1], weight);
+            g.addEdge(pair[1], pair[0], weight);
+            weight++;
+        }
+        g.addNode("x1");
+        g.addNode("x2");
+        g.addEdge("D", "x1", 10.0);
+        g.addEdge("x1", "x2", 20.0);
+        g.addEdge("x2", "A", 30.0);
+        return g.freeze();
+    }
+
+    @Test
+    public void collapsesChainsCheck() {
+        ContractedGraph<String> c = ContractedGraph.of(chainGraph(), node -> false);
+        // A, B and D have three neighbors or more, C is a dead end
+        for (String node : new String[] {"A", "B", "C", "D"}) {
+            assertTrue(c.containsNode(node));
+        }
+        for (String node : new String[] {"w1", "w2", "x1", "x2"}) {
+            assertFalse(c.containsNode(node));
+        }
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("A", "B", 6.0)), c.outgoingEdges("A"));
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("D", "B", 5.0), new GraphNeighbors.Edge<>("D", "A", 60.0)),
+                c.outgoingEdges("D"));
+    }
+
+    @Test
+    public void mirroredChainsWeighTheSameCheck() {
+        // 0.1 + 0.2 + 0.3 and 0.3 + 0.2 + 0.1 differ in the last bit when summed in walking order
+        WeightedGraph<String> g = new WeightedGraph<>();
+        String[] chain = {"A", "w1", "w2", "B"};
+        double[] weights = {0.1, 0.2, 0.3};
+        for (String node : chain) {
+            g.addNode(node);
+        }
+        for (int i = 0; i < weights.length; i++) {
+            g.addEdge(chain[i], chain[i + 1], weights[i]);
+            g.addEdge(chain[i + 1], chain[i], weights[i]);
+        }
+        ContractedGraph<String> c = ContractedGraph.of(g.freeze(), node -> node.length() == 1);
+        assertEquals(c.outgoingEdges("A").iterator().next().getLabel(),
+                c.outgoingEdges("B").iterator().next().getLabel());
+        assertTrue(IncomingEdges.of(c).isMirrored());
+    }
+
+    @Test
+    public void pinnedNodesKeptCheck() {
+        ContractedGraph<String> c = ContractedGraph.of(chainGraph(), node -> node.equals("w2"));
+        assertTrue(c.containsNode("w2"));
+        assertFalse(c.containsNode("w1"));
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("A", "w2", 3.0)), c.outgoingEdges("A"));
+    }
+
+    @Test
+    public void baseEdgesExpandCheck() {
+        FrozenGraph<String> base = chainGraph();
+        ContractedGraph<String> c = ContractedGraph.of(base, node -> false);
+        int edge = c.findEdge(c.idOf("D"), c.idOf("A"), 60.0);
+        assertTrue(edge >= 0);
+        int[] hops = c.baseEdges(edge);
+        assertEquals(3, hops.length);
+        assertEquals("x1", base.nodeAt(base.target(hops[0])));
+        assertEquals("x2", base.nodeAt(base.target(hops[1])));
+        assertEquals("A", base.nodeAt(base.target(hops[2])));
+        assertEquals(-1, c.findEdge(c.idOf("D"), c.idOf("A"), 59.0));
+        assertEquals(c.baseId(c.idOf("D")), base.idOf("D"));
+    }
+
+    @Test
+    public void shortestDistancesKeptCheck() {
+        // a grid with every other row and column thinned into chains of waypoints
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        int size = 12;
+        for (int i = 0; i < size * size; i++) {
+            g.addNode(i);
+        }
+        for (int r = 0; r < size; r++) {
+            for (int col = 0; col < size; col++) {
+                int id = r * size + col;
+                if (col + 1 < size && r % 3 == 0) {
+                    g.addEdge(id, id + 1, 1.0 + (id % 5));
+                    g.addEdge(id + 1, id, 1.0 + (id % 5));
+                }
+                if (r + 1 < size && col % 4 == 0) {
+                    g.addEdge(id, id + size, 2.0 + (id % 3));
+                    g.addEdge(id + size, id, 2.0 + (id % 3));
+                }
+            }
+        }
+        FrozenGraph<Integer> base = g.freeze();
+        ContractedGraph<Integer> c = ContractedGraph.of(base, node -> node == 0 || node == 143 || node == 75);
+        assertTrue(c.nodeCount() < base.nodeCount());
+        int[] ends = {0, 143, 75};
+        for (int from : ends) {
+            for (int to : ends) {
+                if (from == to) {
+                    continue;
+                }
+                List<GraphNeighbors.Edge<Integer, Double>> full = Paths.shortestWeightedPath(base, from, to);
+                List<GraphNeighbors.Edge<Integer, Double>> reduced = Paths.shortestWeightedPath(c, from, to);
+                assertEquals(full == null, reduced == null);
+                if (full != null) {
+                    assertEquals(cost(full), cost(reduced), 1e-9);
+                }
+            }
+        }
+    }
+
+    private static double cost(List<GraphNeighbors.Edge<Integer, Double>> path) {
+        double total = 0;
+        for (GraphNeighbors.Edge<Integer, Double> e : path) {
+            total += e.getLabel();
+        }
+        return total;
+    }
+}
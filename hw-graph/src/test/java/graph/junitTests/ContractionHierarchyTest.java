@@ -0,0 +1,160 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static graph.junitTests.GraphFixtures.*;
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void matchesDijkstraCheck() {
+        for (boolean mirrored : new boolean[] {false, true}) {
+            FrozenGraph<Integer> g = randomGraph(300, 900, mirrored, 331);
+            Dijkstra oneWay = new Dijkstra(g);
+            HierarchyQuery query = new HierarchyQuery(ContractionHierarchy.build(g));
+            for (int from = 0; from < 300; from += 23) {
+                for (int to = 0; to < 300; to += 7) {
+                    boolean found = oneWay.search(from, to);
+                    assertEquals(found, query.search(from, to));
+                    if (found) {
+                        assertEquals(oneWay.distance(to), query.distance(), 1e-9);
+                        assertPath(g, query.pathEdges(), from, to, query.distance());
+                    } else {
+                        assertNull(query.pathEdges());
+                        assertEquals(Double.POSITIVE_INFINITY, query.distance(), 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void batchWitnessCheck() {
+        // the square 0 - 2 - 1 - 3 - 0: 0 and 1 share no edge, so they are contracted in one batch, and neither may
+        // be the witness that spares the other its shortcut
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < 4; i++) {
+            g.addNode(i);
+        }
+        int[][] sides = {{0, 2}, {2, 1}, {1, 3}, {3, 0}};
+        for (int[] side : sides) {
+            g.addEdge(side[0], side[1], 1.0);
+            g.addEdge(side[1], side[0], 1.0);
+        }
+        FrozenGraph<Integer> square = g.freeze();
+        HierarchyQuery query = new HierarchyQuery(ContractionHierarchy.build(square));
+        Dijkstra oneWay = new Dijkstra(square);
+        for (int from = 0; from < 4; from++) {
+            for (int to = 0; to < 4; to++) {
+                assertTrue(oneWay.search(from, to));
+                assertTrue(query.search(from, to));
+                assertEquals(oneWay.distance(to), query.distance(), 0.0);
+                assertPath(square, query.pathEdges(), from, to, query.distance());
+            }
+        }
+    }
+
+    @Test
+    public void smallGraphsMatchDijkstraCheck() {
+        // small dense graphs, where most batches hold nodes two hops apart
+        for (long seed = 0; seed < 200; seed++) {
+            FrozenGraph<Integer> g = randomGraph(8, 12, seed % 2 == 0, seed);
+            Dijkstra oneWay = new Dijkstra(g);
+            HierarchyQuery query = new HierarchyQuery(ContractionHierarchy.build(g));
+            for (int from = 0; from < 8; from++) {
+                for (int to = 0; to < 8; to++) {
+                    boolean found = oneWay.search(from, to);
+                    assertEquals(found, query.search(from, to));
+                    if (found) {
+                        assertEquals(oneWay.distance(to), query.distance(), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shortcutsUnpackCheck() {
+        FrozenGraph<Integer> g = randomGraph(200, 600, true, 7);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(g);
+        assertTrue(hierarchy.shortcutCount() > 0);
+        for (int e = 0; e < hierarchy.edgeCount(); e++) {
+            int[] unpacked = hierarchy.unpack(e);
+            if (e < g.edgeCount()) {
+                assertArrayEquals(new int[] {e}, unpacked);
+            } else {
+                assertTrue(unpacked.length >= 2);
+            }
+            assertPath(g, unpacked, hierarchy.source(e), hierarchy.target(e), hierarchy.weight(e));
+        }
+    }
+
+    @Test
+    public void sameOnAnyPoolCheck() {
+        FrozenGraph<Integer> g = randomGraph(300, 900, false, 11);
+        ContractionHierarchy<Integer> parallel = ContractionHierarchy.build(g);
+        ContractionHierarchy<Integer> sequential = ContractionHierarchy.build(g, new ForkJoinPool(1));
+        assertEquals(parallel.edgeCount(), sequential.edgeCount());
+        for (int v = 0; v < g.nodeCount(); v++) {
+            assertEquals(parallel.rank(v), sequential.rank(v));
+        }
+        for (int e = 0; e < parallel.edgeCount(); e++) {
+            assertEquals(parallel.firstHalf(e), sequential.firstHalf(e));
+            assertEquals(parallel.secondHalf(e), sequential.secondHalf(e));
+        }
+    }
+
+    @Test
+    public void rebuildFromShortcutsCheck() {
+        FrozenGraph<Integer> g = randomGraph(100, 300, true, 5);
+        ContractionHierarchy<Integer> built = ContractionHierarchy.build(g);
+        int[] rank = new int[g.nodeCount()];
+        for (int v = 0; v < rank.length; v++) {
+            rank[v] = built.rank(v);
+        }
+        int[] firstHalves = new int[built.shortcutCount()];
+        int[] secondHalves = new int[built.shortcutCount()];
+        for (int i = 0; i < firstHalves.length; i++) {
+            firstHalves[i] = built.firstHalf(g.edgeCount() + i);
+            secondHalves[i] = built.secondHalf(g.edgeCount() + i);
+        }
+        ContractionHierarchy<Integer> rebuilt = ContractionHierarchy.of(g, rank, firstHalves, secondHalves);
+        for (int e = 0; e < built.edgeCount(); e++) {
+            assertEquals(built.weight(e), rebuilt.weight(e), 0.0);
+        }
+        // a shortcut whose middle node outranks one of its ends is rejected
+        if (firstHalves.length > 0) {
+            int middle = built.target(firstHalves[0]);
+            int end = built.source(firstHalves[0]);
+            rank[middle] = built.rank(end);
+            rank[end] = built.rank(middle);
+            try {
+                ContractionHierarchy.of(g, rank, firstHalves, secondHalves);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void sameNodeCheck() {
+        HierarchyQuery query = new HierarchyQuery(ContractionHierarchy.build(randomGraph(20, 40, true, 3)));
+        assertTrue(query.search(5, 5));
+        assertEquals(0.0, query.distance(), 0.0);
+        assertEquals(0, query.pathEdges().length);
+    }
+
+    @Test
+    public void noSearchYetCheck() {
+        assertNull(new HierarchyQuery(ContractionHierarchy.build(randomGraph(20, 40, true, 3))).pathEdges());
+    }
+}
@@ -0,0 +1,88 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+import shortestPath.Paths;
+
+import java.util.*;
+import static graph.junitTests.GraphFixtures.*;
+import static org.junit.Assert.*;
+
+public class DijkstraTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public FrozenGraph<String> diamondGraph() {
+        // A -> B -> D is cheaper than A -> C -> D, and E cannot be reached from A
+        return new GraphBuilder<String, Double>()
+                .addEdge("A", "B", 1.0).addEdge("B", "D", 1.0)
+                .addEdge("A", "C", 0.5).addEdge("C", "D", 2.0)
+                .addEdge("E", "A", 1.0)
+                .build().freeze(Double::doubleValue);
+    }
+
+    @Test
+    public void shortestPathCheck() {
+        FrozenGraph<String> g = diamondGraph();
+        Dijkstra search = new Dijkstra(g);
+        assertEquals(-1, search.source());
+        assertTrue(search.search(g.idOf("A"), g.idOf("D")));
+        assertEquals(2.0, search.distance(g.idOf("D")), 0.0);
+        int[] edges = search.pathEdges(g.idOf("D"));
+        assertEquals(2, edges.length);
+        assertEquals(g.idOf("B"), g.target(edges[0]));
+        assertEquals(g.idOf("D"), g.target(edges[1]));
+        assertEquals(0, search.pathEdges(g.idOf("A")).length);
+    }
+
+    @Test
+    public void unreachableCheck() {
+        FrozenGraph<String> g = diamondGraph();
+        Dijkstra search = new Dijkstra(g);
+        assertFalse(search.search(g.idOf("A"), g.idOf("E")));
+        assertNull(search.pathEdges(g.idOf("E")));
+        assertEquals(Double.POSITIVE_INFINITY, search.distance(g.idOf("E")), 0.0);
+        assertEquals(4, search.settledCount());
+    }
+
+    @Test
+    public void reusedEngineForgetsLastSearchCheck() {
+        FrozenGraph<String> g = diamondGraph();
+        Dijkstra search = new Dijkstra(g);
+        assertTrue(search.search(g.idOf("E"), -1));
+        assertTrue(search.isSettled(g.idOf("D")));
+        assertTrue(search.search(g.idOf("C"), -1));
+        assertEquals(g.idOf("C"), search.source());
+        assertTrue(search.isSettled(g.idOf("D")));
+        assertFalse(search.isSettled(g.idOf("A")));
+        assertEquals(2.0, search.distance(g.idOf("D")), 0.0);
+    }
+
+    @Test
+    public void matchesReferenceSearchCheck() {
+        FrozenGraph<Integer> g = randomGraph(300, 1200, false, 331);
+        Dijkstra search = new Dijkstra(g);
+        for (int from = 0; from < 300; from += 37) {
+            for (int to = 0; to < 300; to += 11) {
+                List<GraphNeighbors.Edge<Integer, Double>> expected = Paths.shortestWeightedPath(g, from, to);
+                assertEquals(expected != null, search.search(from, to));
+                if (expected != null) {
+                    double cost = 0;
+                    for (GraphNeighbors.Edge<Integer, Double> edge : expected) {
+                        cost += edge.getLabel();
+                    }
+                    assertEquals(cost, search.distance(to), 1e-9);
+                    assertPath(g, search.pathEdges(to), from, to, cost);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badIdCheck() {
+        new Dijkstra(diamondGraph()).search(0, 5);
+    }
+}
@@ -0,0 +1,102 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+public class EuclideanHeuristicTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final int SIDE = 30;
+
+    // node i sits at (i % SIDE, i / SIDE)
+    private static double x(int node) {
+        return node % SIDE;
+    }
+
+    private static double y(int node) {
+        return node / SIDE;
+    }
+
+    public FrozenGraph<Integer> gridGraph(double weightPerUnit) {
+        // every node is linked both ways to its right and lower neighbors, with weights in proportion to length
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            if (i % SIDE < SIDE - 1) {
+                g.addEdge(i, i + 1, weightPerUnit * (1 + (i % 7) / 10.0));
+                g.addEdge(i + 1, i, weightPerUnit * (1 + (i % 7) / 10.0));
+            }
+            if (i + SIDE < SIDE * SIDE) {
+                g.addEdge(i, i + SIDE, weightPerUnit * (1 + (i % 5) / 10.0));
+                g.addEdge(i + SIDE, i, weightPerUnit * (1 + (i % 5) / 10.0));
+            }
+        }
+        return g.freeze();
+    }
+
+    @Test
+    public void scaleFromEdgesCheck() {
+        EuclideanHeuristic h = EuclideanHeuristic.of(gridGraph(2.0), EuclideanHeuristicTest::x,
+                EuclideanHeuristicTest::y);
+        assertEquals(2.0, h.scale(), 1e-6);
+        assertTrue(h.isAdmissible());
+        assertTrue(h.isInformative());
+        assertEquals(2.0 * 5, h.estimate(0, 3 * SIDE + 4), 1e-6);
+    }
+
+    @Test
+    public void shortEdgeLowersScaleCheck() {
+        // the weights are half the straight-line distance, so the plain distance would overestimate
+        EuclideanHeuristic h = EuclideanHeuristic.of(gridGraph(0.5), EuclideanHeuristicTest::x,
+                EuclideanHeuristicTest::y);
+        assertFalse(h.isAdmissible());
+        assertEquals(0.5, h.scale(), 1e-6);
+    }
+
+    @Test
+    public void freeEdgeFallsBackCheck() {
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        g.addNode(0);
+        g.addNode(1);
+        g.addEdge(0, 1, 0.0);
+        EuclideanHeuristic h = EuclideanHeuristic.of(g.freeze(), EuclideanHeuristicTest::x,
+                EuclideanHeuristicTest::y);
+        assertFalse(h.isInformative());
+        assertEquals(0.0, h.estimate(0, 1), 0.0);
+    }
+
+    @Test
+    public void aStarMatchesDijkstraWithLessWorkCheck() {
+        for (double weightPerUnit : new double[] {0.5, 1.0, 3.0}) {
+            FrozenGraph<Integer> g = gridGraph(weightPerUnit);
+            EuclideanHeuristic h = EuclideanHeuristic.of(g, EuclideanHeuristicTest::x, EuclideanHeuristicTest::y);
+            Dijkstra search = new Dijkstra(g);
+            long plain = 0;
+            long guided = 0;
+            for (int from = 0; from < SIDE * SIDE; from += 97) {
+                for (int to = 0; to < SIDE * SIDE; to += 89) {
+                    assertTrue(search.search(from, to));
+                    double expected = search.distance(to);
+                    plain += search.settledCount();
+                    assertTrue(search.search(from, to, h));
+                    assertEquals(expected, search.distance(to), 1e-9);
+                    guided += search.settledCount();
+                }
+            }
+            assertTrue(guided < plain);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aStarNeedsTargetCheck() {
+        FrozenGraph<Integer> g = gridGraph(1.0);
+        new Dijkstra(g).search(0, -1, EuclideanHeuristic.of(g, EuclideanHeuristicTest::x, EuclideanHeuristicTest::y));
+    }
+}
@@ -0,0 +1,75 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+import shortestPath.Paths;
+
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.*;
+
+public class FilteredGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public Graph<String, Double> diamondGraph() {
+        // A --1--> B --1--> D and A --5--> C --5--> D, with B --1--> C
+        return new GraphBuilder<String, Double>()
+                .addEdge("A", "B", 1.0).addEdge("B", "D", 1.0)
+                .addEdge("A", "C", 5.0).addEdge("C", "D", 5.0)
+                .addEdge("B", "C", 1.0).build();
+    }
+
+    @Test
+    public void edgeFilterCheck() {
+        Graph<String, Double> g = diamondGraph();
+        FilteredGraph<String, Double> cheap = FilteredGraph.ofEdges(g, e -> e.getLabel() < 2);
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("A", "B", 1.0)), cheap.outgoingEdges("A"));
+        assertEquals(1, cheap.outgoingEdges("A").size());
+        assertTrue(cheap.outgoingEdges("C").isEmpty());
+        assertFalse(cheap.outgoingEdges("A").contains(new GraphNeighbors.Edge<>("A", "C", 5.0)));
+    }
+
+    @Test
+    public void nodeFilterHidesEdgesCheck() {
+        Graph<String, Double> g = diamondGraph();
+        FilteredGraph<String, Double> noB = g.filter(node -> !node.equals("B"), edge -> true);
+        assertFalse(noB.showsNode("B"));
+        assertTrue(noB.outgoingEdges("B").isEmpty());
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("A", "C", 5.0)), noB.outgoingEdges("A"));
+    }
+
+    @Test
+    public void searchOnViewCheck() {
+        Graph<String, Double> g = diamondGraph();
+        List<GraphNeighbors.Edge<String, Double>> path = Paths.shortestWeightedPath(
+                FilteredGraph.ofNodes(g, node -> !node.equals("B")), "A", "D");
+        assertEquals(List.of(new GraphNeighbors.Edge<>("A", "C", 5.0), new GraphNeighbors.Edge<>("C", "D", 5.0)),
+                path);
+        assertNull(Paths.shortestWeightedPath(FilteredGraph.ofEdges(g, e -> !e.getDest().equals("D")), "A", "D"));
+    }
+
+    @Test
+    public void stackedViewsShareBaseCheck() {
+        Graph<String, Double> g = diamondGraph();
+        FilteredGraph<String, Double> noC = FilteredGraph.ofNodes(g, node -> !node.equals("C"));
+        FilteredGraph<String, Double> noCNoBD = noC.filter(node -> true, e -> !e.getSource().equals("B")
+                || !e.getDest().equals("D"));
+        assertSame(g, noCNoBD.base());
+        assertEquals(1, noC.outgoingEdges("B").size());
+        assertTrue(noCNoBD.outgoingEdges("B").isEmpty());
+        // views are live, so edges added to the base show up
+        g.addEdge("B", "A", 1.0);
+        assertEquals(1, noCNoBD.outgoingEdges("B").size());
+    }
+
+    @Test
+    public void frozenBaseCheck() {
+        FrozenGraph<String> f = diamondGraph().freeze(Double::doubleValue);
+        FilteredGraph<String, Double> view = FilteredGraph.ofEdges(f, e -> e.getLabel() > 2);
+        assertEquals(1, view.outgoingEdges("A").size());
+    }
+}
@@ -0,0 +1,99 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.Assert.*;
+
+public class FrozenGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public Graph<String, Double> triangleGraph() {
+        // A --1--> B --2--> C --3--> A, and A --4--> C
+        Graph<String, Double> g = new Graph<>();
+        g.addNode("A");
+        g.addNode("B");
+        g.addNode("C");
+        g.addEdge("A", "B", 1.0);
+        g.addEdge("B", "C", 2.0);
+        g.addEdge("C", "A", 3.0);
+        g.addEdge("A", "C", 4.0);
+        return g;
+    }
+
+    @Test
+    public void emptyFreezeCheck() {
+        FrozenGraph<String> f = new Graph<String, Double>().freeze(Double::doubleValue);
+        assertEquals(0, f.nodeCount());
+        assertEquals(0, f.edgeCount());
+        assertEquals(-1, f.idOf("A"));
+        assertTrue(f.outgoingEdges("A").isEmpty());
+    }
+
+    @Test
+    public void countsCheck() {
+        FrozenGraph<String> f = triangleGraph().freeze(Double::doubleValue);
+        assertEquals(3, f.nodeCount());
+        assertEquals(4, f.edgeCount());
+        for (String node : new String[] {"A", "B", "C"}) {
+            assertEquals(node, f.nodeAt(f.idOf(node)));
+            assertTrue(f.containsNode(node));
+        }
+        assertFalse(f.containsNode("D"));
+    }
+
+    @Test
+    public void csrArraysCheck() {
+        FrozenGraph<String> f = triangleGraph().freeze(Double::doubleValue);
+        int a = f.idOf("A");
+        assertEquals(2, f.endEdge(a) - f.firstEdge(a));
+        double total = 0;
+        Set<String> targets = new HashSet<>();
+        for (int e = f.firstEdge(a); e < f.endEdge(a); e++) {
+            targets.add(f.nodeAt(f.target(e)));
+            total += f.weight(e);
+        }
+        assertEquals(Set.of("B", "C"), targets);
+        assertEquals(5.0, total, 0.0);
+    }
+
+    @Test
+    public void forEachNeighborCheck() {
+        FrozenGraph<String> f = triangleGraph().freeze(Double::doubleValue);
+        double[] total = new double[1];
+        int[] count = new int[1];
+        f.forEachNeighbor(f.idOf("A"), (to, weight) -> {
+            total[0] += weight;
+            count[0]++;
+        });
+        assertEquals(2, count[0]);
+        assertEquals(5.0, total[0], 0.0);
+    }
+
+    @Test
+    public void outgoingEdgesMatchGraphCheck() {
+        Graph<String, Double> g = triangleGraph();
+        FrozenGraph<String> f = g.freeze(Double::doubleValue);
+        for (String node : g.allNodes()) {
+            assertEquals(g.outgoingEdges(node), f.outgoingEdges(node));
+        }
+    }
+
+    @Test
+    public void snapshotIgnoresLaterChangesCheck() {
+        Graph<String, Double> g = triangleGraph();
+        FrozenGraph<String> f = g.freeze(Double::doubleValue);
+        g.addNode("D");
+        g.addEdge("A", "D", 5.0);
+        assertFalse(f.containsNode("D"));
+        for (GraphNeighbors.Edge<String, Double> edge : f.outgoingEdges("A")) {
+            assertNotEquals("D", edge.getDest());
+        }
+    }
+}
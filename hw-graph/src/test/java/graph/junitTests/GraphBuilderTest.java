@@ -0,0 +1,93 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class GraphBuilderTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void emptyBuildCheck() {
+        Graph<String, String> g = new GraphBuilder<String, String>().build();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    public void addEdgeAddsNodesCheck() {
+        Graph<String, String> g = new GraphBuilder<String, String>()
+                .addEdge("A", "B", "A -> B")
+                .addNode("C")
+                .build();
+        assertEquals(3, g.allNodes().size());
+        assertTrue(g.containsEdge("A", "B", "A -> B"));
+        assertEquals("A", g.incomingEdgesTo("B").get(0).from());
+    }
+
+    @Test
+    public void duplicatesDroppedCheck() {
+        GraphBuilder<String, String> builder = new GraphBuilder<String, String>()
+                .addNodes(List.of("A", "B", "A"))
+                .addEdge("A", "B", "A -> B")
+                .addEdge("A", "B", "A -> B")
+                .addEdge("A", "B", "2nd A -> B");
+        assertEquals(2, builder.nodeCount());
+        assertEquals(2, builder.edgeCount());
+        Graph<String, String> g = builder.build();
+        assertEquals(2, g.outgoingEdgesFrom("A").size());
+        assertEquals(2, g.incomingEdgesTo("B").size());
+    }
+
+    @Test
+    public void addEdgesFromRowsCheck() {
+        List<String> rows = List.of("A,B,1", "B,C,2", "A,B,1");
+        Graph<String, Integer> g = new GraphBuilder<String, Integer>()
+                .addEdges(rows, row -> row.split(",")[0], row -> row.split(",")[1],
+                        row -> Integer.parseInt(row.split(",")[2]))
+                .build();
+        assertEquals(3, g.allNodes().size());
+        assertEquals(2, g.allEdges().size());
+        assertTrue(g.containsEdge("B", "C", 2));
+    }
+
+    @Test
+    public void freezeMatchesBuildCheck() {
+        GraphBuilder<String, Double> builder = new GraphBuilder<String, Double>()
+                .addEdge("B", "C", 2.0).addEdge("A", "B", 1.0).addEdge("B", "A", 1.5)
+                .addEdge("A", "B", 1.0).addNode("D");
+        FrozenGraph<String> direct = builder.freeze(Double::doubleValue);
+        FrozenGraph<String> built = builder.build().freeze(Double::doubleValue);
+        assertEquals(4, direct.nodeCount());
+        assertEquals(3, direct.edgeCount());
+        for (String node : List.of("A", "B", "C", "D")) {
+            assertEquals(built.outgoingEdges(node), direct.outgoingEdges(node));
+        }
+        int b = direct.idOf("B");
+        assertEquals(2, direct.endEdge(b) - direct.firstEdge(b));
+        assertEquals(direct.idOf("C"), direct.target(direct.firstEdge(b)));
+    }
+
+    @Test
+    public void builtGraphIsMutableCheck() {
+        Graph<String, String> g = new GraphBuilder<String, String>().addEdge("A", "B", "A -> B").build();
+        g.addNode("C");
+        g.addEdge("B", "C", "B -> C");
+        assertTrue(g.getParents("C").contains("B"));
+    }
+
+    @Test
+    public void largeBuildCheck() {
+        GraphBuilder<Integer, Integer> builder = new GraphBuilder<>();
+        for (int i = 1; i < 200000; i++) {
+            builder.addEdge(i - 1, i, i);
+        }
+        Graph<Integer, Integer> g = builder.build();
+        assertEquals(200000, g.allNodes().size());
+        assertTrue(g.containsEdge(199998, 199999, 199999));
+    }
+}
@@ -0,0 +1,47 @@
+package graph.junitTests;
+import graph.*;
+
+import java.util.*;
+import static org.junit.Assert.*;
+
+/**
+ * Graphs and checks shared by the tests of the search engines.
+ */
+final class GraphFixtures {
+
+    private GraphFixtures() {
+    }
+
+    // returns a graph over the nodes [0, nodes) with edges random edges, each weighing a multiple of 1/8 below 125,
+    // and the reverse of each with the same weight if mirrored
+    static FrozenGraph<Integer> randomGraph(int nodes, int edges, boolean mirrored, long seed) {
+        Random random = new Random(seed);
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < nodes; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            int from = random.nextInt(nodes);
+            int to = random.nextInt(nodes);
+            double weight = random.nextInt(1000) / 8.0;
+            g.addEdge(from, to, weight);
+            if (mirrored) {
+                g.addEdge(to, from, weight);
+            }
+        }
+        return g.freeze();
+    }
+
+    // checks that edges form a path of graph from "from" to "to" that costs cost
+    static void assertPath(CsrGraph<?> graph, int[] edges, int from, int to, double cost) {
+        int at = from;
+        double walked = 0;
+        for (int edge : edges) {
+            assertTrue(edge >= graph.firstEdge(at) && edge < graph.endEdge(at));
+            walked += graph.weight(edge);
+            at = graph.target(edge);
+        }
+        assertEquals(to, at);
+        assertEquals(cost, walked, 1e-9);
+    }
+}
@@ -0,0 +1,139 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class GraphListenerTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // records every event it hears as "<version> <kind> <details>"
+    private static class Recorder implements GraphListener<String, Integer> {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void nodeAdded(long version, String node) {
+            events.add(version + " +node " + node);
+        }
+
+        @Override
+        public void nodeRemoved(long version, String node) {
+            events.add(version + " -node " + node);
+        }
+
+        @Override
+        public void edgeAdded(long version, String from, String to, Integer data) {
+            events.add(version + " +edge " + from + to + data);
+        }
+
+        @Override
+        public void edgeRemoved(long version, String from, String to, Integer data) {
+            events.add(version + " -edge " + from + to + data);
+        }
+    }
+
+    public Graph<String, Integer> triangleGraph() {
+        return new GraphBuilder<String, Integer>()
+                .addEdge("A", "B", 1).addEdge("B", "C", 2).addEdge("C", "A", 3).build();
+    }
+
+    @Test
+    public void builtGraphStartsAtZeroCheck() {
+        Graph<String, Integer> g = triangleGraph();
+        assertEquals(0, g.version());
+        g.compact();
+        assertEquals(0, g.version());
+    }
+
+    @Test
+    public void eventsAndVersionsCheck() {
+        Graph<String, Integer> g = triangleGraph();
+        Recorder r = new Recorder();
+        g.addListener(r);
+        g.addNode("D");
+        g.addEdge("C", "D", 4);
+        assertTrue(g.removeEdge("A", "B", 1));
+        assertEquals(Arrays.asList("1 +node D", "2 +edge CD4", "3 -edge AB1"), r.events);
+        assertEquals(3, g.version());
+    }
+
+    @Test
+    public void noEventWithoutChangeCheck() {
+        Graph<String, Integer> g = triangleGraph();
+        Recorder r = new Recorder();
+        g.addListener(r);
+        g.addNode("A");
+        g.addEdge("A", "B", 1);
+        assertFalse(g.removeEdge("A", "C", 1));
+        assertFalse(g.removeNode("Z"));
+        assertTrue(r.events.isEmpty());
+        assertEquals(0, g.version());
+    }
+
+    @Test
+    public void removeNodeReportsEdgesFirstCheck() {
+        Graph<String, Integer> g = triangleGraph();
+        g.addEdge("B", "B", 5);
+        Recorder r = new Recorder();
+        g.addListener(r);
+        assertTrue(g.removeNode("B"));
+        assertEquals(4, r.events.size());
+        assertEquals(new HashSet<>(Arrays.asList("AB1", "BC2", "BB5")),
+                new HashSet<>(Arrays.asList(r.events.get(0).substring(8), r.events.get(1).substring(8),
+                        r.events.get(2).substring(8))));
+        assertEquals("5 -node B", r.events.get(3));
+        assertEquals(5, g.version());
+    }
+
+    @Test
+    public void removeListenerCheck() {
+        Graph<String, Integer> g = triangleGraph();
+        Recorder r = new Recorder();
+        g.addListener(r);
+        g.addNode("D");
+        assertTrue(g.removeListener(r));
+        assertFalse(g.removeListener(r));
+        g.addNode("E");
+        assertEquals(Collections.singletonList("1 +node D"), r.events);
+        assertEquals(2, g.version());
+    }
+
+    @Test
+    public void selectiveInvalidationCheck() {
+        // caches the out-degree of each node, dropping only the entries a change touches
+        Graph<String, Integer> g = triangleGraph();
+        Map<String, Integer> degrees = new HashMap<>();
+        g.addListener(new GraphListener<String, Integer>() {
+            @Override
+            public void edgeAdded(long version, String from, String to, Integer data) {
+                degrees.remove(from);
+            }
+
+            @Override
+            public void edgeRemoved(long version, String from, String to, Integer data) {
+                degrees.remove(from);
+            }
+        });
+        for (String node : g.allNodes()) {
+            degrees.put(node, g.outDegree(node));
+        }
+        g.addEdge("A", "C", 6);
+        assertFalse(degrees.containsKey("A"));
+        assertEquals(Integer.valueOf(1), degrees.get("B"));
+        assertEquals(Integer.valueOf(1), degrees.get("C"));
+        g.removeNode("C");
+        assertFalse(degrees.containsKey("B"));
+        assertFalse(degrees.containsKey("C"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullListenerCheck() {
+        triangleGraph().addListener(null);
+    }
+}
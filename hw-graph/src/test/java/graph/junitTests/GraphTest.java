@@ -4,8 +4,15 @@ import org.junit.Test;
 import org.junit.Rule;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.lang.String;
 import static org.junit.Assert.*;
 
@@ -385,6 +392,305 @@ public class GraphTest {
         assertTrue(correctB.isEmpty());
     }
 
+    @Test
+    public void incomingEdgesSelfLoopAndMissingNode() {
+        Graph<String, String> g = twoNodesOneEdgeGraph();
+        g.addEdge("B", "B", "B -> B");
+        assertEquals(1, g.incomingEdgesTo("B").size());
+        assertEquals("A -> B", g.incomingEdgesTo("B").get(0).getEdgeData());
+        assertTrue(g.incomingEdgesTo("C").isEmpty());
+        assertTrue(g.getParents("C").isEmpty());
+    }
+
+    @Test
+    public void verificationModeCheck() {
+        for (VerificationMode mode : VerificationMode.values()) {
+            Graph<String, String> g = new Graph<>(mode);
+            assertEquals(mode, g.verificationMode());
+            g.addNode("A");
+            g.addNode("B");
+            g.addEdge("A", "B", "A -> B");
+            g.addEdge("A", "B", "A -> B");
+            assertEquals(1, g.outgoingEdgesFrom("A").size());
+            assertTrue(g.containsEdge("A", "B", "A -> B"));
+        }
+    }
+
+    @Test
+    public void verificationModeDefaultCheck() {
+        String old = System.getProperty(VerificationMode.PROPERTY);
+        Locale oldLocale = Locale.getDefault();
+        try {
+            System.clearProperty(VerificationMode.PROPERTY);
+            assertEquals(VerificationMode.INCREMENTAL, emptyGraph().verificationMode());
+            System.setProperty(VerificationMode.PROPERTY, "full");
+            assertEquals(VerificationMode.FULL, emptyGraph().verificationMode());
+            System.setProperty(VerificationMode.PROPERTY, "off");
+            assertEquals(VerificationMode.OFF, new GraphBuilder<String, String>().build().verificationMode());
+            // in Turkish, "i" upper-cases to a dotted capital I
+            Locale.setDefault(new Locale("tr", "TR"));
+            System.setProperty(VerificationMode.PROPERTY, "incremental");
+            assertEquals(VerificationMode.INCREMENTAL, emptyGraph().verificationMode());
+        } finally {
+            Locale.setDefault(oldLocale);
+            if (old == null) {
+                System.clearProperty(VerificationMode.PROPERTY);
+            } else {
+                System.setProperty(VerificationMode.PROPERTY, old);
+            }
+        }
+    }
+
+    @Test
+    public void edgeValueEqualityCheck() {
+        Graph<String, String> g = twoNodesTwoEdgesGraph();
+        Graph<String, String>.Edge e1 = g.outgoingEdgesFrom("A").get(0);
+        Graph<String, String>.Edge e2 = g.new Edge("A", new String("B"), new String("A -> B"));
+        Graph<String, String>.Edge e3 = g.new Edge("B", "A", "A -> B");
+        assertEquals(e1, e2);
+        assertEquals(e1.hashCode(), e2.hashCode());
+        assertNotEquals(e1, e3);
+        assertNotEquals(e1, "A -> B");
+    }
+
+    @Test
+    public void containsEdgeEqualDataCheck() {
+        Graph<String, String> g = twoNodesGraph();
+        g.addEdge("A", "B", new String("A -> B"));
+        g.addEdge("A", "B", new String("A -> B"));
+        assertEquals(1, g.outgoingEdgesFrom("A").size());
+        assertTrue(g.containsEdge("A", "B", new String("A -> B")));
+        assertFalse(g.containsEdge("C", "B", "A -> B"));
+    }
+
+    @Test
+    public void forEachOutgoingCheck() {
+        Graph<String, String> g = threeNodeTwoWayCycleGraph();
+        List<Graph<String, String>.Edge> visited = new ArrayList<>();
+        g.forEachOutgoing("A", visited::add);
+        assertEquals(g.outgoingEdgesFrom("A"), visited);
+        assertEquals(2, g.outDegree("A"));
+        assertEquals(0, oneNodeGraph().outDegree("A"));
+    }
+
+    @Test
+    public void forEachOutgoingMissingNodeCheck() {
+        boolean errorThrown = false;
+        try {
+            twoNodesGraph().forEachOutgoing("C", e -> { });
+        } catch (IllegalArgumentException e) {
+            errorThrown = true;
+        }
+        assertTrue(errorThrown);
+    }
+
+    @Test
+    public void addEdgeMissingNodeCheck() {
+        Graph<String, String> g = twoNodesOneEdgeGraph();
+        long version = g.version();
+        for (String[] ends : new String[][] {{"A", "C"}, {"C", "A"}}) {
+            boolean errorThrown = false;
+            try {
+                g.addEdge(ends[0], ends[1], "missing");
+            } catch (IllegalArgumentException e) {
+                errorThrown = true;
+            }
+            assertTrue(errorThrown);
+        }
+        assertEquals(1, g.edgeCount());
+        assertEquals(1, g.outgoingEdgesFrom("A").size());
+        assertTrue(g.incomingEdgesTo("A").isEmpty());
+        assertFalse(g.containsNode("C"));
+        assertEquals(version, g.version());
+    }
+
+    @Test
+    public void removeEdgeCheck() {
+        Graph<String, String> g = threeNodeTwoWayCycleGraph();
+        assertEquals(6, g.edgeCount());
+        assertTrue(g.removeEdge("A", "B", "A -> B"));
+        assertFalse(g.removeEdge("A", "B", "A -> B"));
+        assertFalse(g.removeEdge("D", "B", "A -> B"));
+        assertEquals(5, g.edgeCount());
+        assertFalse(g.containsEdge("A", "B", "A -> B"));
+        assertEquals(1, g.outgoingEdgesFrom("A").size());
+        assertEquals(1, g.outDegree("A"));
+        assertEquals(1, g.incomingEdgesTo("B").size());
+        assertFalse(g.getParents("B").contains("A"));
+        assertEquals(5, g.allEdges().size());
+        assertEquals(1, g.outgoingEdges("A").size());
+        List<Graph<String, String>.Edge> visited = new ArrayList<>();
+        g.forEachOutgoing("A", visited::add);
+        assertEquals(1, visited.size());
+    }
+
+    @Test
+    public void removeThenAddEdgeCheck() {
+        Graph<String, String> g = twoNodesOneEdgeGraph();
+        g.removeEdge("A", "B", "A -> B");
+        g.addEdge("A", "B", "A -> B");
+        assertTrue(g.containsEdge("A", "B", "A -> B"));
+        assertEquals(1, g.outgoingEdgesFrom("A").size());
+        assertEquals(1, g.incomingEdgesTo("B").size());
+        g.compact();
+        assertEquals(1, g.outgoingEdgesFrom("A").size());
+        assertEquals(1, g.edgeCount());
+    }
+
+    @Test
+    public void removeNodeCheck() {
+        Graph<String, String> g = threeNodeTwoWayCycleGraph();
+        g.addEdge("A", "A", "A -> A");
+        assertTrue(g.removeNode("A"));
+        assertFalse(g.removeNode("A"));
+        assertFalse(g.containsNode("A"));
+        assertEquals(2, g.allNodes().size());
+        assertEquals(2, g.edgeCount());
+        assertEquals(Set.of("C"), g.getParents("B"));
+        assertEquals(1, g.outgoingEdgesFrom("C").size());
+        assertEquals(1, g.incomingEdgesTo("C").size());
+        assertTrue(g.containsEdge("B", "C", "B -> C"));
+    }
+
+    @Test
+    public void manyRemovalsCompactCheck() {
+        for (VerificationMode mode : VerificationMode.values()) {
+            Graph<Integer, Integer> g = new Graph<>(mode);
+            for (int i = 0; i < 100; i++) {
+                g.addNode(i);
+            }
+            for (int i = 0; i < 100; i++) {
+                for (int j = 0; j < 100; j += 7) {
+                    g.addEdge(i, j, i + j);
+                }
+            }
+            int total = g.edgeCount();
+            int removed = 0;
+            for (int i = 0; i < 100; i += 2) {
+                for (int j = 0; j < 100; j += 7) {
+                    assertTrue(g.removeEdge(i, j, i + j));
+                    removed++;
+                }
+            }
+            assertEquals(total - removed, g.edgeCount());
+            assertEquals(total - removed, g.allEdges().size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i % 2 == 0 ? 0 : 15, g.outgoingEdgesFrom(i).size());
+            }
+            // the odd sources 1, 3, ..., 99 except the self loop of 7
+            assertEquals(49, g.incomingEdgesTo(7).size());
+        }
+    }
+
+    @Test
+    public void nodeIndexCheck() {
+        Graph<String, String> g = threeNodesThreeEdgesGraph();
+        NodeIndex<String> index = g.nodeIndex();
+        assertEquals(3, index.size());
+        assertEquals(3, index.idBound());
+        for (String node : g.allNodes()) {
+            assertEquals(node, index.nodeAt(index.idOf(node)));
+        }
+        assertEquals(-1, index.idOf("D"));
+        assertNull(index.nodeAt(3));
+        for (Graph<String, String>.Edge e : g.allEdges()) {
+            assertEquals(index.idOf(e.from()), e.fromId());
+            assertEquals(index.idOf(e.to()), e.toId());
+        }
+    }
+
+    @Test
+    public void nodeIdsNotReusedCheck() {
+        Graph<String, String> g = threeNodesThreeEdgesGraph();
+        NodeIndex<String> index = g.nodeIndex();
+        int b = index.idOf("B");
+        g.removeNode("B");
+        assertFalse(index.isLive(b));
+        assertNull(index.nodeAt(b));
+        assertEquals(2, index.size());
+        g.addNode("B");
+        assertEquals(3, index.idOf("B"));
+        assertEquals(4, index.idBound());
+        assertTrue(index.isLive(3));
+    }
+
+    @Test
+    public void forEachOutgoingByIdCheck() {
+        Graph<String, String> g = threeNodeTwoWayCycleGraph();
+        g.removeEdge("A", "C", "A -> B");
+        NodeIndex<String> index = g.nodeIndex();
+        List<String> seen = new ArrayList<>();
+        g.forEachOutgoing(index.idOf("A"), (to, data) -> seen.add(index.nodeAt(to) + " " + data));
+        List<String> expected = new ArrayList<>();
+        for (Graph<String, String>.Edge e : g.outgoingEdgesFrom("A")) {
+            expected.add(e.to() + " " + e.getEdgeData());
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void forEachOutgoingRetiredIdCheck() {
+        Graph<String, String> g = twoNodesOneEdgeGraph();
+        int a = g.nodeIndex().idOf("A");
+        g.removeNode("A");
+        g.forEachOutgoing(a, (to, data) -> fail());
+    }
+
+    @Test
+    public void edgesStreamCheck() {
+        Graph<String, String> g = threeNodeTwoWayCycleGraph();
+        g.removeEdge("B", "A", "B -> A");
+        assertEquals(g.allEdges(), g.edges().collect(Collectors.toSet()));
+        assertEquals(g.edgeCount(), g.edges().count());
+        assertTrue(emptyGraph().edges().findAny().isEmpty());
+    }
+
+    @Test
+    public void edgeSpliteratorSizedCheck() {
+        Graph<String, String> g = threeNodesThreeEdgesGraph();
+        Spliterator<Graph<String, String>.Edge> edges = g.edgeSpliterator();
+        assertTrue(edges.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(3, edges.getExactSizeIfKnown());
+        assertTrue(edges.tryAdvance(e -> { }));
+        assertEquals(2, edges.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void edgeSpliteratorSplitCheck() {
+        Graph<Integer, Integer> g = new Graph<>();
+        for (int i = 0; i < 200; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < 200; j += 9) {
+                g.addEdge(i, j, i * j);
+            }
+        }
+        for (int i = 0; i < 200; i += 3) {
+            g.removeEdge(i, 0, 0);
+        }
+        g.removeNode(100);
+        // split down to single nodes, then check every edge is seen exactly once
+        Deque<Spliterator<Graph<Integer, Integer>.Edge>> pending = new ArrayDeque<>();
+        List<Graph<Integer, Integer>.Edge> seen = new ArrayList<>();
+        pending.push(g.edgeSpliterator());
+        while (!pending.isEmpty()) {
+            Spliterator<Graph<Integer, Integer>.Edge> part = pending.pop();
+            Spliterator<Graph<Integer, Integer>.Edge> prefix = part.trySplit();
+            if (prefix == null) {
+                part.forEachRemaining(seen::add);
+            } else {
+                pending.push(part);
+                pending.push(prefix);
+            }
+        }
+        assertEquals(g.edgeCount(), seen.size());
+        assertEquals(g.allEdges(), new HashSet<>(seen));
+        assertEquals(g.edgeCount(), g.edges().parallel().count());
+        long total = g.edges().parallel().mapToLong(e -> e.getEdgeData()).sum();
+        assertEquals(g.edges().mapToLong(e -> e.getEdgeData()).sum(), total);
+    }
+
     @Test
     public void outgoingEdgesCheck2N1E() {
         Graph<String, String> g = twoNodesOneEdgeGraph();
@@ -0,0 +1,95 @@
+package graph.junitTests;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.IndexedMinHeap;
+
+import java.util.*;
+import static org.junit.Assert.*;
+
+public class IndexedMinHeapTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void pollsInKeyOrderCheck() {
+        IndexedMinHeap heap = new IndexedMinHeap(8);
+        heap.insertOrDecrease(3, 30.0);
+        heap.insertOrDecrease(1, 10.0);
+        heap.insertOrDecrease(7, 70.0);
+        heap.insertOrDecrease(0, 5.0);
+        assertEquals(4, heap.size());
+        assertEquals(5.0, heap.minKey(), 0.0);
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(7, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void decreaseKeyCheck() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insertOrDecrease(0, 10.0);
+        heap.insertOrDecrease(1, 20.0);
+        assertTrue(heap.insertOrDecrease(1, 5.0));
+        assertFalse(heap.insertOrDecrease(1, 6.0));
+        assertEquals(5.0, heap.keyOf(1), 0.0);
+        assertEquals(2, heap.size());
+        assertEquals(1, heap.poll());
+        assertFalse(heap.contains(1));
+        assertTrue(heap.contains(0));
+    }
+
+    @Test
+    public void growsPastCapacityCheck() {
+        IndexedMinHeap heap = new IndexedMinHeap(1, 2);
+        for (int id = 100; id >= 0; id--) {
+            heap.insertOrDecrease(id, id);
+        }
+        for (int id = 0; id <= 100; id++) {
+            assertEquals(id, heap.poll());
+        }
+    }
+
+    @Test
+    public void matchesSortedOrderCheck() {
+        Random random = new Random(331);
+        for (int arity = 2; arity <= 8; arity++) {
+            IndexedMinHeap heap = new IndexedMinHeap(200, arity);
+            double[] best = new double[200];
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < 1000; i++) {
+                int id = random.nextInt(200);
+                double key = random.nextDouble();
+                heap.insertOrDecrease(id, key);
+                best[id] = Math.min(best[id], key);
+            }
+            double previous = -1;
+            while (!heap.isEmpty()) {
+                double key = heap.minKey();
+                int id = heap.poll();
+                assertEquals(best[id], key, 0.0);
+                assertTrue(key >= previous);
+                previous = key;
+            }
+        }
+    }
+
+    @Test
+    public void clearCheck() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insertOrDecrease(2, 1.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+        heap.insertOrDecrease(2, 3.0);
+        assertEquals(3.0, heap.keyOf(2), 0.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void pollEmptyCheck() {
+        new IndexedMinHeap(4).poll();
+    }
+}
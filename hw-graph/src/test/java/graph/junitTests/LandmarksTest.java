@@ -0,0 +1,141 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static graph.junitTests.GraphFixtures.*;
+import static org.junit.Assert.*;
+
+public class LandmarksTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final int SIDE = 30;
+
+    public FrozenGraph<Integer> mazeGraph() {
+        // a grid whose middle column is a wall, except for a gap at the bottom, so straight lines are poor guides
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            int x = i % SIDE;
+            int y = i / SIDE;
+            if (x < SIDE - 1 && (x != SIDE / 2 - 1 || y == SIDE - 1)) {
+                g.addEdge(i, i + 1, 1.0);
+                g.addEdge(i + 1, i, 1.0);
+            }
+            if (y < SIDE - 1) {
+                g.addEdge(i, i + SIDE, 1.0);
+                g.addEdge(i + SIDE, i, 1.0);
+            }
+        }
+        return g.freeze();
+    }
+
+    @Test
+    public void matchesDijkstraCheck() {
+        for (boolean mirrored : new boolean[] {false, true}) {
+            FrozenGraph<Integer> g = randomGraph(300, 600, mirrored, 331);
+            IncomingEdges incoming = IncomingEdges.of(g);
+            Landmarks landmarks = Landmarks.of(incoming, 8);
+            Dijkstra plain = new Dijkstra(g);
+            Dijkstra guided = new Dijkstra(g);
+            BidirectionalDijkstra bothWays = new BidirectionalDijkstra(incoming);
+            for (int from = 0; from < 300; from += 23) {
+                for (int to = 0; to < 300; to += 7) {
+                    boolean found = plain.search(from, to);
+                    assertEquals(found, guided.search(from, to, landmarks));
+                    assertEquals(found, bothWays.search(from, to, landmarks));
+                    if (found) {
+                        assertEquals(plain.distance(to), guided.distance(to), 1e-9);
+                        assertEquals(plain.distance(to), bothWays.distance(), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void consistentCheck() {
+        FrozenGraph<Integer> g = randomGraph(200, 500, false, 17);
+        Landmarks landmarks = Landmarks.of(IncomingEdges.of(g), 6);
+        for (int t = 0; t < g.nodeCount(); t += 13) {
+            assertEquals(0.0, landmarks.estimate(t, t), 0.0);
+            assertEquals(0.0, landmarks.estimateFrom(t, t), 0.0);
+            for (int v = 0; v < g.nodeCount(); v++) {
+                for (int e = g.firstEdge(v); e < g.endEdge(v); e++) {
+                    int w = g.target(e);
+                    assertTrue(landmarks.estimate(v, t) <= g.weight(e) + landmarks.estimate(w, t));
+                    assertTrue(landmarks.estimateFrom(t, w) <= g.weight(e) + landmarks.estimateFrom(t, v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void farthestFirstCheck() {
+        // two separate paths 0 - 1 - 2 and 3 - 4: each gets a landmark at one of its ends
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < 5; i++) {
+            g.addNode(i);
+        }
+        g.addEdge(0, 1, 1.0);
+        g.addEdge(1, 0, 1.0);
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(2, 1, 1.0);
+        g.addEdge(3, 4, 1.0);
+        g.addEdge(4, 3, 1.0);
+        Landmarks landmarks = Landmarks.of(IncomingEdges.of(g.freeze()), 2);
+        assertEquals(2, landmarks.count());
+        Set<Integer> picked = Set.of(landmarks.landmark(0), landmarks.landmark(1));
+        assertTrue(picked.contains(0) || picked.contains(2));
+        assertTrue(picked.contains(3) || picked.contains(4));
+        assertEquals(2.0, landmarks.estimate(0, 2), 0.0);
+        assertEquals(5, Landmarks.of(IncomingEdges.of(g.freeze()), 9).count());
+    }
+
+    @Test
+    public void sameOnAnyPoolCheck() {
+        FrozenGraph<Integer> g = randomGraph(200, 500, false, 23);
+        IncomingEdges incoming = IncomingEdges.of(g);
+        Landmarks parallel = Landmarks.of(incoming, 8);
+        Landmarks sequential = Landmarks.of(incoming, 8, new ForkJoinPool(1));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(parallel.landmark(i), sequential.landmark(i));
+        }
+        for (int v = 0; v < g.nodeCount(); v += 3) {
+            assertEquals(parallel.estimate(v, 0), sequential.estimate(v, 0), 0.0);
+        }
+    }
+
+    @Test
+    public void settlesFewerNodesThanStraightLineCheck() {
+        FrozenGraph<Integer> g = mazeGraph();
+        Dijkstra search = new Dijkstra(g);
+        EuclideanHeuristic straightLine = EuclideanHeuristic.of(g, i -> i % SIDE, i -> i / SIDE);
+        Landmarks landmarks = Landmarks.of(IncomingEdges.of(g), 8);
+        long lines = 0;
+        long alt = 0;
+        for (int from = 0; from < SIDE * SIDE; from += 37) {
+            for (int to = 0; to < SIDE * SIDE; to += 41) {
+                search.search(from, to, straightLine);
+                lines += search.settledCount();
+                double expected = search.distance(to);
+                search.search(from, to, landmarks);
+                alt += search.settledCount();
+                assertEquals(expected, search.distance(to), 1e-9);
+            }
+        }
+        assertTrue(alt < lines);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noLandmarksCheck() {
+        Landmarks.of(IncomingEdges.of(randomGraph(10, 20, true, 1)), 0);
+    }
+}
@@ -0,0 +1,126 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import shortestPath.GraphNeighbors;
+import shortestPath.Paths;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class OffHeapGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public FrozenGraph<Integer> ringGraph(int size) {
+        // 0 -> 1 -> ... -> size - 1 -> 0, with a chord from every even node to the node across the ring
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < size; i++) {
+            g.addNode(i);
+        }
+        for (int i = 0; i < size; i++) {
+            g.addEdge(i, (i + 1) % size, i + 0.5);
+            if (i % 2 == 0) {
+                g.addEdge(i, (i + size / 2) % size, 100.0 + i);
+            }
+        }
+        return g.freeze();
+    }
+
+    @Test
+    public void copyMatchesFrozenGraphCheck() {
+        FrozenGraph<Integer> frozen = ringGraph(1000);
+        OffHeapGraph<Integer> offHeap = OffHeapGraph.of(frozen);
+        assertEquals(frozen.nodeCount(), offHeap.nodeCount());
+        assertEquals(frozen.edgeCount(), offHeap.edgeCount());
+        for (int id = 0; id < frozen.nodeCount(); id++) {
+            assertEquals(frozen.nodeAt(id), offHeap.nodeAt(id));
+            assertEquals(id, offHeap.idOf(frozen.nodeAt(id)));
+            assertEquals(frozen.firstEdge(id), offHeap.firstEdge(id));
+            assertEquals(frozen.endEdge(id), offHeap.endEdge(id));
+        }
+        for (int e = 0; e < frozen.edgeCount(); e++) {
+            assertEquals(frozen.target(e), offHeap.target(e));
+            assertEquals(frozen.weight(e), offHeap.weight(e), 0.0);
+        }
+        for (int node = 0; node < 1000; node += 37) {
+            assertEquals(frozen.outgoingEdges(node), offHeap.outgoingEdges(node));
+        }
+    }
+
+    @Test
+    public void forEachNeighborCheck() {
+        OffHeapGraph<Integer> g = OffHeapGraph.of(ringGraph(10));
+        double[] total = new double[1];
+        g.forEachNeighbor(g.idOf(4), (to, weight) -> total[0] += weight);
+        assertEquals(4.5 + 104.0, total[0], 0.0);
+        assertFalse(g.containsNode(10));
+        assertTrue(g.outgoingEdges(10).isEmpty());
+    }
+
+    @Test
+    public void shortestPathMatchesFrozenGraphCheck() {
+        FrozenGraph<Integer> frozen = ringGraph(200);
+        OffHeapGraph<Integer> offHeap = OffHeapGraph.of(frozen);
+        for (int end = 1; end < 200; end += 13) {
+            List<GraphNeighbors.Edge<Integer, Double>> expected = Paths.shortestWeightedPath(frozen, 0, end);
+            assertEquals(expected, Paths.shortestWeightedPath(offHeap, 0, end));
+        }
+    }
+
+    @Test
+    public void wrapBuffersCheck() {
+        // A -> B (1.5), A -> C (2.5), B -> C (3.5)
+        ByteBuffer offsets = ByteBuffer.allocateDirect(4 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        offsets.putInt(0).putInt(2).putInt(3).putInt(3).flip();
+        ByteBuffer targets = ByteBuffer.allocateDirect(3 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        targets.putInt(1).putInt(2).putInt(2).flip();
+        ByteBuffer weights = ByteBuffer.allocateDirect(3 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        weights.putDouble(1.5).putDouble(2.5).putDouble(3.5).flip();
+        OffHeapGraph<String> g = OffHeapGraph.wrap(List.of("A", "B", "C"), offsets, targets, weights);
+        assertEquals(3, g.edgeCount());
+        assertEquals(2, g.endEdge(0) - g.firstEdge(0));
+        assertEquals(2, g.target(g.firstEdge(1)));
+        assertEquals(3.5, g.weight(g.firstEdge(1)), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrapMismatchedBuffersCheck() {
+        ByteBuffer offsets = ByteBuffer.allocate(2 * Integer.BYTES);
+        offsets.putInt(0).putInt(1).flip();
+        OffHeapGraph.wrap(List.of("A"), offsets, ByteBuffer.allocate(0), ByteBuffer.allocate(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrapDecreasingOffsetsCheck() {
+        ByteBuffer offsets = ByteBuffer.allocate(3 * Integer.BYTES);
+        offsets.putInt(0).putInt(2).putInt(1).flip();
+        ByteBuffer targets = ByteBuffer.allocate(Integer.BYTES);
+        targets.putInt(0).flip();
+        ByteBuffer weights = ByteBuffer.allocate(Double.BYTES);
+        weights.putDouble(1.0).flip();
+        OffHeapGraph.wrap(List.of("A", "B"), offsets, targets, weights);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrapTargetOutOfRangeCheck() {
+        ByteBuffer offsets = ByteBuffer.allocate(3 * Integer.BYTES);
+        offsets.putInt(0).putInt(1).putInt(1).flip();
+        ByteBuffer targets = ByteBuffer.allocate(Integer.BYTES);
+        targets.putInt(2).flip();
+        ByteBuffer weights = ByteBuffer.allocate(Double.BYTES);
+        weights.putDouble(1.0).flip();
+        OffHeapGraph.wrap(List.of("A", "B"), offsets, targets, weights);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrapDuplicateNodeCheck() {
+        ByteBuffer offsets = ByteBuffer.allocate(3 * Integer.BYTES);
+        offsets.putInt(0).putInt(0).putInt(0).flip();
+        OffHeapGraph.wrap(List.of("A", "A"), offsets, ByteBuffer.allocate(0), ByteBuffer.allocate(0));
+    }
+}
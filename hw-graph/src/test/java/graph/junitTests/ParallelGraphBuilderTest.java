@@ -0,0 +1,132 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+
+public class ParallelGraphBuilderTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // rows "from,to,weight" over a small node range, so there are many duplicate nodes and edges
+    public List<String> randomRows(int count, int nodes, long seed) {
+        Random random = new Random(seed);
+        List<String> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(random.nextInt(nodes) + "," + random.nextInt(nodes) + "," + random.nextInt(4));
+        }
+        return rows;
+    }
+
+    private static Integer from(String row) {
+        return Integer.parseInt(row.split(",")[0]);
+    }
+
+    private static Integer to(String row) {
+        return Integer.parseInt(row.split(",")[1]);
+    }
+
+    private static Double data(String row) {
+        return Double.parseDouble(row.split(",")[2]);
+    }
+
+    // asserts that actual has the same node ids and the same order of every edge list as expected
+    private void assertSameGraph(Graph<Integer, Double> expected, Graph<Integer, Double> actual) {
+        NodeIndex<Integer> expectedIndex = expected.nodeIndex();
+        NodeIndex<Integer> actualIndex = actual.nodeIndex();
+        assertEquals(expectedIndex.idBound(), actualIndex.idBound());
+        for (int id = 0; id < expectedIndex.idBound(); id++) {
+            Integer node = expectedIndex.nodeAt(id);
+            assertEquals(node, actualIndex.nodeAt(id));
+            assertEquals(expected.outgoingEdgesFrom(node), actual.outgoingEdgesFrom(node));
+            assertEquals(expected.incomingEdgesTo(node), actual.incomingEdgesTo(node));
+        }
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+    }
+
+    @Test
+    public void emptyStreamCheck() {
+        Graph<Integer, Double> g = new ParallelGraphBuilder<Integer, Double>()
+                .build(new ArrayList<String>().stream(), ParallelGraphBuilderTest::from,
+                        ParallelGraphBuilderTest::to, ParallelGraphBuilderTest::data);
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    public void matchesSequentialBuildCheck() {
+        List<String> rows = randomRows(50000, 2000, 1);
+        Graph<Integer, Double> expected = new GraphBuilder<Integer, Double>()
+                .addEdges(rows, ParallelGraphBuilderTest::from, ParallelGraphBuilderTest::to,
+                        ParallelGraphBuilderTest::data)
+                .build();
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Graph<Integer, Double> actual = new ParallelGraphBuilder<Integer, Double>(VerificationMode.OFF, pool)
+                        .build(rows.parallelStream(), ParallelGraphBuilderTest::from,
+                                ParallelGraphBuilderTest::to, ParallelGraphBuilderTest::data);
+                assertSameGraph(expected, actual);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void unsizedStreamCheck() {
+        // filtering drops the SIZED characteristic, so splits are not even
+        List<String> rows = randomRows(30000, 500, 2);
+        List<String> kept = new ArrayList<>();
+        for (String row : rows) {
+            if (!row.endsWith("3")) {
+                kept.add(row);
+            }
+        }
+        Graph<Integer, Double> expected = new GraphBuilder<Integer, Double>(VerificationMode.OFF)
+                .addEdges(kept, ParallelGraphBuilderTest::from, ParallelGraphBuilderTest::to,
+                        ParallelGraphBuilderTest::data)
+                .build();
+        Graph<Integer, Double> actual = new ParallelGraphBuilder<Integer, Double>()
+                .build(IntStream.range(0, rows.size()).mapToObj(rows::get).filter(row -> !row.endsWith("3")),
+                        ParallelGraphBuilderTest::from, ParallelGraphBuilderTest::to,
+                        ParallelGraphBuilderTest::data);
+        assertSameGraph(expected, actual);
+    }
+
+    @Test
+    public void freezeMatchesSequentialCheck() {
+        List<String> rows = randomRows(40000, 3000, 3);
+        FrozenGraph<Integer> expected = new GraphBuilder<Integer, Double>(VerificationMode.OFF)
+                .addEdges(rows, ParallelGraphBuilderTest::from, ParallelGraphBuilderTest::to,
+                        ParallelGraphBuilderTest::data)
+                .build().freeze(Double::doubleValue);
+        FrozenGraph<Integer> actual = new ParallelGraphBuilder<Integer, Double>()
+                .freeze(rows.parallelStream(), ParallelGraphBuilderTest::from, ParallelGraphBuilderTest::to,
+                        ParallelGraphBuilderTest::data, Double::doubleValue);
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int id = 0; id < expected.nodeCount(); id++) {
+            assertEquals(expected.nodeAt(id), actual.nodeAt(id));
+            assertEquals(id, actual.idOf(expected.nodeAt(id)));
+            assertEquals(expected.firstEdge(id), actual.firstEdge(id));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e), 0.0);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullExtractedNodeCheck() {
+        new ParallelGraphBuilder<Integer, Double>().build(randomRows(10, 5, 4).stream(),
+                row -> null, ParallelGraphBuilderTest::to, ParallelGraphBuilderTest::data);
+    }
+}
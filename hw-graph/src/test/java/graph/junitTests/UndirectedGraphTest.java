@@ -0,0 +1,114 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import shortestPath.GraphNeighbors;
+import static org.junit.Assert.*;
+
+public class UndirectedGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public GraphBuilder<String, Double> mirroredBuilder() {
+        // A - B - C, with every edge listed in both directions
+        return new GraphBuilder<String, Double>()
+                .addEdge("A", "B", 1.0).addEdge("B", "A", 1.0)
+                .addEdge("B", "C", 2.0).addEdge("C", "B", 2.0);
+    }
+
+    @Test
+    public void bothDirectionsReportedCheck() {
+        UndirectedGraph<String, Double> g = new UndirectedGraph<>();
+        g.addNode("A");
+        g.addNode("B");
+        g.addEdge("A", "B", 1.0);
+        assertEquals(1, g.edgeCount());
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("A", "B", 1.0)), g.outgoingEdges("A"));
+        assertEquals(Set.of(new GraphNeighbors.Edge<>("B", "A", 1.0)), g.outgoingEdges("B"));
+        assertEquals(List.of(new GraphNeighbors.Edge<>("B", "A", 1.0)), g.incomingEdgesTo("A"));
+        assertTrue(g.containsEdge("B", "A", 1.0));
+        assertSame(g.edgesAt("A").get(0), g.edgesAt("B").get(0));
+    }
+
+    @Test
+    public void mirrorIsSameEdgeCheck() {
+        UndirectedGraph<String, Double> g = new UndirectedGraph<>();
+        g.addNode("A");
+        g.addNode("B");
+        g.addEdge("A", "B", 1.0);
+        g.addEdge("B", "A", 1.0);
+        g.addEdge("B", "A", 3.0);
+        assertEquals(2, g.edgeCount());
+        assertEquals(2, g.degree("A"));
+    }
+
+    @Test
+    public void selfLoopCheck() {
+        UndirectedGraph<String, Double> g = new UndirectedGraph<>();
+        g.addNode("A");
+        g.addEdge("A", "A", 1.0);
+        assertEquals(1, g.degree("A"));
+        assertEquals("A", g.edgesAt("A").get(0).other("A"));
+        assertEquals(1, g.freeze(Double::doubleValue).edgeCount());
+    }
+
+    @Test
+    public void removeCheck() {
+        UndirectedGraph<String, Double> g = mirroredBuilder().buildUndirected();
+        assertTrue(g.removeEdge("B", "A", 1.0));
+        assertFalse(g.removeEdge("A", "B", 1.0));
+        assertEquals(0, g.degree("A"));
+        assertEquals(1, g.degree("B"));
+        assertTrue(g.removeNode("C"));
+        assertFalse(g.containsNode("C"));
+        assertEquals(0, g.degree("B"));
+        assertEquals(0, g.edgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingNodeCheck() {
+        UndirectedGraph<String, Double> g = new UndirectedGraph<>();
+        g.addNode("A");
+        g.addEdge("A", "B", 1.0);
+    }
+
+    @Test
+    public void builderFoldsMirrorsCheck() {
+        GraphBuilder<String, Double> builder = mirroredBuilder();
+        assertTrue(builder.isSymmetric());
+        UndirectedGraph<String, Double> g = builder.buildUndirected();
+        assertEquals(List.of("A", "B", "C"), new ArrayList<>(g.allNodes()));
+        assertEquals(2, g.edgeCount());
+        assertEquals(2, g.degree("B"));
+    }
+
+    @Test
+    public void asymmetricBuilderCheck() {
+        GraphBuilder<String, Double> builder = mirroredBuilder().addEdge("C", "A", 5.0);
+        assertFalse(builder.isSymmetric());
+        try {
+            builder.buildUndirected();
+            fail();
+        } catch (IllegalStateException e) {
+            // a one-way edge cannot be folded
+        }
+        // mirrors must hold equal data
+        assertFalse(new GraphBuilder<String, Double>().addEdge("A", "B", 1.0).addEdge("B", "A", 2.0).isSymmetric());
+    }
+
+    @Test
+    public void freezeMatchesDirectedGraphCheck() {
+        GraphBuilder<String, Double> builder = mirroredBuilder();
+        FrozenGraph<String> folded = builder.buildUndirected().freeze(Double::doubleValue);
+        FrozenGraph<String> directed = builder.build().freeze(Double::doubleValue);
+        assertEquals(directed.nodeCount(), folded.nodeCount());
+        assertEquals(directed.edgeCount(), folded.edgeCount());
+        for (String node : List.of("A", "B", "C")) {
+            assertEquals(directed.outgoingEdges(node), folded.outgoingEdges(node));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+
+public class VersionedGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public VersionedGraph<String, Integer> triangleGraph() {
+        return new VersionedGraph<>(new GraphBuilder<String, Integer>()
+                .addEdge("A", "B", 1).addEdge("B", "C", 2).addEdge("C", "A", 3).build());
+    }
+
+    @Test
+    public void initialEpochCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        assertEquals(0, g.version());
+        try (VersionedGraph<String, Integer>.Epoch epoch = g.pin()) {
+            assertEquals(0, epoch.version());
+            assertEquals(3, epoch.allNodes().size());
+            assertTrue(epoch.containsEdge("A", "B", 1));
+            assertEquals(1, epoch.outgoingEdges("C").size());
+        }
+    }
+
+    @Test
+    public void batchInvisibleUntilCommitCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        VersionedGraph<String, Integer>.Batch batch = g.begin().addNode("D").addEdge("A", "D", 4);
+        try (VersionedGraph<String, Integer>.Epoch epoch = g.pin()) {
+            assertFalse(epoch.containsNode("D"));
+        }
+        assertEquals(1, batch.commit());
+        try (VersionedGraph<String, Integer>.Epoch epoch = g.pin()) {
+            assertTrue(epoch.containsNode("D"));
+            assertTrue(epoch.containsEdge("A", "D", 4));
+        }
+    }
+
+    @Test
+    public void pinnedEpochUnchangedByCommitsCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        VersionedGraph<String, Integer>.Epoch old = g.pin();
+        g.begin().removeEdge("A", "B", 1).addEdge("A", "C", 5).commit();
+        assertTrue(old.containsEdge("A", "B", 1));
+        assertFalse(old.containsEdge("A", "C", 5));
+        try (VersionedGraph<String, Integer>.Epoch epoch = g.pin()) {
+            assertFalse(epoch.containsEdge("A", "B", 1));
+            assertTrue(epoch.containsEdge("A", "C", 5));
+            // untouched nodes share their edge sets with the previous epoch
+            assertSame(old.outgoingEdges("B"), epoch.outgoingEdges("B"));
+        }
+        old.close();
+    }
+
+    @Test
+    public void failedCommitPublishesNothingCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        boolean errorThrown = false;
+        try {
+            g.begin().addEdge("A", "C", 5).addEdge("A", "Z", 6).commit();
+        } catch (IllegalArgumentException e) {
+            errorThrown = true;
+        }
+        assertTrue(errorThrown);
+        assertEquals(0, g.version());
+        try (VersionedGraph<String, Integer>.Epoch epoch = g.pin()) {
+            assertFalse(epoch.containsEdge("A", "C", 5));
+        }
+    }
+
+    @Test
+    public void failedCommitStaysOpenCheck() {
+        VersionedGraph<String, Integer>.Batch batch = triangleGraph().begin().addEdge("A", "Z", 6);
+        for (int i = 0; i < 2; i++) {
+            try {
+                batch.commit();
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected both times: the failed commit did not mark the batch committed
+            }
+        }
+    }
+
+    @Test
+    public void noOpMutationsShareEdgeSetsCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        try (VersionedGraph<String, Integer>.Epoch before = g.pin()) {
+            g.begin().removeEdge("A", "C", 9).addEdge("B", "C", 2).addNode("C").commit();
+            try (VersionedGraph<String, Integer>.Epoch after = g.pin()) {
+                assertEquals(1, after.version());
+                assertSame(before.outgoingEdges("A"), after.outgoingEdges("A"));
+                assertSame(before.outgoingEdges("B"), after.outgoingEdges("B"));
+                assertSame(before.outgoingEdges("C"), after.outgoingEdges("C"));
+            }
+        }
+    }
+
+    @Test
+    public void manyNodesCheck() {
+        VersionedGraph<Integer, Integer> g = new VersionedGraph<>();
+        for (int i = 0; i < 2000; i += 100) {
+            VersionedGraph<Integer, Integer>.Batch batch = g.begin();
+            for (int j = i; j < i + 100; j++) {
+                batch.addNode(j);
+                if (j > 0) {
+                    batch.addEdge(j, j - 1, j);
+                }
+            }
+            batch.commit();
+        }
+        try (VersionedGraph<Integer, Integer>.Epoch epoch = g.pin()) {
+            assertEquals(2000, epoch.allNodes().size());
+            assertEquals(2000, new HashSet<>(epoch.allNodes()).size());
+            for (int j = 1; j < 2000; j++) {
+                assertTrue(epoch.containsEdge(j, j - 1, j));
+            }
+            assertFalse(epoch.containsNode(2000));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void commitTwiceCheck() {
+        VersionedGraph<String, Integer>.Batch batch = triangleGraph().begin();
+        batch.commit();
+        batch.commit();
+    }
+
+    @Test
+    public void reclaimCheck() {
+        VersionedGraph<String, Integer> g = triangleGraph();
+        VersionedGraph<String, Integer>.Epoch first = g.pin();
+        g.begin().addNode("D").commit();
+        g.begin().addNode("E").commit();
+        // version 0 is pinned and version 2 is current, version 1 was never pinned
+        assertEquals(2, g.liveEpochs());
+        first.close();
+        assertEquals(1, g.liveEpochs());
+        boolean errorThrown = false;
+        try {
+            first.containsNode("A");
+        } catch (IllegalStateException e) {
+            errorThrown = true;
+        }
+        assertTrue(errorThrown);
+    }
+
+    @Test
+    public void doubleCloseCheck() {
+        // closing an epoch twice releases only its own pin, never the graph's pin on the current version
+        VersionedGraph<String, Integer> g = triangleGraph();
+        VersionedGraph<String, Integer>.Epoch epoch = g.pin();
+        VersionedGraph<String, Integer>.Epoch other = g.pin();
+        epoch.close();
+        epoch.close();
+        assertEquals(1, g.liveEpochs());
+        assertTrue(other.containsNode("A"));
+        other.close();
+        g.begin().addNode("D").commit();
+        try (VersionedGraph<String, Integer>.Epoch next = g.pin()) {
+            assertEquals(1, next.version());
+            assertTrue(next.containsNode("D"));
+        }
+        assertEquals(1, g.liveEpochs());
+    }
+
+    @Test
+    public void readersSeeWholeBatchesCheck() throws Exception {
+        // every batch moves the single edge out of "hub" to the next node, so a consistent epoch always shows
+        // exactly one edge out of "hub" and it agrees with containsEdge on the same epoch
+        VersionedGraph<Integer, Integer> g = new VersionedGraph<>();
+        VersionedGraph<Integer, Integer>.Batch setup = g.begin();
+        for (int i = 0; i <= 100; i++) {
+            setup.addNode(i);
+        }
+        setup.addEdge(100, 0, 0).commit();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<Void>> results = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            results.add(readers.submit(() -> {
+                while (!done.get()) {
+                    try (VersionedGraph<Integer, Integer>.Epoch epoch = g.pin()) {
+                        assertEquals(1, epoch.outgoingEdges(100).size());
+                        int to = epoch.outgoingEdges(100).iterator().next().getDest();
+                        assertTrue(epoch.containsEdge(100, to, to));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int k = 1; k < 5000; k++) {
+            int prev = (k - 1) % 100;
+            int next = k % 100;
+            g.begin().removeEdge(100, prev, prev).addEdge(100, next, next).commit();
+        }
+        done.set(true);
+        readers.shutdown();
+        for (Future<Void> f : results) {
+            f.get();
+        }
+        assertEquals(1, g.liveEpochs());
+    }
+}
@@ -0,0 +1,106 @@
+package graph.junitTests;
+import graph.*;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.*;
+
+public class WeightedGraphTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    public WeightedGraph<String> lineGraph() {
+        // A --1.5--> B --2.5--> C
+        WeightedGraph<String> g = new WeightedGraph<>();
+        g.addNode("A");
+        g.addNode("B");
+        g.addNode("C");
+        g.addEdge("A", "B", 1.5);
+        g.addEdge("B", "C", 2.5);
+        return g;
+    }
+
+    @Test
+    public void addNodeReturnsStableIdCheck() {
+        WeightedGraph<String> g = new WeightedGraph<>();
+        int a = g.addNode("A");
+        int b = g.addNode("B");
+        assertNotEquals(a, b);
+        assertEquals(a, g.addNode("A"));
+        assertEquals("A", g.nodeAt(a));
+        assertEquals(2, g.nodeCount());
+    }
+
+    @Test
+    public void addManyNodesCheck() {
+        WeightedGraph<Integer> g = new WeightedGraph<>();
+        for (int i = 0; i < 1000; i++) {
+            g.addNode(i);
+        }
+        for (int i = 1; i < 1000; i++) {
+            g.addEdge(i - 1, i, i);
+        }
+        assertEquals(1000, g.nodeCount());
+        assertEquals(999, g.edgeCount());
+        assertTrue(g.containsEdge(998, 999, 999.0));
+    }
+
+    @Test
+    public void duplicateEdgeIgnoredCheck() {
+        WeightedGraph<String> g = lineGraph();
+        g.addEdge("A", "B", 1.5);
+        assertEquals(2, g.edgeCount());
+        g.addEdge("A", "B", 3.0);
+        assertEquals(3, g.edgeCount());
+        assertEquals(2, g.outDegree(g.idOf("A")));
+    }
+
+    @Test
+    public void containsCheck() {
+        WeightedGraph<String> g = lineGraph();
+        assertTrue(g.containsNode("A"));
+        assertFalse(g.containsNode("D"));
+        assertTrue(g.containsEdge("A", "B", 1.5));
+        assertFalse(g.containsEdge("A", "B", 2.5));
+        assertFalse(g.containsEdge("B", "A", 1.5));
+        assertFalse(g.containsEdge("D", "A", 1.5));
+    }
+
+    @Test
+    public void forEachNeighborCheck() {
+        WeightedGraph<String> g = lineGraph();
+        g.addEdge("A", "C", 9.0);
+        Map<String, Double> seen = new HashMap<>();
+        g.forEachNeighbor("A", seen::put);
+        assertEquals(Map.of("B", 1.5, "C", 9.0), seen);
+
+        double[] total = new double[1];
+        g.forEachNeighbor(g.idOf("B"), (to, weight) -> total[0] += weight);
+        assertEquals(2.5, total[0], 0.0);
+    }
+
+    @Test
+    public void outgoingEdgesCheck() {
+        WeightedGraph<String> g = lineGraph();
+        assertEquals(1, g.outgoingEdges("A").size());
+        assertEquals("B", g.outgoingEdges("A").iterator().next().getDest());
+        assertTrue(g.outgoingEdges("C").isEmpty());
+        assertTrue(g.outgoingEdges("D").isEmpty());
+    }
+
+    @Test
+    public void freezeKeepsIdsCheck() {
+        WeightedGraph<String> g = lineGraph();
+        FrozenGraph<String> f = g.freeze();
+        assertEquals(g.nodeCount(), f.nodeCount());
+        assertEquals(g.edgeCount(), f.edgeCount());
+        int b = g.idOf("B");
+        assertEquals(b, f.idOf("B"));
+        assertEquals(g.idOf("C"), f.target(f.firstEdge(b)));
+        assertEquals(2.5, f.weight(f.firstEdge(b)), 0.0);
+    }
+}
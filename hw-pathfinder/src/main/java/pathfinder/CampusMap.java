@@ -11,47 +11,155 @@
 
 package pathfinder;
 
-import graph.Graph;
+import graph.BidirectionalDijkstra;
+import graph.Connectivity;
+import graph.ContractedGraph;
+import graph.ContractionHierarchy;
+import graph.CsrGraph;
+import graph.Dijkstra;
+import graph.FilteredGraph;
+import graph.FrozenGraph;
+import graph.GraphBuilder;
+import graph.HierarchyQuery;
+import graph.IncomingEdges;
+import graph.Landmarks;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.GraphFile;
+import pathfinder.parser.HierarchyFile;
 import shortestPath.GraphNeighbors;
 import shortestPath.Paths;
 
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 public class CampusMap implements ModelAPI {
 
+    // the number of landmarks whose distance tables guide searches
+    private static final int LANDMARKS = 16;
+
     private List<CampusBuilding> campusBuildings;
-    private List<CampusPath> campusPaths;
-    private Graph<Point, Double> campusGraph;
+    private CsrGraph<Point> searchGraph;
+    // the indexes below are built by the first search that needs them, so a map mapped from a graph file starts
+    // without reading every edge
+    // components of searchGraph, so disconnected buildings are answered without a search, or null until built
+    private volatile Connectivity components;
+    // the contracted graph and landmarks that guide searches, or null until built, which never happens when a
+    // hierarchy answers every search
+    private volatile ReducedSearch reduced;
+    // the contraction hierarchy of searchGraph if one was loaded, which then answers every search instead
+    private ContractionHierarchy<Point> hierarchy;
+    // the number of nodes settled by every search so far
+    private final AtomicLong settledNodes = new AtomicLong();
     private Map<String, String> buildingMap;
 
     public CampusMap() {
         // construct all the private fields in the constructor
         campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
-        campusPaths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
-        campusGraph = new Graph<>();
-        // construct campus graph
-        for (CampusPath path : campusPaths) {
-            Point p1 = new Point(path.getX1(), path.getY1());
-            Point p2 = new Point(path.getX2(), path.getY2());
-            campusGraph.addNode(p1);
-            campusGraph.addNode(p2);
-            campusGraph.addEdge(p1, p2, path.getDistance());
-        }
-        // set up building names map
-        buildingMap = new HashMap<>();
-        for (CampusBuilding building : campusBuildings) {
-            buildingMap.put(building.getShortName(), building.getLongName());
+        List<CampusPath> campusPaths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        // the campus graph never changes after loading, so searches run over a compact snapshot of it
+        searchGraph = buildSearchGraph(campusPaths);
+        buildingMap = buildingNames(campusBuildings);
+    }
+
+    /**
+     * Constructs a CampusMap whose paths are mapped from a graph file written by {@link GraphFile}, instead of
+     * parsed from campus_paths.csv. Searches read edges directly from the mapped file. Only the small buildings
+     * file is parsed, and the indexes that speed up searches are built by the first search, so construction costs
+     * little more than mapping the file.
+     *
+     * @param graphFile the graph file holding the campus paths
+     * @throws IOException if the file cannot be read
+     * @spec.requires graphFile != null
+     */
+    public CampusMap(java.nio.file.Path graphFile) throws IOException {
+        campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
+        searchGraph = GraphFile.load(graphFile);
+        buildingMap = buildingNames(campusBuildings);
+    }
+
+    /**
+     * Constructs a CampusMap like {@link #CampusMap(java.nio.file.Path)}, whose searches run over a contraction
+     * hierarchy of the campus paths read from a file written by {@link HierarchyFile}, instead of searching the
+     * campus paths themselves. {@link MapFiles} writes both files. Only the components of the campus paths are
+     * ever indexed, since the hierarchy needs neither the contracted graph nor landmarks.
+     *
+     * @param graphFile the graph file holding the campus paths
+     * @param hierarchyFile the hierarchy file written from the graph in graphFile
+     * @throws IOException if a file cannot be read
+     * @spec.requires graphFile, hierarchyFile != null
+     */
+    public CampusMap(java.nio.file.Path graphFile, java.nio.file.Path hierarchyFile) throws IOException {
+        if (graphFile == null || hierarchyFile == null) { throw new IllegalArgumentException("No null arguments"); }
+        campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
+        searchGraph = GraphFile.load(graphFile);
+        hierarchy = HierarchyFile.load(searchGraph, hierarchyFile);
+        buildingMap = buildingNames(campusBuildings);
+    }
+
+    // returns the components of searchGraph, building them on first use
+    private Connectivity components() {
+        Connectivity index = components;
+        if (index == null) {
+            synchronized (this) {
+                index = components;
+                if (index == null) {
+                    index = Connectivity.of(searchGraph);
+                    components = index;
+                }
+            }
         }
+        return index;
     }
 
+    // returns the contracted graph and landmarks of searchGraph, building them on first use
+    private ReducedSearch reduced() {
+        ReducedSearch index = reduced;
+        if (index == null) {
+            synchronized (this) {
+                index = reduced;
+                if (index == null) {
+                    index = new ReducedSearch(searchGraph, campusBuildings);
+                    reduced = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    // maps the short name of every building to its long name
+    private static Map<String, String> buildingNames(List<CampusBuilding> buildings) {
+        Map<String, String> names = new HashMap<>();
+        for (CampusBuilding building : buildings) {
+            names.put(building.getShortName(), building.getLongName());
+        }
+        return names;
+    }
+
+
+    /**
+     * @param paths the campus path rows to load
+     * @return a compact snapshot of the campus graph, frozen straight from the deduplicated rows, with one node
+     * per distinct path endpoint and one edge per distinct row, so every walkway is held once in each direction
+     * @spec.requires paths != null
+     */
+    public static FrozenGraph<Point> buildSearchGraph(List<CampusPath> paths) {
+        return new GraphBuilder<Point, Double>()
+                .addEdges(paths,
+                        path -> new Point(path.getX1(), path.getY1()),
+                        path -> new Point(path.getX2(), path.getY2()),
+                        CampusPath::getDistance)
+                .freeze(Double::doubleValue);
+    }
 
     @Override
     public boolean shortNameExists(String shortName) {
@@ -76,24 +184,145 @@ public class CampusMap implements ModelAPI {
             throw new IllegalArgumentException();
         }
         // search for the start and end names  in the campus building maps and construct Points from it
-        Point start = null;
-        Point end = null;
-        for (CampusBuilding building : campusBuildings) {
-            if (building.getShortName().equals(startShortName)) {
-                start = new Point(building.getX(), building.getY());
-            } else if (building.getShortName().equals(endShortName)) {
-                end = new Point(building.getX(), building.getY());
-            }
+        Point start = buildingPoint(startShortName);
+        Point end = buildingPoint(endShortName);
+        if (start.equals(end)) {
+            return new Path<>(start);
         }
-        // find shortest weighted path with Djikstra's
-        List<GraphNeighbors.Edge<Point, Double>> edgeList = Paths.shortestWeightedPath(campusGraph, start, end);
-        Path<Point> path = new Path<>(edgeList.get(0).getSource());
-        // construct the Path object
+        // buildings in different components have no path, so there is nothing to search
+        int startId = searchGraph.idOf(start);
+        int endId = searchGraph.idOf(end);
+        if (startId < 0 || endId < 0 || !components().connected(startId, endId)) {
+            return null;
+        }
+        if (hierarchy != null) {
+            // climb the hierarchy from both ends, then unpack the shortcuts of the path into campus path segments
+            HierarchyQuery query = new HierarchyQuery(hierarchy);
+            boolean found = query.search(startId, endId);
+            settledNodes.addAndGet(query.settledCount());
+            return found ? extend(new Path<>(start), query.pathEdges()) : null;
+        }
+        // find shortest weighted path with A* from both ends at once, over the ids of the contracted graph where
+        // every building is a node. Every query gets its own engine, so concurrent queries do not share search state.
+        ReducedSearch index = reduced();
+        BidirectionalDijkstra search = new BidirectionalDijkstra(index.incoming);
+        boolean found = search.search(index.graph.idOf(start), index.graph.idOf(end), index.heuristic);
+        settledNodes.addAndGet(search.settledCount());
+        if (!found) {
+            return null;
+        }
+        Path<Point> path = new Path<>(start);
+        // construct the Path object, expanding every super-edge into the campus path segments it collapsed
+        for (int superEdge : search.pathEdges()) {
+            path = extend(path, index.graph.baseEdges(superEdge));
+        }
+        return path;
+    }
+
+    // returns path extended by the edges of searchGraph with the given indices, in order
+    private Path<Point> extend(Path<Point> path, int[] segments) {
+        for (int segment : segments) {
+            path = path.extend(searchGraph.nodeAt(searchGraph.target(segment)), searchGraph.weight(segment));
+        }
+        return path;
+    }
+
+    /**
+     * Finds the shortest path, by distance, between the two provided buildings that only uses the allowed
+     * campus path segments, for example to avoid stairs or closed walkways. The segments are filtered while the
+     * search runs, without copying the campus graph.
+     *
+     * @param startShortName The short name of the building at the beginning of this path.
+     * @param endShortName   The short name of the building at the end of this path.
+     * @param allowed        selects the campus path segments the route may use
+     * @return A path between the buildings using only allowed segments, or {@literal null} if none exists.
+     * @throws IllegalArgumentException if any argument is {@literal null}, or a short name is not the name of a
+     *                                  building in this campus map.
+     */
+    public Path<Point> findShortestPath(String startShortName, String endShortName,
+                                        Predicate<? super GraphNeighbors.Edge<Point, Double>> allowed) {
+        if (startShortName == null || endShortName == null || allowed == null ||
+                !shortNameExists(startShortName) || !shortNameExists(endShortName)) {
+            throw new IllegalArgumentException();
+        }
+        Point start = buildingPoint(startShortName);
+        Point end = buildingPoint(endShortName);
+        if (start.equals(end)) {
+            return new Path<>(start);
+        }
+        int startId = searchGraph.idOf(start);
+        int endId = searchGraph.idOf(end);
+        if (startId < 0 || endId < 0 || !components().connected(startId, endId)) {
+            return null;
+        }
+        List<GraphNeighbors.Edge<Point, Double>> edgeList =
+                Paths.shortestWeightedPath(FilteredGraph.ofEdges(searchGraph, allowed), start, end);
+        if (edgeList == null || edgeList.isEmpty()) {
+            return null;
+        }
+        Path<Point> path = new Path<>(start);
         for (GraphNeighbors.Edge<Point, Double> edge : edgeList) {
             path = path.extend(edge.getDest(), edge.getLabel());
         }
-
         return path;
     }
 
+    /**
+     * @return true if findShortestPath runs A* from both ends, guided by landmark distances to the target. Else false,
+     * because the map searches a contraction hierarchy, or has no campus paths to pick landmarks from and runs
+     * Dijkstra.
+     */
+    public boolean usesAStar() {
+        return hierarchy == null && reduced().heuristic != null;
+    }
+
+    /**
+     * @return true if findShortestPath searches a contraction hierarchy loaded from a file. Else, false.
+     */
+    public boolean usesHierarchy() {
+        return hierarchy != null;
+    }
+
+    /**
+     * @return the total number of nodes settled by the searches of findShortestPath so far, to compare the work
+     * of A* with that of Dijkstra
+     */
+    public long settledNodes() {
+        return settledNodes.get();
+    }
+
+    // returns the location of the building with the given short name
+    private Point buildingPoint(String shortName) {
+        for (CampusBuilding building : campusBuildings) {
+            if (building.getShortName().equals(shortName)) {
+                return new Point(building.getX(), building.getY());
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * <b>ReducedSearch</b> is the campus graph with its chains of waypoints collapsed, keeping every building as a
+     * node, together with what searches over it need.
+     */
+    private static final class ReducedSearch {
+
+        private final ContractedGraph<Point> graph;
+        // the edges into every node of graph, for the half of every search that runs back from the target
+        private final IncomingEdges incoming;
+        // landmark estimates over graph that steer searches toward their target along the walkways, or null if
+        // there is no node to pick landmarks from and searches fall back to Dijkstra
+        private final Dijkstra.Heuristic heuristic;
+
+        private ReducedSearch(CsrGraph<Point> searchGraph, List<CampusBuilding> buildings) {
+            Set<Point> buildingPoints = new HashSet<>();
+            for (CampusBuilding building : buildings) {
+                buildingPoints.add(new Point(building.getX(), building.getY()));
+            }
+            graph = ContractedGraph.of(searchGraph, buildingPoints::contains);
+            incoming = IncomingEdges.of(graph);
+            heuristic = graph.nodeCount() > 0 ? Landmarks.of(incoming, LANDMARKS) : null;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package pathfinder;
+
+import graph.ContractionHierarchy;
+import graph.FrozenGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.GraphFile;
+import pathfinder.parser.HierarchyFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * MapFiles writes the graph file and the hierarchy file that {@link CampusMap#CampusMap(Path, Path)} loads, so
+ * the campus paths are parsed and the contraction hierarchy is built once, ahead of time, instead of at every
+ * start.
+ */
+public class MapFiles {
+
+    // This class does not represent an ADT.
+
+    /**
+     * Writes the campus graph built from paths to graphFile, and its contraction hierarchy to hierarchyFile,
+     * replacing anything already there.
+     *
+     * @param paths         the campus path rows to write
+     * @param graphFile     where to write the campus graph
+     * @param hierarchyFile where to write the contraction hierarchy of the campus graph
+     * @throws IOException if a file cannot be written
+     * @spec.requires paths, graphFile, hierarchyFile != null
+     */
+    public static void write(List<CampusPath> paths, Path graphFile, Path hierarchyFile) throws IOException {
+        if (paths == null || graphFile == null || hierarchyFile == null) {
+            throw new IllegalArgumentException("No null arguments");
+        }
+        // the graph file keeps the ids of the snapshot, so the hierarchy built over it matches the loaded graph
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(paths);
+        GraphFile.write(graph, graphFile);
+        HierarchyFile.write(ContractionHierarchy.build(graph), hierarchyFile);
+    }
+
+    /**
+     * Writes campus_paths.csv as a graph file and a hierarchy file.
+     *
+     * @param args the path of the graph file to write, then the path of the hierarchy file to write
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: MapFiles <graph file> <hierarchy file>");
+            System.exit(1);
+        }
+        write(CampusPathsParser.parseCampusPaths("campus_paths.csv"), Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
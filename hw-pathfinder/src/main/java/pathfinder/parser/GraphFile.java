@@ -0,0 +1,187 @@
+package pathfinder.parser;
+
+import graph.FrozenGraph;
+import graph.Graph;
+import graph.OffHeapGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPathsParser.ParserException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A utility class that writes campus graphs to a versioned binary file and maps them back into memory.
+ *
+ * <p>A file holds, in order and little-endian:
+ * <ul>
+ *     <li>a 16 byte header: the magic number {@link #MAGIC}, the format {@link #VERSION}, the node count and the
+ *     edge count, each as an int</li>
+ *     <li>the coordinate table: the x and y of every node, as doubles, in id order</li>
+ *     <li>the CSR offsets: node count + 1 ints, where the edges of node "i" are [offsets[i], offsets[i + 1])</li>
+ *     <li>the targets: one int per edge, the id of the node the edge points towards</li>
+ *     <li>4 bytes of padding if node count + 1 + edge count is odd, so the weights start at a multiple of 8
+ *     bytes, then the weights: one double per edge</li>
+ * </ul>
+ *
+ * <p>Loading maps each section straight from the file, so searches read edges from the mapped pages and only
+ * the node table is built on the heap.
+ */
+public class GraphFile {
+
+    /**
+     * The first int of every graph file, "CPGF" when read as little-endian ASCII.
+     */
+    public static final int MAGIC = 0x46475043;
+
+    /**
+     * The version of the format written by this class. Files of any other version are rejected.
+     */
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 16;
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /**
+     * Writes graph to file, replacing anything already there.
+     *
+     * @param graph the campus graph to write
+     * @param file  where to write it
+     * @throws IOException if the file cannot be written
+     * @spec.requires graph, file != null
+     */
+    public static void write(Graph<Point, Double> graph, Path file) throws IOException {
+        if (graph == null || file == null) { throw new IllegalArgumentException("No null arguments"); }
+        write(graph.freeze(Double::doubleValue), file);
+    }
+
+    /**
+     * Writes graph to file, replacing anything already there. The ids of graph are kept.
+     *
+     * @param graph the campus graph snapshot to write
+     * @param file  where to write it
+     * @throws IOException if the file cannot be written
+     * @spec.requires graph, file != null
+     */
+    public static void write(FrozenGraph<Point> graph, Path file) throws IOException {
+        if (graph == null || file == null) { throw new IllegalArgumentException("No null arguments"); }
+        int nodeCount = graph.nodeCount();
+        int edgeCount = graph.edgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(edgeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                flushIfFull(channel, buffer, 2 * Double.BYTES);
+                buffer.putDouble(graph.nodeAt(i).getX()).putDouble(graph.nodeAt(i).getY());
+            }
+            for (int i = 0; i <= nodeCount; i++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(i < nodeCount ? graph.firstEdge(i) : edgeCount);
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(graph.target(e));
+            }
+            if (padded(nodeCount, edgeCount)) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(0);
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                flushIfFull(channel, buffer, Double.BYTES);
+                buffer.putDouble(graph.weight(e));
+            }
+            flushIfFull(channel, buffer, CHUNK_BYTES);
+        }
+    }
+
+    // returns true if the offsets and targets of a graph with nodeCount nodes and edgeCount edges take an odd
+    // number of ints, so 4 bytes of padding are needed before the weights
+    private static boolean padded(int nodeCount, int edgeCount) {
+        return (nodeCount + 1L + edgeCount) % 2 != 0;
+    }
+
+    // writes out the contents of buffer if it has less than needed bytes of room left
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Maps a graph file into memory.
+     *
+     * @param file the graph file to load
+     * @return an OffHeapGraph whose edges are read directly from the mapped file, with the same node ids the file
+     * was written with
+     * @throws IOException if the file cannot be read
+     * @throws ParserException if the file is not a graph file of this version, its size does not match its header,
+     * it lists the same coordinates for two nodes, or its offsets or targets do not describe a graph over its nodes
+     * @spec.requires file != null
+     */
+    public static OffHeapGraph<Point> load(Path file) throws IOException {
+        if (file == null) { throw new IllegalArgumentException("No null arguments"); }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new ParserException("Truncated graph file: " + file);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new ParserException("Not a graph file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new ParserException("Unsupported graph file version " + header.getInt(4) + ": " + file);
+            }
+            int nodeCount = header.getInt(8);
+            int edgeCount = header.getInt(12);
+            if (nodeCount < 0 || edgeCount < 0) {
+                throw new ParserException("Corrupt graph file header: " + file);
+            }
+            long coordinatesAt = HEADER_BYTES;
+            long offsetsAt = coordinatesAt + 2L * Double.BYTES * nodeCount;
+            long targetsAt = offsetsAt + (long) Integer.BYTES * (nodeCount + 1);
+            long weightsAt = targetsAt + (long) Integer.BYTES * edgeCount + (padded(nodeCount, edgeCount) ? 4 : 0);
+            long end = weightsAt + (long) Double.BYTES * edgeCount;
+            if (channel.size() != end) {
+                throw new ParserException("Graph file size does not match its header: " + file);
+            }
+
+            ByteBuffer coordinates = map(channel, coordinatesAt, offsetsAt - coordinatesAt);
+            List<Point> nodes = new ArrayList<>(nodeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(new Point(coordinates.getDouble(2 * Double.BYTES * i),
+                        coordinates.getDouble(2 * Double.BYTES * i + Double.BYTES)));
+            }
+            try {
+                return OffHeapGraph.wrap(nodes,
+                        map(channel, offsetsAt, targetsAt - offsetsAt),
+                        map(channel, targetsAt, (long) Integer.BYTES * edgeCount),
+                        map(channel, weightsAt, end - weightsAt));
+            } catch (IllegalArgumentException e) {
+                throw new ParserException("Corrupt graph file: " + file, e);
+            }
+        }
+    }
+
+    // maps size bytes of channel starting at position as a little-endian, read-only buffer
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new ParserException("Graph file section too large to map");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,186 @@
+package pathfinder.parser;
+
+import graph.ContractionHierarchy;
+import graph.CsrGraph;
+import pathfinder.parser.CampusPathsParser.ParserException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A utility class that writes the contraction hierarchy of a campus graph to a versioned binary file and reads it
+ * back, so the hierarchy is built once instead of at every start.
+ *
+ * <p>A file holds, in order and little-endian:
+ * <ul>
+ *     <li>a 24 byte header: the magic number {@link #MAGIC}, the format {@link #VERSION}, the node count and edge
+ *     count of the graph the hierarchy was built over, the shortcut count, and a CRC-32C checksum of the offsets,
+ *     targets and weights of that graph, each as an int</li>
+ *     <li>the ranks: one int per node, in id order</li>
+ *     <li>the first halves: one int per shortcut, the edge of the hierarchy the shortcut starts with</li>
+ *     <li>the second halves: one int per shortcut, the edge of the hierarchy the shortcut ends with</li>
+ * </ul>
+ *
+ * <p>The ends and weight of every shortcut follow from its halves, so they are not stored. A hierarchy file only
+ * holds the ids and edge indices of its graph, so it must be loaded over the same graph it was written from, such
+ * as one written by {@link GraphFile}. Loading over any other graph is caught by the checksum.
+ */
+public class HierarchyFile {
+
+    /**
+     * The first int of every hierarchy file, "CPCH" when read as little-endian ASCII.
+     */
+    public static final int MAGIC = 0x48435043;
+
+    /**
+     * The version of the format written by this class. Files of any other version are rejected.
+     */
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 24;
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /**
+     * Writes hierarchy to file, replacing anything already there.
+     *
+     * @param hierarchy the hierarchy to write
+     * @param file      where to write it
+     * @throws IOException if the file cannot be written
+     * @spec.requires hierarchy, file != null
+     */
+    public static void write(ContractionHierarchy<?> hierarchy, Path file) throws IOException {
+        if (hierarchy == null || file == null) { throw new IllegalArgumentException("No null arguments"); }
+        int nodeCount = hierarchy.base().nodeCount();
+        int edgeCount = hierarchy.base().edgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(edgeCount)
+                    .putInt(hierarchy.shortcutCount()).putInt(checksum(hierarchy.base()));
+            for (int i = 0; i < nodeCount; i++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(hierarchy.rank(i));
+            }
+            for (int e = edgeCount; e < hierarchy.edgeCount(); e++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(hierarchy.firstHalf(e));
+            }
+            for (int e = edgeCount; e < hierarchy.edgeCount(); e++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(hierarchy.secondHalf(e));
+            }
+            flushIfFull(channel, buffer, CHUNK_BYTES);
+        }
+    }
+
+    // returns the CRC-32C of the offsets, targets and weights of graph, in that order, as little-endian bytes
+    private static int checksum(CsrGraph<?> graph) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i <= graph.nodeCount(); i++) {
+            update(crc, buffer, Integer.BYTES);
+            buffer.putInt(i < graph.nodeCount() ? graph.firstEdge(i) : graph.edgeCount());
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            update(crc, buffer, Integer.BYTES);
+            buffer.putInt(graph.target(e));
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            update(crc, buffer, Double.BYTES);
+            buffer.putDouble(graph.weight(e));
+        }
+        update(crc, buffer, CHUNK_BYTES);
+        return (int) crc.getValue();
+    }
+
+    // feeds the contents of buffer to crc if it has less than needed bytes of room left
+    private static void update(CRC32C crc, ByteBuffer buffer, int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        buffer.flip();
+        crc.update(buffer);
+        buffer.clear();
+    }
+
+    // writes out the contents of buffer if it has less than needed bytes of room left
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads a hierarchy file over the graph it was written from.
+     *
+     * @param base the graph the hierarchy was built over
+     * @param file the hierarchy file to load
+     * @param <N>  the type of the nodes in the graph
+     * @return the hierarchy over base held by the file
+     * @throws IOException if the file cannot be read
+     * @throws ParserException if the file is not a hierarchy file of this version, its size does not match its
+     * header, it was written over a graph whose offsets, targets or weights differ from those of base, or it does
+     * not describe a hierarchy of base
+     * @spec.requires base, file != null
+     */
+    public static <N> ContractionHierarchy<N> load(CsrGraph<N> base, Path file) throws IOException {
+        if (base == null || file == null) { throw new IllegalArgumentException("No null arguments"); }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new ParserException("Truncated hierarchy file: " + file);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new ParserException("Not a hierarchy file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new ParserException("Unsupported hierarchy file version " + header.getInt(4) + ": " + file);
+            }
+            int nodeCount = header.getInt(8);
+            int edgeCount = header.getInt(12);
+            int shortcutCount = header.getInt(16);
+            if (nodeCount != base.nodeCount() || edgeCount != base.edgeCount()
+                    || header.getInt(20) != checksum(base)) {
+                throw new ParserException("Hierarchy file was built over a different graph: " + file);
+            }
+            if (shortcutCount < 0) {
+                throw new ParserException("Corrupt hierarchy file header: " + file);
+            }
+            long end = HEADER_BYTES + (long) Integer.BYTES * (nodeCount + 2L * shortcutCount);
+            if (channel.size() != end) {
+                throw new ParserException("Hierarchy file size does not match its header: " + file);
+            }
+
+            IntBuffer ints = map(channel, HEADER_BYTES, end - HEADER_BYTES).asIntBuffer();
+            int[] rank = new int[nodeCount];
+            int[] firstHalves = new int[shortcutCount];
+            int[] secondHalves = new int[shortcutCount];
+            ints.get(rank).get(firstHalves).get(secondHalves);
+            try {
+                return ContractionHierarchy.of(base, rank, firstHalves, secondHalves);
+            } catch (IllegalArgumentException e) {
+                throw new ParserException("Corrupt hierarchy file: " + file, e);
+            }
+        }
+    }
+
+    // maps size bytes of channel starting at position as a little-endian, read-only buffer
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new ParserException("Hierarchy file section too large to map");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,134 @@
+package pathfinder.junitTests.parser;
+
+import graph.FrozenGraph;
+import graph.OffHeapGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.GraphFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestGraphFile {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // writes graph, checks that the weights of the file start at a multiple of 8 bytes, and loads it back
+    private OffHeapGraph<Point> roundTrip(FrozenGraph<Point> graph, String name) throws IOException {
+        Path file = folder.newFile(name).toPath();
+        GraphFile.write(graph, file);
+        assertEquals(0, (Files.size(file) - (long) Double.BYTES * graph.edgeCount()) % Double.BYTES);
+        OffHeapGraph<Point> loaded = GraphFile.load(file);
+        assertEquals(graph.nodeCount(), loaded.nodeCount());
+        assertEquals(graph.edgeCount(), loaded.edgeCount());
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            assertEquals(graph.nodeAt(id), loaded.nodeAt(id));
+            assertEquals(graph.outgoingEdges(graph.nodeAt(id)), loaded.outgoingEdges(loaded.nodeAt(id)));
+        }
+        return loaded;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        // three nodes and three edges, so the offsets and targets take 7 ints and need padding before the weights
+        roundTrip(CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5.5), new CampusPath(3, 4, 6, 8, 5.25))), "odd.graph");
+        // three nodes and two edges take 6 ints, with no padding
+        roundTrip(CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 6, 8, 5.25))), "odd-unpadded.graph");
+    }
+
+    @Test
+    public void testEvenNodeCountRoundTrip() throws IOException {
+        // two nodes and one edge take 4 ints, with no padding
+        roundTrip(CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5))), "even.graph");
+        // two nodes and two edges take 5 ints, so they need padding
+        roundTrip(CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5.5))), "even-padded.graph");
+    }
+
+    @Test
+    public void testCampusRoundTrip() throws IOException {
+        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(paths);
+        Path file = folder.newFile("campus.graph").toPath();
+        GraphFile.write(graph, file);
+        OffHeapGraph<Point> loaded = GraphFile.load(file);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            assertEquals(graph.target(e), loaded.target(e));
+            assertEquals(graph.weight(e), loaded.weight(e), 0.0);
+        }
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            assertEquals(graph.nodeAt(id), loaded.nodeAt(id));
+            assertEquals(graph.firstEdge(id), loaded.firstEdge(id));
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testBadMagic() throws IOException {
+        Path file = folder.newFile("bad.graph").toPath();
+        Files.write(file, new byte[32]);
+        GraphFile.load(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testTruncated() throws IOException {
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5)));
+        Path file = folder.newFile("truncated.graph").toPath();
+        GraphFile.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        GraphFile.load(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testDecreasingOffsets() throws IOException {
+        // two nodes, so the offsets start after the 16 byte header and 32 bytes of coordinates, and become 0, 3, 2
+        Path file = corrupted(48 + Integer.BYTES, 3);
+        GraphFile.load(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testTargetOutOfRange() throws IOException {
+        // the first target follows the 3 offsets
+        Path file = corrupted(48 + 3 * Integer.BYTES, 7);
+        GraphFile.load(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testDuplicateNode() throws IOException {
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5)));
+        Path file = folder.newFile("duplicate.graph").toPath();
+        GraphFile.write(graph, file);
+        // the second node gets the coordinates of the first, which follow the 16 byte header
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putDouble(32, buffer.getDouble(16)).putDouble(40, buffer.getDouble(24));
+        Files.write(file, bytes);
+        GraphFile.load(file);
+    }
+
+    // writes the graph of one path and its reverse, then overwrites the int at position with value
+    private Path corrupted(int position, int value) throws IOException {
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5)));
+        Path file = folder.newFile("corrupt.graph").toPath();
+        GraphFile.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+        Files.write(file, bytes);
+        return file;
+    }
+}
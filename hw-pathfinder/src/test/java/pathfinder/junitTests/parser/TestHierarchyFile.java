@@ -0,0 +1,77 @@
+package pathfinder.junitTests.parser;
+
+import graph.ContractionHierarchy;
+import graph.FrozenGraph;
+import graph.OffHeapGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.GraphFile;
+import pathfinder.parser.HierarchyFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestHierarchyFile {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCampusRoundTrip() throws IOException {
+        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        Path graphFile = folder.newFile("campus.graph").toPath();
+        GraphFile.write(CampusMap.buildSearchGraph(paths), graphFile);
+        OffHeapGraph<Point> graph = GraphFile.load(graphFile);
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.build(graph);
+        Path file = folder.newFile("campus.hierarchy").toPath();
+        HierarchyFile.write(hierarchy, file);
+        ContractionHierarchy<Point> loaded = HierarchyFile.load(graph, file);
+        assertEquals(hierarchy.edgeCount(), loaded.edgeCount());
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            assertEquals(hierarchy.rank(id), loaded.rank(id));
+        }
+        for (int e = 0; e < hierarchy.edgeCount(); e++) {
+            assertEquals(hierarchy.source(e), loaded.source(e));
+            assertEquals(hierarchy.target(e), loaded.target(e));
+            assertEquals(hierarchy.weight(e), loaded.weight(e), 0.0);
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testOtherGraph() throws IOException {
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5)));
+        FrozenGraph<Point> other = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5)));
+        Path file = folder.newFile("small.hierarchy").toPath();
+        HierarchyFile.write(ContractionHierarchy.build(graph), file);
+        HierarchyFile.load(other, file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testOtherWeights() throws IOException {
+        // the same nodes and edges, with one walkway longer, so only the checksum tells the graphs apart
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5)));
+        FrozenGraph<Point> other = CampusMap.buildSearchGraph(List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 6)));
+        Path file = folder.newFile("weights.hierarchy").toPath();
+        HierarchyFile.write(ContractionHierarchy.build(graph), file);
+        HierarchyFile.load(other, file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testBadMagic() throws IOException {
+        Path file = folder.newFile("bad.hierarchy").toPath();
+        Files.write(file, new byte[32]);
+        HierarchyFile.load(CampusMap.buildSearchGraph(List.of()), file);
+    }
+}
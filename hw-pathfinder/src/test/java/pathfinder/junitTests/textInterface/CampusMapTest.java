@@ -1,17 +1,283 @@
 package pathfinder.junitTests.textInterface;
 
+import graph.BidirectionalDijkstra;
+import graph.ContractedGraph;
+import graph.Dijkstra;
+import graph.EuclideanHeuristic;
+import graph.FrozenGraph;
+import graph.GraphBuilder;
+import graph.IncomingEdges;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import pathfinder.CampusMap;
+import pathfinder.MapFiles;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.GraphFile;
+import shortestPath.GraphNeighbors;
+import shortestPath.Paths;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
 
 public class CampusMapTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void buildTest() {
         CampusMap map = new CampusMap();
     }
 
+    @Test
+    public void buildSearchGraphTest() {
+        List<CampusPath> paths = List.of(new CampusPath(0, 0, 3, 4, 5),
+                new CampusPath(3, 4, 0, 0, 5), new CampusPath(3, 4, 0, 0, 5), new CampusPath(3, 4, 6, 8, 5));
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(paths);
+        assertEquals(3, graph.nodeCount());
+        assertEquals(3, graph.edgeCount());
+        int from = graph.idOf(new Point(3, 4));
+        assertEquals(2, graph.endEdge(from) - graph.firstEdge(from));
+    }
+
+    @Test
+    public void searchGraphHoldsEachWalkwayOnceTest() {
+        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        GraphBuilder<Point, Double> builder = new GraphBuilder<Point, Double>()
+                .addEdges(paths,
+                        path -> new Point(path.getX1(), path.getY1()),
+                        path -> new Point(path.getX2(), path.getY2()),
+                        CampusPath::getDistance);
+        assertTrue(builder.isSymmetric());
+        int walkways = builder.buildUndirected().edgeCount();
+        FrozenGraph<Point> graph = CampusMap.buildSearchGraph(paths);
+        // every walkway is held once each way, so no node has two slots to the same node with the same distance
+        assertEquals(2 * walkways, graph.edgeCount());
+        for (int id = 0; id < graph.nodeCount(); id++) {
+            Set<String> seen = new HashSet<>();
+            for (int e = graph.firstEdge(id); e < graph.endEdge(id); e++) {
+                assertTrue(seen.add(graph.target(e) + " " + graph.weight(e)));
+            }
+        }
+    }
+
+    @Test
+    public void graphFileMatchesCsvTest() throws IOException {
+        Path file = folder.newFile("campus.graph").toPath();
+        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        GraphFile.write(CampusMap.buildSearchGraph(paths), file);
+        CampusMap csvMap = new CampusMap();
+        CampusMap fileMap = new CampusMap(file);
+        assertEquals(csvMap.buildingNames(), fileMap.buildingNames());
+        assertEquals(csvMap.findShortestPath("CSE", "MGH"), fileMap.findShortestPath("CSE", "MGH"));
+        assertEquals(csvMap.findShortestPath("BAG", "GWN"), fileMap.findShortestPath("BAG", "GWN"));
+    }
+
+    @Test
+    public void contractedSearchMatchesFullSearchTest() {
+        CampusMap map = new CampusMap();
+        FrozenGraph<Point> full = CampusMap.buildSearchGraph(
+                CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+        Map<String, Point> at = new HashMap<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            at.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        String[][] pairs = {{"CSE", "MGH"}, {"BAG", "GWN"}, {"DEN", "EEB"}, {"MGH", "BGR"}};
+        for (String[] pair : pairs) {
+            List<GraphNeighbors.Edge<Point, Double>> expected =
+                    Paths.shortestWeightedPath(full, at.get(pair[0]), at.get(pair[1]));
+            pathfinder.datastructures.Path<Point> path = map.findShortestPath(pair[0], pair[1]);
+            Point previous = at.get(pair[0]);
+            double cost = 0;
+            int segments = 0;
+            for (pathfinder.datastructures.Path<Point>.Segment segment : path) {
+                segments++;
+                assertEquals(previous, segment.getStart());
+                previous = segment.getEnd();
+                cost += segment.getCost();
+            }
+            assertEquals(at.get(pair[1]), previous);
+            assertEquals(expected.size(), segments);
+            double expectedCost = 0;
+            for (GraphNeighbors.Edge<Point, Double> edge : expected) {
+                expectedCost += edge.getLabel();
+            }
+            assertEquals(expectedCost, cost, 1e-9);
+        }
+    }
+
+    @Test
+    public void allBuildingPairsMatchReferenceSearchTest() {
+        // the search from both ends over the contracted graph against the node-keyed search over every campus path
+        CampusMap map = new CampusMap();
+        FrozenGraph<Point> full = CampusMap.buildSearchGraph(
+                CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+        Map<String, Point> at = new HashMap<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            at.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        for (String from : at.keySet()) {
+            for (String to : at.keySet()) {
+                List<GraphNeighbors.Edge<Point, Double>> expected = full.containsNode(at.get(from))
+                        ? Paths.shortestWeightedPath(full, at.get(from), at.get(to)) : null;
+                pathfinder.datastructures.Path<Point> path = map.findShortestPath(from, to);
+                if (from.equals(to)) {
+                    assertEquals(0.0, path.getCost(), 0.0);
+                    continue;
+                }
+                if (expected == null) {
+                    assertNull(from + " to " + to, path);
+                    continue;
+                }
+                pathfinder.datastructures.Path<Point> expectedPath = new pathfinder.datastructures.Path<>(at.get(from));
+                for (GraphNeighbors.Edge<Point, Double> edge : expected) {
+                    expectedPath = expectedPath.extend(edge.getDest(), edge.getLabel());
+                }
+                assertEquals(from + " to " + to, expectedPath.getCost(), path.getCost(), 1e-9);
+                assertEquals(from + " to " + to, expectedPath, path);
+            }
+        }
+    }
+
+    @Test
+    public void aStarSettlesFewerNodesTest() {
+        CampusMap map = new CampusMap();
+        assertTrue(map.usesAStar());
+        assertEquals(0, map.settledNodes());
+        // a route across campus, against Dijkstra over every campus path
+        map.findShortestPath("BAG", "GWN");
+        FrozenGraph<Point> full = CampusMap.buildSearchGraph(
+                CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+        Map<String, Point> at = new HashMap<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            at.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        Dijkstra search = new Dijkstra(full);
+        assertTrue(search.search(full.idOf(at.get("BAG")), full.idOf(at.get("GWN"))));
+        assertTrue(map.settledNodes() > 0);
+        assertTrue(map.settledNodes() < search.settledCount());
+    }
+
+    @Test
+    public void hierarchyMatchesSearchTest() throws IOException {
+        Path graphFile = folder.newFile("campus.graph").toPath();
+        Path hierarchyFile = folder.newFile("campus.hierarchy").toPath();
+        MapFiles.write(CampusPathsParser.parseCampusPaths("campus_paths.csv"), graphFile, hierarchyFile);
+        CampusMap map = new CampusMap();
+        CampusMap hierarchyMap = new CampusMap(graphFile, hierarchyFile);
+        assertFalse(map.usesHierarchy());
+        assertTrue(hierarchyMap.usesHierarchy());
+        assertFalse(hierarchyMap.usesAStar());
+        for (String from : map.buildingNames().keySet()) {
+            for (String to : map.buildingNames().keySet()) {
+                pathfinder.datastructures.Path<Point> expected = map.findShortestPath(from, to);
+                pathfinder.datastructures.Path<Point> path = hierarchyMap.findShortestPath(from, to);
+                if (expected == null) {
+                    assertNull(from + " to " + to, path);
+                } else {
+                    assertEquals(from + " to " + to, expected.getCost(), path.getCost(), 1e-9);
+                    assertEquals(from + " to " + to, expected.getEnd(), path.getEnd());
+                }
+            }
+        }
+        // a route across campus, against Dijkstra over every campus path
+        CampusMap fresh = new CampusMap(graphFile, hierarchyFile);
+        fresh.findShortestPath("BAG", "GWN");
+        FrozenGraph<Point> full = CampusMap.buildSearchGraph(
+                CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+        Map<String, Point> at = new HashMap<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            at.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        Dijkstra search = new Dijkstra(full);
+        assertTrue(search.search(full.idOf(at.get("BAG")), full.idOf(at.get("GWN"))));
+        assertTrue(fresh.settledNodes() > 0);
+        assertTrue(fresh.settledNodes() < search.settledCount());
+    }
+
+    @Test
+    public void landmarksSettleFewerNodesThanStraightLineTest() {
+        // every building pair, against the same search from both ends guided by the straight line
+        CampusMap map = new CampusMap();
+        FrozenGraph<Point> full = CampusMap.buildSearchGraph(
+                CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+        Set<Point> buildings = new HashSet<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            buildings.add(new Point(building.getX(), building.getY()));
+        }
+        ContractedGraph<Point> reduced = ContractedGraph.of(full, buildings::contains);
+        BidirectionalDijkstra search = new BidirectionalDijkstra(IncomingEdges.of(reduced));
+        EuclideanHeuristic straightLine = EuclideanHeuristic.of(reduced, Point::getX, Point::getY);
+        long lines = 0;
+        for (Point from : buildings) {
+            for (Point to : buildings) {
+                if (!from.equals(to) && reduced.idOf(from) >= 0 && reduced.idOf(to) >= 0) {
+                    search.search(reduced.idOf(from), reduced.idOf(to), straightLine);
+                    lines += search.settledCount();
+                }
+            }
+        }
+        for (String from : map.buildingNames().keySet()) {
+            for (String to : map.buildingNames().keySet()) {
+                map.findShortestPath(from, to);
+            }
+        }
+        assertTrue(map.usesAStar());
+        assertTrue(map.settledNodes() < lines);
+    }
 
+    @Test
+    public void restrictedSearchTest() {
+        CampusMap map = new CampusMap();
+        pathfinder.datastructures.Path<Point> open = map.findShortestPath("CSE", "MGH");
+        assertEquals(open, map.findShortestPath("CSE", "MGH", edge -> true));
+        // closing the first segment of the usual route forces a detour that is at least as long
+        pathfinder.datastructures.Path<Point>.Segment closed = open.iterator().next();
+        pathfinder.datastructures.Path<Point> detour = map.findShortestPath("CSE", "MGH",
+                edge -> !(edge.getSource().equals(closed.getStart()) && edge.getDest().equals(closed.getEnd())));
+        assertNotEquals(closed.getEnd(), detour.iterator().next().getEnd());
+        assertTrue(detour.getCost() >= open.getCost());
+        assertNull(map.findShortestPath("CSE", "MGH", edge -> false));
+    }
 
+    @Test
+    public void sameBuildingTest() {
+        CampusMap map = new CampusMap();
+        pathfinder.datastructures.Path<Point> path = map.findShortestPath("CSE", "CSE");
+        assertEquals(0.0, path.getCost(), 0.0);
+        assertFalse(path.iterator().hasNext());
+    }
 
+    @Test
+    public void disconnectedBuildingsTest() throws IOException {
+        // CSE and MGH are linked both ways, BAG only to a point of its own, and DEN is not on any path
+        Map<String, Point> at = new HashMap<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            at.put(building.getShortName(), new Point(building.getX(), building.getY()));
+        }
+        List<CampusPath> paths = List.of(pathBetween(at.get("CSE"), at.get("MGH")),
+                pathBetween(at.get("MGH"), at.get("CSE")), pathBetween(at.get("BAG"), new Point(0, 0)));
+        Path file = folder.newFile("islands.graph").toPath();
+        GraphFile.write(CampusMap.buildSearchGraph(paths), file);
+        CampusMap map = new CampusMap(file);
+        assertEquals(1.0, map.findShortestPath("CSE", "MGH").getCost(), 0.0);
+        assertNull(map.findShortestPath("CSE", "BAG"));
+        assertNull(map.findShortestPath("BAG", "MGH"));
+        assertNull(map.findShortestPath("DEN", "CSE"));
+    }
 
+    private static CampusPath pathBetween(Point from, Point to) {
+        return new CampusPath(from.getX(), from.getY(), to.getX(), to.getY(), 1.0);
+    }
 }